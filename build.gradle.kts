@@ -1,7 +1,9 @@
 plugins {
 	java
+	`java-test-fixtures`
 	id("org.springframework.boot") version "3.4.4"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "br.com.hyperativa"
@@ -30,6 +32,9 @@ dependencies {
 	}
 	implementation("org.springframework.boot:spring-boot-starter-undertow")
 	implementation("org.springframework.boot:spring-boot-starter-aop")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
 	implementation("org.flywaydb:flyway-core")
 	implementation("org.flywaydb:flyway-mysql")
 	implementation("io.jsonwebtoken:jjwt-api:$jjwtApi")
@@ -38,12 +43,117 @@ dependencies {
 	implementation("io.azam.ulidj:ulidj:$ulid")
 	implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:$springdoc")
 	runtimeOnly("com.mysql:mysql-connector-j")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.springframework.security:spring-security-test")
 	testImplementation("com.h2database:h2")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	jmh("org.springframework:spring-test")
+	jmh(testFixtures(project(":")))
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// Benchmarks: ./gradlew jmh [-Pjmh.includes=<regex>] [-Pjmh.threads=<n>]
+jmh {
+	includes = listOf(providers.gradleProperty("jmh.includes").getOrElse(".*Benchmark.*"))
+	threads = providers.gradleProperty("jmh.threads").getOrElse("1").toInt()
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	jvmArgs = listOf("-Xms1g", "-Xmx1g")
+}
+
+// Synthetic lot files: ./gradlew generateLot -Plot.lines=999999 [-Plot.duplicates=0.05] [-Plot.malformed=0.01]
+// [-Plot.jitter=4] [-Plot.output=build/lots/lot.txt] [-Plot.name=...] [-Plot.date=2018-05-24] [-Plot.lot=1] [-Plot.seed=42]
+tasks.register<JavaExec>("generateLot") {
+	group = "verification"
+	description = "Streams a synthetic LOTE file to disk for load and scale tests."
+	classpath = sourceSets["testFixtures"].runtimeClasspath
+	mainClass = "br.com.hyperativa.service.domain.processor.LotFileGenerator"
+	args = listOf("lines", "duplicates", "malformed", "jitter", "output", "name", "date", "lot", "bin", "seed")
+		.mapNotNull { key -> providers.gradleProperty("lot.$key").orNull?.let { "$key=$it" } }
+}
+
+// End-to-end load test harness (src/loadtest), see LoadTestHarness
+val loadtest: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output + sourceSets["testFixtures"].output
+	runtimeClasspath += sourceSets.main.get().output + sourceSets["testFixtures"].output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+	"loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+	"loadtestRuntimeOnly"("com.h2database:h2")
+}
+
+// ./gradlew loadTest [-Pload.target=h2|mysql|http://host:8080] [-Pload.model=closed|open] [-Pload.concurrency=32]
+// [-Pload.rate=500] [-Pload.warmup=15] [-Pload.duration=60] [-Pload.mix=login=1,create=4,lookup=20,upload=0.05]
+// [-Pload.seedCards=1000] [-Pload.uploadLines=1000]
+tasks.register<JavaExec>("loadTest") {
+	group = "verification"
+	description = "Runs the end-to-end load test and writes a report to build/reports/loadtest."
+	classpath = loadtest.runtimeClasspath
+	mainClass = "br.com.hyperativa.service.loadtest.LoadTestHarness"
+	val commit = providers.exec {
+		commandLine("git", "rev-parse", "--short", "HEAD")
+		isIgnoreExitValue = true
+	}.standardOutput.asText.map { it.trim().ifEmpty { "unknown" } }
+	args = listOf("target", "model", "concurrency", "rate", "warmup", "duration", "mix", "seedCards", "uploadLines", "reportDir")
+		.mapNotNull { key -> providers.gradleProperty("load.$key").orNull?.let { "$key=$it" } } +
+		"commit=${providers.gradleProperty("load.commit").orElse(commit).get()}"
+}
+
+// Startup-optimized build: ./gradlew cdsArchive -Paot
+// -Paot runs Spring AOT processing (processAot) so the jar can start with -Dspring.aot.enabled=true.
+// cdsArchive extracts the boot jar and records a class-data-sharing archive with a training run that
+// stops right after the context refresh; it needs no database. Compare with scripts/startup-benchmark.sh.
+val aotEnabled = providers.gradleProperty("aot").isPresent
+if (aotEnabled) {
+	apply(plugin = "org.springframework.boot.aot")
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val javaLauncher = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(21) }
+
+val extractBootJar by tasks.registering(Exec::class) {
+	group = "build"
+	description = "Extracts the boot jar into build/cds for class-data-sharing."
+	val bootJar = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+	dependsOn(bootJar)
+	doFirst { delete(cdsDirectory) }
+	commandLine(javaLauncher.get().executablePath.asFile.absolutePath, "-Djarmode=tools",
+		"-jar", bootJar.get().archiveFile.get().asFile.absolutePath,
+		"extract", "--destination", cdsDirectory.get().asFile.absolutePath)
+}
+
+tasks.register<Exec>("cdsArchive") {
+	group = "build"
+	description = "Creates build/cds/application.jsa with a training run of the extracted application."
+	dependsOn(extractBootJar)
+	workingDir = cdsDirectory.get().asFile
+	val jarName = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar").get().archiveFileName.get()
+	commandLine(listOf(
+		javaLauncher.get().executablePath.asFile.absolutePath,
+		"-XX:ArchiveClassesAtExit=application.jsa",
+		"-Dspring.context.exit=onRefresh",
+		"-Dspring.aot.enabled=$aotEnabled",
+		"-jar", jarName,
+		"--spring.datasource.url=jdbc:mysql://localhost:3306/cds-training",
+		"--spring.datasource.username=cds",
+		"--spring.datasource.password=cds",
+		"--spring.datasource.hikari.initialization-fail-timeout=-1",
+		"--spring.flyway.enabled=false",
+		"--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+		"--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+		"--app.jwt.secret=cdsTrainingSecretKeyForJwtTokenGenerationMinimum512BitsLongForHS512AlgorithmNeedsToBeVeryLongString",
+		"--app.encryption.key=cdsTrainingEncryptionKey32Chars!",
+		"--app.audit.enabled=false"
+	))
+}
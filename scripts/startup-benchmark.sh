@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compares time-to-ready and resident memory of the plain boot jar with the startup-optimized
+# build (Spring AOT + class-data-sharing archive + lazy non-critical beans).
+#
+# Usage: ./gradlew bootJar cdsArchive -Paot && scripts/startup-benchmark.sh [runs]
+# Needs the usual DATABASE_URL, DATASOURCE_USERNAME, DATASOURCE_PASSWORD, JWT_SECRET and ENCRYPTION_KEY.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+MANAGEMENT_PORT="${MANAGEMENT_PORT:-9090}"
+READINESS_URL="http://localhost:${MANAGEMENT_PORT}/healthcheck/readiness"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "${ROOT}"/build/libs/*.jar | grep -v plain | head -n 1)"
+CDS_DIR="${ROOT}/build/cds"
+CDS_JAR="${CDS_DIR}/$(basename "${JAR}")"
+
+if [[ ! -f "${CDS_DIR}/application.jsa" ]]; then
+  echo "Missing ${CDS_DIR}/application.jsa, run ./gradlew bootJar cdsArchive -Paot first" >&2
+  exit 1
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+# Starts the given command, waits for the readiness probe and prints "<ms> <rss KB>".
+measure() {
+  local start pid rss
+  start="$(now_ms)"
+  "$@" --server.port="${PORT}" --management.server.port="${MANAGEMENT_PORT}" --app.audit.enabled=false >/dev/null 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "${READINESS_URL}"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "Application exited before becoming ready" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local elapsed=$(( $(now_ms) - start ))
+  rss="$(ps -o rss= -p "${pid}" | tr -d ' ')"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo "${elapsed} ${rss}"
+}
+
+run_variant() {
+  local name="$1"
+  shift
+  local total_ms=0 total_rss=0 result ms rss
+  for ((i = 1; i <= RUNS; i++)); do
+    result="$(measure "$@")"
+    ms="${result% *}"
+    rss="${result#* }"
+    total_ms=$((total_ms + ms))
+    total_rss=$((total_rss + rss))
+    printf '%-10s run %d: %6d ms ready, %7d KB RSS\n' "${name}" "${i}" "${ms}" "${rss}"
+  done
+  printf '%-10s average: %6d ms ready, %7d KB RSS\n\n' "${name}" $((total_ms / RUNS)) $((total_rss / RUNS))
+}
+
+run_variant "jar" java -jar "${JAR}"
+(cd "${CDS_DIR}" && run_variant "optimized" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "${CDS_JAR}")
@@ -0,0 +1,42 @@
+package br.com.hyperativa.service.application.config.security.jwt;
+
+import br.com.hyperativa.service.application.config.JwtPropertyConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing and verifying JWT tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    @Param({"8", "64"})
+    private int usernameLength;
+
+    private JwtUtil jwtUtil;
+    private String username;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        final JwtPropertyConfig config = new JwtPropertyConfig();
+        config.setSecret("benchmarkSecretKeyForJwtTokenGenerationMinimum512BitsLongForHS512AlgorithmNeedsToBeVeryLongString");
+        config.setExpiration(86400000);
+        jwtUtil = new JwtUtil(config);
+        username = "u".repeat(usernameLength);
+        token = jwtUtil.generateToken(username);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(username);
+    }
+
+    @Benchmark
+    public boolean validateJwtToken() {
+        return jwtUtil.validateJwtToken(token);
+    }
+}
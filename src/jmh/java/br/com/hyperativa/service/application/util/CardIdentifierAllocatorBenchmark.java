@@ -0,0 +1,26 @@
+package br.com.hyperativa.service.application.util;
+
+import io.azam.ulidj.ULID;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the monotonic card identifier against the random ULID it replaces; run with -Pjmh.threads=8 to see
+ * the per-thread lanes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardIdentifierAllocatorBenchmark {
+
+    @Benchmark
+    public String monotonic() {
+        return CardIdentifierAllocator.next(512);
+    }
+
+    @Benchmark
+    public String random() {
+        return CardShardKey.withBucket(ULID.random(), 512);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.hyperativa.service.application.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the AES-256-GCM card number encryption and decryption.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EncryptionUtilBenchmark {
+    private static final String SECRET = "benchmarkEncryptionKey32CharsLong";
+
+    @Param({"16", "256"})
+    private int plaintextLength;
+
+    private String plaintext;
+    private String cipherText;
+
+    @Setup
+    public void setUp() {
+        plaintext = "4".repeat(plaintextLength);
+        cipherText = EncryptionUtil.encrypt(plaintext, SECRET);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return EncryptionUtil.encrypt(plaintext, SECRET);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return EncryptionUtil.decrypt(cipherText, SECRET);
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.hyperativa.service.application.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the SHA-256 card number fingerprint used for lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashUtilBenchmark {
+
+    @Param({"16", "19"})
+    private int cardNumberLength;
+
+    private String cardNumber;
+
+    @Setup
+    public void setUp() {
+        cardNumber = "4456897922969999123".substring(0, cardNumberLength);
+    }
+
+    @Benchmark
+    public String fingerprint() {
+        return HashUtil.sha256Hex(cardNumber);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.hyperativa.service.application.web.controller.response;
+
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.azam.ulidj.ULID;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a card page: the JSON {@code Page} served by default against the compact envelope in
+ * JSON, CBOR and Smile. Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardPageResponseBenchmark {
+
+    @Param({"20", "2000"})
+    private int pageSize;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+    private PageImpl<CardGetDTO> page;
+    private CardPageResponse compact;
+
+    @Setup
+    public void setUp() throws Exception {
+        json = new ObjectMapper();
+        cbor = new ObjectMapper(new CBORFactory());
+        smile = new ObjectMapper(new SmileFactory());
+
+        final List<CardGetDTO> cards = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            cards.add(new CardGetDTO(1_000_000L + i, ULID.random()));
+        }
+        final PageRequest pageable = PageRequest.of(3, pageSize);
+        page = new PageImpl<>(cards, pageable, 100_000_000L);
+        compact = CardPageResponse.from(new SliceImpl<>(cards, pageable, true));
+
+        System.out.printf("%nPayload bytes for %d cards: json page=%d, json compact=%d, cbor compact=%d, smile compact=%d%n",
+                pageSize, jsonPage().length, jsonCompact().length, cborCompact().length, smileCompact().length);
+    }
+
+    @Benchmark
+    public byte[] jsonPage() throws Exception {
+        return json.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonCompact() throws Exception {
+        return json.writeValueAsBytes(compact);
+    }
+
+    @Benchmark
+    public byte[] cborCompact() throws Exception {
+        return cbor.writeValueAsBytes(compact);
+    }
+
+    @Benchmark
+    public byte[] smileCompact() throws Exception {
+        return smile.writeValueAsBytes(compact);
+    }
+}
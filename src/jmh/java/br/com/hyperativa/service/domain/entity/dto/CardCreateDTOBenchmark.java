@@ -0,0 +1,36 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and validating card create requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardCreateDTOBenchmark {
+
+    @Param({"100", "10000"})
+    private int cards;
+
+    private String[] cardNumbers;
+
+    @Setup
+    public void setUp() {
+        cardNumbers = new String[cards];
+        for (int i = 0; i < cards; i++) {
+            // Every tenth number is too long, like the malformed lines in the sample lot file
+            cardNumbers[i] = i % 10 == 0 ? String.valueOf(4456897900000000000L + i) : String.valueOf(4456897900000000L + i);
+        }
+    }
+
+    @Benchmark
+    public void validate(final Blackhole blackhole) {
+        for (String cardNumber : cardNumbers) {
+            blackhole.consume(new CardCreateDTO(cardNumber).isValidCardNumber());
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package br.com.hyperativa.service.domain.processor;
 
 import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.metrics.PipelinePhase;
 import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
 import br.com.hyperativa.service.domain.exceptions.FileUploadException;
 import org.slf4j.Logger;
-import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
@@ -19,8 +20,10 @@ import java.util.List;
  * - Header line: DESAFIO-HYPERATIVA + date + LOTE info (51 chars)
  * - Card lines: Identifier (C1-CN) + card number (7-26 position)
  * - Footer line: LOTE + count
+ * <p>
+ * Former upload parser, one {@code String} and {@link CardCreateDTO} per line, kept as the baseline of
+ * {@link CardTxtProcessorBenchmark}; the upload path uses {@link PackedCardTxtProcessor}.
  */
-@Component
 public class CardTxtProcessor implements Processor<MultipartFile, List<CardCreateDTO>> {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(CardTxtProcessor.class);
     private static final String HEADER_WORD = "LOTE";
@@ -32,14 +35,23 @@ public class CardTxtProcessor implements Processor<MultipartFile, List<CardCreat
 
     private final FileUploadConfig fileUploadConfig;
 
-    public CardTxtProcessor(FileUploadConfig fileUploadConfig) {
+    private final PipelineMetrics pipelineMetrics;
+
+    public CardTxtProcessor(FileUploadConfig fileUploadConfig, PipelineMetrics pipelineMetrics) {
         this.fileUploadConfig = fileUploadConfig;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     @Override
     public List<CardCreateDTO> process(MultipartFile input) throws FileUploadException {
         validateFile(input);
 
+        final List<CardCreateDTO> cards = pipelineMetrics.record(PipelinePhase.FILE_PARSE, () -> parse(input));
+        pipelineMetrics.recordLotSize(cards.size());
+        return cards;
+    }
+
+    private List<CardCreateDTO> parse(MultipartFile input) throws FileUploadException {
         final List<CardCreateDTO> cards = new ArrayList<>();
         int lineNumber = 0;
         int validCards = 0;
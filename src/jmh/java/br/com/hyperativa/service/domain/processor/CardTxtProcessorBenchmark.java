@@ -0,0 +1,56 @@
+package br.com.hyperativa.service.domain.processor;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of parsing a lot file with {@code lines} card records, into DTOs and into packed card numbers with the lot digest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CardTxtProcessorBenchmark {
+
+    @Param({"1000", "100000"})
+    private int lines;
+
+    private CardTxtProcessor processor;
+    private PackedCardTxtProcessor packedProcessor;
+    private MockMultipartFile file;
+
+    @Setup
+    public void setUp() throws IOException {
+        final FileUploadConfig config = new FileUploadConfig();
+        ReflectionTestUtils.setField(config, "maxFileSize", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(config, "maxLines", Long.MAX_VALUE);
+        processor = new CardTxtProcessor(config, new PipelineMetrics(new SimpleMeterRegistry()));
+        packedProcessor = new PackedCardTxtProcessor(config, new PipelineMetrics(new SimpleMeterRegistry()),
+                new CardNumberValidator(new CardValidationConfig()));
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileGenerator.generate(LotFileSpec.of(lines).withMalformedRatio(0.01).withLineLengthJitter(4), content);
+        file = new MockMultipartFile("file", "cards.txt", "text/plain", content.toByteArray());
+    }
+
+    @Benchmark
+    public List<CardCreateDTO> process() {
+        return processor.process(file);
+    }
+
+    @Benchmark
+    public LotFileDTO processPacked() {
+        return packedProcessor.process(file);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.hyperativa.service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Minimal HTTP client for the card API, returning status codes so the caller can time and classify calls.
+ */
+class ApiClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final String JSON = "application/json";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private volatile String token;
+
+    ApiClient(final String baseUrl, final String username, final String password) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Registers the load test user (ignoring "already exists") and obtains a token.
+     */
+    void authenticate() throws IOException, InterruptedException {
+        send(post("/v1/auth/register", JSON, credentials()).build());
+
+        final HttpResponse<String> response = http.send(post("/v1/auth/login", JSON, credentials()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        token = objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    int login() throws IOException, InterruptedException {
+        return send(post("/v1/auth/login", JSON, credentials()).build());
+    }
+
+    int create(final String cardNumber) throws IOException, InterruptedException {
+        return send(authorized(post("/v1/card/create", JSON,
+                "{\"cardNumber\":\"" + cardNumber + "\"}")).build());
+    }
+
+    int lookup(final String cardNumber) throws IOException, InterruptedException {
+        return send(authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/card/" + cardNumber))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()).build());
+    }
+
+    int upload(final byte[] lot) throws IOException, InterruptedException {
+        final String boundary = "loadtest-" + UUID.randomUUID();
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(lot.length + 256);
+        body.write(("--" + boundary + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"cards.txt\"\r\n" +
+                "Content-Type: text/plain\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(lot);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+
+        return send(authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/card/upload"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))).build());
+    }
+
+    private String credentials() {
+        return "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+    }
+
+    private HttpRequest.Builder post(final String path, final String contentType, final String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest.Builder authorized(final HttpRequest.Builder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private int send(final HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.hyperativa.service.loadtest;
+
+/**
+ * API operations driven by the load test, each with its own latency histogram.
+ */
+public enum Endpoint {
+    LOGIN("login"),
+    CREATE("create"),
+    LOOKUP("lookup"),
+    UPLOAD("upload");
+
+    private final String key;
+
+    Endpoint(final String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.hyperativa.service.loadtest;
+
+/**
+ * How requests are issued.
+ */
+public enum LoadModel {
+    /**
+     * A fixed number of workers issue the next request as soon as the previous one completes.
+     */
+    CLOSED,
+    /**
+     * Requests arrive at a fixed rate regardless of response times; latency is measured from the
+     * intended start time, so queueing delay is not hidden (no coordinated omission).
+     */
+    OPEN
+}
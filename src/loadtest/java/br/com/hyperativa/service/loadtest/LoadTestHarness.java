@@ -0,0 +1,68 @@
+package br.com.hyperativa.service.loadtest;
+
+import br.com.hyperativa.service.HyperativaApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * End-to-end load test: starts the application in-process (H2 in MySQL mode or the MySQL configured through
+ * the usual environment variables) or targets a running instance, drives the configured workload and
+ * writes a report comparable across commits.
+ *
+ * <p>Usage: {@code ./gradlew loadTest -Pload.model=open -Pload.rate=800 -Pload.duration=120}
+ */
+public final class LoadTestHarness {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestHarness.class);
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest-password";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+        final ConfigurableApplicationContext context = options.embedded() ? start(options) : null;
+
+        try {
+            final String baseUrl = context == null
+                    ? options.target()
+                    : "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            final ApiClient client = new ApiClient(baseUrl, USERNAME, PASSWORD);
+            client.authenticate();
+
+            final LatencyRecorder recorder = new LatencyRecorder();
+            final WorkloadRunner runner = new WorkloadRunner(options, client, recorder);
+            LOGGER.info("Seeding {} cards against {}", options.seedCards(), baseUrl);
+            runner.seed();
+
+            LOGGER.info("Running {} load for {}s after {}s warm-up", options.model(),
+                    options.duration().toSeconds(), options.warmup().toSeconds());
+            runner.run();
+
+            final LoadTestReport report = new LoadTestReport(options, recorder.histograms(), recorder);
+            final Path json = report.write();
+            System.out.println(report.toMarkdown());
+            LOGGER.info("Report written to {}", json.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(final LoadTestOptions options) {
+        final String[] profiles = "h2".equals(options.target())
+                ? new String[]{"loadtest", "loadtest-h2"}
+                : new String[]{"loadtest"};
+
+        return new SpringApplicationBuilder(HyperativaApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0", "management.server.port=0")
+                .run();
+    }
+}
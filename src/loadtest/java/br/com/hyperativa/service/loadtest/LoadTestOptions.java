@@ -0,0 +1,79 @@
+package br.com.hyperativa.service.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, parsed from {@code key=value} arguments.
+ *
+ * @param target       {@code h2} or {@code mysql} to start the application in-process, or a base URL of a running instance
+ * @param model        closed or open load model
+ * @param concurrency  workers of the closed model
+ * @param rate         requests per second of the open model
+ * @param warmup       time spent before recording starts
+ * @param duration     recorded time
+ * @param mix          relative weight of each endpoint
+ * @param seedCards    cards created before the run, used by lookups
+ * @param uploadLines  records per uploaded lot file
+ * @param reportDir    where reports are written
+ * @param commit       commit id stamped on the report
+ */
+public record LoadTestOptions(String target,
+                              LoadModel model,
+                              int concurrency,
+                              int rate,
+                              Duration warmup,
+                              Duration duration,
+                              Map<Endpoint, Double> mix,
+                              int seedCards,
+                              int uploadLines,
+                              Path reportDir,
+                              String commit) {
+
+    public static LoadTestOptions parse(final String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+
+        return new LoadTestOptions(
+                options.getOrDefault("target", "h2"),
+                LoadModel.valueOf(options.getOrDefault("model", "closed").toUpperCase()),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                Integer.parseInt(options.getOrDefault("rate", "500")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                parseMix(options.getOrDefault("mix", "login=1,create=4,lookup=20,upload=0.05")),
+                Integer.parseInt(options.getOrDefault("seedCards", "1000")),
+                Integer.parseInt(options.getOrDefault("uploadLines", "1000")),
+                Paths.get(options.getOrDefault("reportDir", "build/reports/loadtest")),
+                options.getOrDefault("commit", "unknown")
+        );
+    }
+
+    /**
+     * Parses {@code login=1,create=4,lookup=20,upload=0.05}; endpoints left out get no traffic.
+     */
+    static Map<Endpoint, Double> parseMix(final String value) {
+        final Map<Endpoint, Double> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            final String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Double.parseDouble(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    public boolean embedded() {
+        return !target.startsWith("http");
+    }
+}
@@ -0,0 +1,125 @@
+package br.com.hyperativa.service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the run result as JSON (stable schema, one file per commit and run), a Markdown summary
+ * and one HdrHistogram percentile distribution ({@code .hgrm}) per endpoint.
+ */
+class LoadTestReport {
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final LoadTestOptions options;
+    private final Map<Endpoint, Histogram> histograms;
+    private final LatencyRecorder recorder;
+    private final Instant finishedAt = Instant.now();
+
+    LoadTestReport(final LoadTestOptions options, final Map<Endpoint, Histogram> histograms, final LatencyRecorder recorder) {
+        this.options = options;
+        this.histograms = histograms;
+        this.recorder = recorder;
+    }
+
+    Path write() throws IOException {
+        Files.createDirectories(options.reportDir());
+        final String baseName = "loadtest-" + options.commit() + "-" + FILE_TIMESTAMP.format(finishedAt);
+
+        final Path json = options.reportDir().resolve(baseName + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), toMap());
+
+        final String markdown = toMarkdown();
+        Files.writeString(options.reportDir().resolve(baseName + ".md"), markdown);
+        Files.writeString(options.reportDir().resolve("latest.md"), markdown);
+
+        for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream out = new PrintStream(Files.newOutputStream(
+                    options.reportDir().resolve(baseName + "-" + entry.getKey().key() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        return json;
+    }
+
+    String toMarkdown() {
+        final StringBuilder markdown = new StringBuilder()
+                .append("# Load test ").append(options.commit()).append('\n').append('\n')
+                .append("- finished: ").append(finishedAt).append('\n')
+                .append("- target: ").append(options.target()).append('\n')
+                .append("- model: ").append(options.model())
+                .append(options.model() == LoadModel.CLOSED ? " (" + options.concurrency() + " workers)" : " (" + options.rate() + " req/s)")
+                .append('\n')
+                .append("- duration: ").append(options.duration().toSeconds()).append("s after ")
+                .append(options.warmup().toSeconds()).append("s warm-up").append('\n').append('\n')
+                .append("| endpoint | requests | errors | req/s | p50 ms | p90 ms | p95 ms | p99 ms | p99.9 ms | max ms |\n")
+                .append("|---|---|---|---|---|---|---|---|---|---|\n");
+
+        histograms.forEach((endpoint, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            markdown.append("| ").append(endpoint.key())
+                    .append(" | ").append(histogram.getTotalCount())
+                    .append(" | ").append(recorder.errors(endpoint))
+                    .append(" | ").append(String.format("%.1f", throughput(histogram)));
+            for (double percentile : PERCENTILES) {
+                markdown.append(" | ").append(String.format("%.2f", histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI));
+            }
+            markdown.append(" | ").append(String.format("%.2f", histogram.getMaxValue() / MICROS_PER_MILLI)).append(" |\n");
+        });
+        return markdown.toString();
+    }
+
+    private Map<String, Object> toMap() {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", options.commit());
+        report.put("finishedAt", finishedAt.toString());
+        report.put("target", options.target());
+        report.put("model", options.model().name());
+        report.put("concurrency", options.concurrency());
+        report.put("rate", options.rate());
+        report.put("warmupSeconds", options.warmup().toSeconds());
+        report.put("durationSeconds", options.duration().toSeconds());
+        report.put("mix", options.mix());
+
+        final Map<String, Object> endpoints = new LinkedHashMap<>();
+        histograms.forEach((endpoint, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            final Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", histogram.getTotalCount());
+            stats.put("errors", recorder.errors(endpoint));
+            stats.put("throughput", throughput(histogram));
+            stats.put("meanMs", histogram.getMean() / MICROS_PER_MILLI);
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + String.valueOf(percentile).replace(".0", "").replace(".", "_") + "Ms",
+                        histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+            }
+            stats.put("maxMs", histogram.getMaxValue() / MICROS_PER_MILLI);
+            endpoints.put(endpoint.key(), stats);
+        });
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private double throughput(final Histogram histogram) {
+        return histogram.getTotalCount() / (double) options.duration().toSeconds();
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.hyperativa.service.loadtest;
+
+import br.com.hyperativa.service.domain.processor.LotFileGenerator;
+import br.com.hyperativa.service.domain.processor.LotFileSpec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the configured endpoint mix with a closed or open load model.
+ */
+class WorkloadRunner {
+    private static final long CARD_BODY_MODULO = 100_000_000_000_000L;
+    private static final int BIN_SUFFIX_MODULO = 100_000;
+
+    private final LoadTestOptions options;
+    private final ApiClient client;
+    private final LatencyRecorder recorder;
+    private final Endpoint[] endpoints;
+    private final double[] cumulativeWeights;
+    private final long runSeed = System.currentTimeMillis();
+    private final AtomicLong cardSequence = new AtomicLong();
+    private final AtomicLong uploadSequence = new AtomicLong();
+    private final List<String> seededCards = Collections.synchronizedList(new ArrayList<>());
+
+    WorkloadRunner(final LoadTestOptions options, final ApiClient client, final LatencyRecorder recorder) {
+        this.options = options;
+        this.client = client;
+        this.recorder = recorder;
+
+        final List<Map.Entry<Endpoint, Double>> weighted = options.mix().entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .toList();
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix has no endpoint with a positive weight");
+        }
+        this.endpoints = new Endpoint[weighted.size()];
+        this.cumulativeWeights = new double[weighted.size()];
+        double total = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            total += weighted.get(i).getValue();
+            endpoints[i] = weighted.get(i).getKey();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Creates the cards used by lookups, in parallel.
+     */
+    void seed() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.seedCards(); i++) {
+                executor.submit(() -> {
+                    final String cardNumber = nextCardNumber();
+                    if (client.create(cardNumber) < 400) {
+                        seededCards.add(cardNumber);
+                    }
+                    return null;
+                });
+            }
+        }
+        if (seededCards.isEmpty() && options.mix().getOrDefault(Endpoint.LOOKUP, 0.0) > 0) {
+            throw new IllegalStateException("No card could be seeded for lookups");
+        }
+    }
+
+    void run() {
+        final long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        final long end = warmupEnd + options.duration().toNanos();
+
+        switch (options.model()) {
+            case CLOSED -> runClosed(warmupEnd, end);
+            case OPEN -> runOpen(warmupEnd, end);
+        }
+    }
+
+    private void runClosed(final long warmupEnd, final long end) {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.concurrency(); i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        execute(nextEndpoint(), 0);
+                    }
+                });
+            }
+            sleepUntil(warmupEnd);
+            recorder.reset();
+        }
+    }
+
+    private void runOpen(final long warmupEnd, final long end) {
+        final long interval = 1_000_000_000L / options.rate();
+        boolean warmedUp = false;
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            final long start = System.nanoTime();
+            for (long i = 0; ; i++) {
+                final long intendedStart = start + i * interval;
+                if (intendedStart >= end) {
+                    break;
+                }
+                if (!warmedUp && intendedStart >= warmupEnd) {
+                    recorder.reset();
+                    warmedUp = true;
+                }
+                sleepUntil(intendedStart);
+                final Endpoint endpoint = nextEndpoint();
+                requests.submit(() -> execute(endpoint, intendedStart));
+            }
+        }
+    }
+
+    /**
+     * Runs one call. Payloads are prepared before the clock starts in the closed model; in the open model
+     * latency is measured from the intended start time.
+     */
+    private void execute(final Endpoint endpoint, final long intendedStart) {
+        long start = intendedStart;
+        try {
+            final Callable<Integer> call = prepare(endpoint);
+            if (start == 0) {
+                start = System.nanoTime();
+            }
+            final int status = call.call();
+            recorder.record(endpoint, System.nanoTime() - start, status < 400);
+        } catch (Exception e) {
+            recorder.record(endpoint, start == 0 ? 0 : System.nanoTime() - start, false);
+        }
+    }
+
+    private Callable<Integer> prepare(final Endpoint endpoint) throws IOException {
+        return switch (endpoint) {
+            case LOGIN -> client::login;
+            case CREATE -> {
+                final String cardNumber = nextCardNumber();
+                yield () -> client.create(cardNumber);
+            }
+            case LOOKUP -> {
+                final String cardNumber = seededCards.get(ThreadLocalRandom.current().nextInt(seededCards.size()));
+                yield () -> client.lookup(cardNumber);
+            }
+            case UPLOAD -> {
+                final byte[] lot = nextLot();
+                yield () -> client.upload(lot);
+            }
+        };
+    }
+
+    private Endpoint nextEndpoint() {
+        final double draw = ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    /**
+     * Unique 16-digit Luhn-valid number starting with 4; uploads use BINs starting with 5, so they never collide.
+     */
+    private String nextCardNumber() {
+        final long body = 4 * CARD_BODY_MODULO + (runSeed + cardSequence.getAndIncrement()) % CARD_BODY_MODULO;
+        return String.valueOf(body * 10 + luhnCheckDigit(body));
+    }
+
+    private byte[] nextLot() throws IOException {
+        final String bin = String.format("5%05d", (runSeed + uploadSequence.getAndIncrement()) % BIN_SUFFIX_MODULO);
+        final ByteArrayOutputStream lot = new ByteArrayOutputStream(options.uploadLines() * 24 + 128);
+        LotFileGenerator.generate(LotFileSpec.of(options.uploadLines()).withBinPrefix(bin).withSeed(runSeed), lot);
+        return lot.toByteArray();
+    }
+
+    private static int luhnCheckDigit(final long payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long rest = payload; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static void sleepUntil(final long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
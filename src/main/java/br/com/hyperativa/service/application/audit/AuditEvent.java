@@ -0,0 +1,8 @@
+package br.com.hyperativa.service.application.audit;
+
+/**
+ * Single entry of the audit journal. Payloads are already bounded in size;
+ * card data masking happens on the journal writer thread.
+ */
+public record AuditEvent(long timestamp, String thread, AuditEventType type, String operation, String payload) {
+}
@@ -0,0 +1,7 @@
+package br.com.hyperativa.service.application.audit;
+
+public enum AuditEventType {
+    REQUEST,
+    RESPONSE,
+    ERROR
+}
@@ -0,0 +1,241 @@
+package br.com.hyperativa.service.application.audit;
+
+import br.com.hyperativa.service.application.config.AuditJournalConfig;
+import br.com.hyperativa.service.application.util.CardNumberMasker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit journal for API requests and responses.
+ * Request threads publish into a lock-free ring buffer; a single writer thread masks card data,
+ * writes events in batches and rotates the journal file by size.
+ */
+@Component
+public class AuditJournal implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditJournal.class);
+    private static final char SEPARATOR = '|';
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private final AuditJournalConfig config;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final StringBuilder batch = new StringBuilder();
+
+    private volatile boolean running;
+    private Thread writer;
+    private FileChannel channel;
+    private long currentSize;
+
+    public AuditJournal(final AuditJournalConfig config) {
+        this.config = config;
+        this.buffer = new AuditRingBuffer<>(config.getBufferSize());
+    }
+
+    /**
+     * Publishes an event without doing any I/O on the calling thread.
+     *
+     * @param event the event to journal
+     * @return false when the event was dropped
+     */
+    public boolean publish(final AuditEvent event) {
+        if (!running) {
+            return false;
+        }
+
+        if (buffer.offer(event)) {
+            return true;
+        }
+
+        return switch (config.getOverflowPolicy()) {
+            case DROP -> drop();
+            case BLOCK -> offerWithinTimeout(event) || drop();
+            case LOG -> {
+                LOGGER.info("{}", format(event).stripTrailing());
+                yield true;
+            }
+        };
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        if (!config.isEnabled() || running) {
+            return;
+        }
+
+        try {
+            openJournal();
+        } catch (IOException e) {
+            LOGGER.error("Audit journal could not be opened at {}, auditing disabled", config.getDirectory(), e);
+            return;
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "hyperativa-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        LOGGER.info("Audit journal started at {}", journalPath());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeJournal();
+        LOGGER.info("Audit journal stopped, {} events dropped", dropped.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Started before and stopped after the web server, so in-flight requests are still journaled
+     * during graceful shutdown.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void writeLoop() {
+        final long idleNanos = TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMs());
+
+        while (running || buffer.size() > 0) {
+            if (buffer.drain(this::append, config.getBatchSize()) == 0) {
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+            flushBatch();
+        }
+    }
+
+    private void append(final AuditEvent event) {
+        batch.append(format(event));
+    }
+
+    private String format(final AuditEvent event) {
+        final String payload = CardNumberMasker.mask(event.payload());
+        return Instant.ofEpochMilli(event.timestamp()) + String.valueOf(SEPARATOR) +
+                event.thread() + SEPARATOR +
+                event.type() + SEPARATOR +
+                event.operation() + SEPARATOR +
+                (payload == null ? "" : payload.replace('\n', ' ').replace('\r', ' ')) +
+                '\n';
+    }
+
+    private void flushBatch() {
+        final byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+        batch.setLength(0);
+
+        try {
+            if (currentSize > 0 && currentSize + bytes.length > config.getMaxFileSize()) {
+                rotate();
+            }
+
+            final ByteBuffer data = ByteBuffer.wrap(bytes);
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            currentSize += bytes.length;
+        } catch (IOException e) {
+            LOGGER.error("Audit journal write failed, {} bytes lost", bytes.length, e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeJournal();
+
+        final Path journal = journalPath();
+        for (int i = config.getMaxFiles() - 1; i >= 1; i--) {
+            final Path source = archivePath(journal, i);
+            if (Files.exists(source)) {
+                Files.move(source, archivePath(journal, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (config.getMaxFiles() > 0) {
+            Files.move(journal, archivePath(journal, 1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(journal);
+        }
+
+        openJournal();
+    }
+
+    private void openJournal() throws IOException {
+        final Path journal = journalPath();
+        Files.createDirectories(journal.getParent());
+        channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSize = channel.size();
+    }
+
+    private void closeJournal() {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Audit journal close failed", e);
+        }
+        channel = null;
+    }
+
+    private Path journalPath() {
+        return Paths.get(config.getDirectory()).toAbsolutePath().resolve(config.getFileName());
+    }
+
+    private static Path archivePath(final Path journal, final int index) {
+        return journal.resolveSibling(journal.getFileName() + "." + index);
+    }
+
+    private boolean offerWithinTimeout(final AuditEvent event) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getOfferTimeoutMs());
+        while (System.nanoTime() < deadline) {
+            if (buffer.offer(event)) {
+                return true;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        return false;
+    }
+
+    private boolean drop() {
+        dropped.incrementAndGet();
+        return false;
+    }
+}
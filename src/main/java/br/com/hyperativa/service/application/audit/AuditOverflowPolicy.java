@@ -0,0 +1,19 @@
+package br.com.hyperativa.service.application.audit;
+
+/**
+ * What the journal does with an event when its ring buffer is full.
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Discards the event and increments the dropped counter.
+     */
+    DROP,
+    /**
+     * Waits up to the configured offer timeout for free space, then drops.
+     */
+    BLOCK,
+    /**
+     * Writes the event synchronously to the application log instead.
+     */
+    LOG
+}
@@ -0,0 +1,104 @@
+package br.com.hyperativa.service.application.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer.
+ * Each slot carries a sequence number so producers claim a position with a single CAS
+ * and the consumer only sees fully published entries.
+ *
+ * @param <E> the element type
+ */
+public class AuditRingBuffer<E> {
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public AuditRingBuffer(final int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Publishes an entry without blocking.
+     *
+     * @param entry the entry to publish
+     * @return false when the buffer is full
+     */
+    public boolean offer(final E entry) {
+        while (true) {
+            final long position = tail.get();
+            final int index = (int) (position & mask);
+            final long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries.lazySet(index, entry);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest published entry. Must only be called from the consumer thread.
+     *
+     * @return the entry, or null when nothing is published
+     */
+    public E poll() {
+        final long position = head;
+        final int index = (int) (position & mask);
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        final E entry = entries.get(index);
+        entries.lazySet(index, null);
+        sequences.lazySet(index, position + capacity);
+        head = position + 1;
+        return entry;
+    }
+
+    /**
+     * Drains up to {@code limit} published entries into the given consumer.
+     *
+     * @return the number of drained entries
+     */
+    public int drain(final Consumer<E> consumer, final int limit) {
+        int drained = 0;
+        E entry;
+        while (drained < limit && (entry = poll()) != null) {
+            consumer.accept(entry);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
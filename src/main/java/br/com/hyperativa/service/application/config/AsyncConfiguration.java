@@ -37,6 +37,42 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Runs per-shard work of one request in parallel, see {@code ShardedCardService}.
+     */
+    @Bean(name = "shardFanOutExecutor")
+    public Executor shardFanOutExecutor(final ShardingConfig shardingConfig) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(shardingConfig.getFanOutThreads());
+        executor.setMaxPoolSize(shardingConfig.getFanOutThreads());
+        executor.setThreadNamePrefix("hyperativa-shard-");
+        return executor;
+    }
+
+    /**
+     * Inflates and parses the lot files of an uploaded zip archive in parallel, see {@code PackedCardTxtProcessor}.
+     */
+    @Bean(name = "lotArchiveExecutor")
+    public Executor lotArchiveExecutor(final FileUploadConfig fileUploadConfig) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fileUploadConfig.getArchiveThreads());
+        executor.setMaxPoolSize(fileUploadConfig.getArchiveThreads());
+        executor.setThreadNamePrefix("hyperativa-lot-archive-");
+        return executor;
+    }
+
+    /**
+     * Ingests the large files of the lot inbox concurrently, see {@code LotInboxWatcher}.
+     */
+    @Bean(name = "lotInboxExecutor")
+    public Executor lotInboxExecutor(final LotConfig lotConfig) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(lotConfig.getInbox().getThreads());
+        executor.setMaxPoolSize(lotConfig.getInbox().getThreads());
+        executor.setThreadNamePrefix("hyperativa-lot-inbox-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,31 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the local BIN range table used to add brand and issuer to card lookups.
+ * Without a {@code file} lookups are not enriched.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.bin-table")
+public class BinTableConfig {
+    private String file = "";
+    private long reloadIntervalMs = 5000;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public long getReloadIntervalMs() {
+        return reloadIntervalMs;
+    }
+
+    public void setReloadIntervalMs(long reloadIntervalMs) {
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the streaming JSON bulk create.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.bulk")
+public class BulkCreateConfig {
+    private int chunkSize = 500;
+    private int maxItems = 100000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+        this.maxItems = maxItems;
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.hyperativa.service.application.config;
 
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.metrics.PipelinePhase;
 import br.com.hyperativa.service.application.util.EncryptionUtil;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
@@ -15,9 +17,12 @@ import org.springframework.stereotype.Component;
 public class CardNumberEncryptor implements AttributeConverter<String, String> {
     private final EncryptionConfig encryptionConfig;
 
+    private final PipelineMetrics pipelineMetrics;
+
     @Autowired
-    public CardNumberEncryptor(EncryptionConfig encryptionConfig) {
+    public CardNumberEncryptor(EncryptionConfig encryptionConfig, PipelineMetrics pipelineMetrics) {
         this.encryptionConfig = encryptionConfig;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     @Override
@@ -25,7 +30,8 @@ public class CardNumberEncryptor implements AttributeConverter<String, String> {
         if (attribute == null) {
             return null;
         }
-        return EncryptionUtil.encrypt(attribute, encryptionConfig.getEncryptionKey());
+        return pipelineMetrics.record(PipelinePhase.ENCRYPT,
+                () -> EncryptionUtil.encrypt(attribute, encryptionConfig.getEncryptionKey()));
     }
 
     @Override
@@ -33,6 +39,7 @@ public class CardNumberEncryptor implements AttributeConverter<String, String> {
         if (dbData == null) {
             return null;
         }
-        return EncryptionUtil.decrypt(dbData, encryptionConfig.getEncryptionKey());
+        return pipelineMetrics.record(PipelinePhase.DECRYPT,
+                () -> EncryptionUtil.decrypt(dbData, encryptionConfig.getEncryptionKey()));
     }
 }
@@ -0,0 +1,56 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for card number validation.
+ * {@code binRanges} lists the accepted issuer prefixes, inclusive, as digit strings of equal length (1 to 8
+ * digits, e.g. {@code 51}-{@code 55} or {@code 222100}-{@code 272099}); an empty list accepts every prefix.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.card-validation")
+public class CardValidationConfig {
+    private boolean luhnEnabled = false;
+    private List<BinRange> binRanges = new ArrayList<>();
+
+    public boolean isLuhnEnabled() {
+        return luhnEnabled;
+    }
+
+    public void setLuhnEnabled(boolean luhnEnabled) {
+        this.luhnEnabled = luhnEnabled;
+    }
+
+    public List<BinRange> getBinRanges() {
+        return binRanges;
+    }
+
+    public void setBinRanges(List<BinRange> binRanges) {
+        this.binRanges = binRanges;
+    }
+
+    public static class BinRange {
+        private String from;
+        private String to;
+
+        public String getFrom() {
+            return from;
+        }
+
+        public void setFrom(String from) {
+            this.from = from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public void setTo(String to) {
+            this.to = to;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package br.com.hyperativa.service.application.config;
+
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.PoolRoutingDataSource;
+import br.com.hyperativa.service.application.config.datasource.ReadYourWritesTracker;
+import br.com.hyperativa.service.application.config.datasource.ReplicaRoutingDataSource;
+import br.com.hyperativa.service.application.config.sharding.ShardDirectory;
+import br.com.hyperativa.service.application.config.sharding.ShardMap;
+import br.com.hyperativa.service.application.config.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulkheaded connection pools: bulk ingestion and online requests get separate Hikari pools behind one routing
+ * datasource, so a large lot upload can no longer exhaust the connections needed by lookups.
+ * <p>
+ * Both pools share {@code spring.datasource.*} and {@code spring.datasource.hikari.*}; each one is then
+ * overridden by {@code app.datasource.<pool>.hikari.*}. Pool metrics are tagged by pool name.
+ * See {@code DataSourceRoute} for the per-method selection.
+ * <p>
+ * When {@code app.datasource.replicas} are configured, read-only transactions are sent to them: the primary
+ * datasource is a {@link LazyConnectionDataSourceProxy} that only fetches a connection once the transaction
+ * marked it read-only or not, and then picks the replica router or the pool router.
+ * <p>
+ * With {@code app.sharding.enabled}, the pool router is shard 0 of a {@link ShardRoutingDataSource} and each
+ * additional shard gets one pool, migrated by Flyway at startup. Sharding and read replicas are exclusive.
+ */
+@Configuration
+public class DataSourceConfig {
+    private static final String SHARED_HIKARI_PREFIX = "spring.datasource.hikari";
+    private static final String POOL_HIKARI_PREFIX = "app.datasource.%s.hikari";
+    private static final String REPLICA_HIKARI_PREFIX = "app.datasource.replicas[%d].hikari";
+    private static final String SHARD_HIKARI_PREFIX = "app.sharding.shards[%d].hikari";
+    private static final String POOL_NAME = "hyperativa-%s-pool";
+
+    private final Environment environment;
+
+    public DataSourceConfig(final Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource onlineDataSource(final DataSourceProperties properties) {
+        return pool(properties, DataSourcePool.ONLINE);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource ingestionDataSource(final DataSourceProperties properties) {
+        return pool(properties, DataSourcePool.INGESTION);
+    }
+
+    @Bean
+    public PoolRoutingDataSource poolRoutingDataSource(
+            final HikariDataSource onlineDataSource,
+            final HikariDataSource ingestionDataSource
+    ) {
+        final PoolRoutingDataSource routing = new PoolRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                DataSourcePool.ONLINE, onlineDataSource,
+                DataSourcePool.INGESTION, ingestionDataSource));
+        routing.setDefaultTargetDataSource(onlineDataSource);
+        return routing;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(final DataSourceRoutingConfig routingConfig) {
+        return new ReadYourWritesTracker(routingConfig.getReadYourWritesMs());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            final DataSourceProperties properties,
+            final DataSourceRoutingConfig routingConfig,
+            final PoolRoutingDataSource poolRoutingDataSource,
+            final ReadYourWritesTracker readYourWritesTracker,
+            final ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        final List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routingConfig.getReplicas().size(); i++) {
+            final DataSourceRoutingConfig.Replica replica = routingConfig.getReplicas().get(i);
+            replicas.add(pool(properties, replica.getUrl(), replica.getUsername(), replica.getPassword(),
+                    "replica-" + i, String.format(REPLICA_HIKARI_PREFIX, i), meterRegistry));
+        }
+        return new ReplicaRoutingDataSource(poolRoutingDataSource, replicas, readYourWritesTracker);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(
+            final DataSourceProperties properties,
+            final ShardingConfig shardingConfig,
+            final PoolRoutingDataSource poolRoutingDataSource,
+            final ObjectProvider<MeterRegistry> meterRegistry,
+            final ObjectProvider<FlywayProperties> flywayProperties
+    ) {
+        final Map<Object, Object> shards = HashMap.newHashMap(shardingConfig.getShardCount());
+        shards.put(0, poolRoutingDataSource);
+        for (int i = 1; i < shardingConfig.getShardCount(); i++) {
+            final ShardingConfig.Shard shard = shardingConfig.getShards().get(i - 1);
+            final HikariDataSource dataSource = pool(properties, shard.getUrl(), shard.getUsername(), shard.getPassword(),
+                    "shard-" + i, String.format(SHARD_HIKARI_PREFIX, i - 1), meterRegistry);
+            flywayProperties.ifAvailable(flyway -> Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations(flyway.getLocations().toArray(String[]::new))
+                    .load()
+                    .migrate());
+            shards.put(i, dataSource);
+        }
+        final ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(shards);
+        routing.setDefaultTargetDataSource(poolRoutingDataSource);
+        return routing;
+    }
+
+    @Bean
+    public ShardDirectory shardDirectory(final PoolRoutingDataSource poolRoutingDataSource) {
+        return new ShardDirectory(poolRoutingDataSource);
+    }
+
+    @Bean
+    public ShardMap shardMap(
+            final ShardingConfig shardingConfig,
+            final ShardDirectory shardDirectory,
+            final ObjectProvider<FlywayMigrationInitializer> flywayMigrationInitializer
+    ) {
+        if (!shardingConfig.isEnabled()) {
+            return new ShardMap(1);
+        }
+        // The directory table must be migrated before it is read
+        flywayMigrationInitializer.getIfAvailable();
+        int[] assignment = shardDirectory.load();
+        if (assignment == null) {
+            assignment = ShardMap.assignment(shardingConfig.getShardCount(), shardingConfig.getInitialAssignment());
+            shardDirectory.save(assignment);
+        }
+        return new ShardMap(shardingConfig.getShardCount(), assignment);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            final ShardRoutingDataSource shardRoutingDataSource,
+            final ReplicaRoutingDataSource replicaRoutingDataSource,
+            final DataSourceRoutingConfig routingConfig,
+            final ShardingConfig shardingConfig
+    ) {
+        if (shardingConfig.isEnabled() && !routingConfig.getReplicas().isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas cannot be combined with app.sharding.enabled");
+        }
+        final LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        if (!routingConfig.getReplicas().isEmpty()) {
+            dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        }
+        return dataSource;
+    }
+
+    private HikariDataSource pool(final DataSourceProperties properties, final DataSourcePool pool) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        final String name = pool.name().toLowerCase();
+        configure(dataSource, name, String.format(POOL_HIKARI_PREFIX, name));
+        return dataSource;
+    }
+
+    private HikariDataSource pool(
+            final DataSourceProperties properties,
+            final String url,
+            final String username,
+            final String password,
+            final String name,
+            final String overridePrefix,
+            final ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username != null ? username : properties.determineUsername())
+                .password(password != null ? password : properties.determinePassword())
+                .build();
+        configure(dataSource, name, overridePrefix);
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    private void configure(final HikariDataSource dataSource, final String name, final String overridePrefix) {
+        final Binder binder = Binder.get(environment);
+        binder.bind(SHARED_HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(String.format(POOL_NAME, name));
+        binder.bind(overridePrefix, Bindable.ofInstance(dataSource));
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for read-replica routing.
+ * Replica credentials default to {@code spring.datasource.*}. Pool settings are not bound here:
+ * {@link DataSourceConfig} binds {@code spring.datasource.hikari.*}, then {@code app.datasource.replicas[n].hikari.*},
+ * straight onto the pool of replica {@code n}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.datasource")
+public class DataSourceRoutingConfig {
+    private List<Replica> replicas = new ArrayList<>();
+    private long replicaHealthIntervalMs = 5000;
+    private int replicaHealthTimeoutSeconds = 2;
+    private long readYourWritesMs = 0;
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public long getReplicaHealthIntervalMs() {
+        return replicaHealthIntervalMs;
+    }
+
+    public void setReplicaHealthIntervalMs(long replicaHealthIntervalMs) {
+        this.replicaHealthIntervalMs = replicaHealthIntervalMs;
+    }
+
+    public int getReplicaHealthTimeoutSeconds() {
+        return replicaHealthTimeoutSeconds;
+    }
+
+    public void setReplicaHealthTimeoutSeconds(int replicaHealthTimeoutSeconds) {
+        this.replicaHealthTimeoutSeconds = replicaHealthTimeoutSeconds;
+    }
+
+    public long getReadYourWritesMs() {
+        return readYourWritesMs;
+    }
+
+    public void setReadYourWritesMs(long readYourWritesMs) {
+        this.readYourWritesMs = readYourWritesMs;
+    }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
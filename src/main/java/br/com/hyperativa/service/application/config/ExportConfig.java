@@ -0,0 +1,42 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the streaming card export.
+ * The default fetch size of {@link Integer#MIN_VALUE} makes MySQL Connector/J stream rows one by one
+ * instead of buffering the whole result set; other drivers need a positive value.
+ * The export is not bound by {@code spring.mvc.async.request-timeout} but by {@code timeout-ms}, 0 or less for none.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportConfig {
+    private int fetchSize = Integer.MIN_VALUE;
+    private int flushRows = 1000;
+    private long timeoutMs = -1;
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getFlushRows() {
+        return flushRows;
+    }
+
+    public void setFlushRows(int flushRows) {
+        this.flushRows = flushRows;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void setTimeoutMs(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+}
@@ -11,7 +11,38 @@ public class FileUploadConfig {
     @Value("${app.file.upload.max-size:10485760}")
     private long maxFileSize;
 
+    @Value("${app.file.upload.write-chunk-size:1000}")
+    private int writeChunkSize;
+
+    @Value("${app.file.upload.max-lines:10000000}")
+    private long maxLines;
+
+    @Value("${app.file.upload.max-archive-entries:64}")
+    private int maxArchiveEntries;
+
+    @Value("${app.file.upload.archive-threads:4}")
+    private int archiveThreads;
+
     public long getMaxFileSize() {
         return maxFileSize;
     }
+
+    public int getWriteChunkSize() {
+        return writeChunkSize;
+    }
+
+    /**
+     * Lines allowed in one uploaded lot file once decompressed, whatever its compressed size.
+     */
+    public long getMaxLines() {
+        return maxLines;
+    }
+
+    public int getMaxArchiveEntries() {
+        return maxArchiveEntries;
+    }
+
+    public int getArchiveThreads() {
+        return archiveThreads;
+    }
 }
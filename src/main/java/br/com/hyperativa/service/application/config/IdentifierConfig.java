@@ -0,0 +1,36 @@
+package br.com.hyperativa.service.application.config;
+
+import br.com.hyperativa.service.application.util.CardIdentifierAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for card identifier allocation, see {@link CardIdentifierAllocator}.
+ * Without {@code node-id} a random node is picked at startup, so two instances may share it.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.identifier")
+public class IdentifierConfig implements InitializingBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdentifierConfig.class);
+
+    private Integer nodeId;
+
+    public Integer getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(Integer nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (nodeId != null) {
+            CardIdentifierAllocator.useNode(nodeId);
+        }
+        LOGGER.info("Allocating card identifiers as node {}", CardIdentifierAllocator.node());
+    }
+}
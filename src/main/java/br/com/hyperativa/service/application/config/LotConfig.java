@@ -0,0 +1,178 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for lot ingestion: lots are split into chunks of {@code commit-chunk-size} cards that
+ * {@code workers} threads per instance claim under a lease of {@code lease-ms}.
+ * The spool directory keeps uploaded files until their lot completes; it must be shared by all instances for any
+ * of them to work on a lot another one received.
+ * <p>
+ * {@code session} bounds the lots uploaded in pieces, see {@link Session}; {@code inbox} configures the lots dropped
+ * in a local directory, see {@link Inbox}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.lot")
+public class LotConfig {
+    private String spoolDirectory = "./spool/lots";
+    private int commitChunkSize = 10000;
+    private int workers = 4;
+    private long leaseMs = 120000;
+    private long pollIntervalMs = 1000;
+    private int maxAttempts = 3;
+    private Session session = new Session();
+    private Inbox inbox = new Inbox();
+
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public int getCommitChunkSize() {
+        return commitChunkSize;
+    }
+
+    public void setCommitChunkSize(int commitChunkSize) {
+        this.commitChunkSize = commitChunkSize;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public void setLeaseMs(long leaseMs) {
+        this.leaseMs = leaseMs;
+    }
+
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    public void setPollIntervalMs(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public void setSession(Session session) {
+        this.session = session;
+    }
+
+    public Inbox getInbox() {
+        return inbox;
+    }
+
+    public void setInbox(Inbox inbox) {
+        this.inbox = inbox;
+    }
+
+    /**
+     * Upload sessions: files up to {@code max-file-size}, sent in pieces of up to {@code max-chunk-size} bytes.
+     * Sessions left open for {@code expire-after-ms} are aborted. Each instance parses up to {@code max-scans} files
+     * as their pieces arrive; other sessions are parsed when completed.
+     */
+    public static class Session {
+        private long maxFileSize = 4294967296L;
+        private int maxChunkSize = 16777216;
+        private long expireAfterMs = 86400000;
+        private int maxScans = 2;
+
+        public long getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getMaxChunkSize() {
+            return maxChunkSize;
+        }
+
+        public void setMaxChunkSize(int maxChunkSize) {
+            this.maxChunkSize = maxChunkSize;
+        }
+
+        public long getExpireAfterMs() {
+            return expireAfterMs;
+        }
+
+        public void setExpireAfterMs(long expireAfterMs) {
+            this.expireAfterMs = expireAfterMs;
+        }
+
+        public int getMaxScans() {
+            return maxScans;
+        }
+
+        public void setMaxScans(int maxScans) {
+            this.maxScans = maxScans;
+        }
+    }
+
+    /**
+     * Inbox directory watched for lot files, ingested without an upload; empty {@code directory} disables it. A file
+     * is claimed once unmodified for {@code settle-ms}. Files of at least {@code parallel-threshold} bytes are
+     * ingested concurrently on {@code threads} threads, smaller ones one after another by the watcher.
+     */
+    public static class Inbox {
+        private String directory = "";
+        private long settleMs = 5000;
+        private int threads = 2;
+        private long parallelThreshold = 67108864;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public long getSettleMs() {
+            return settleMs;
+        }
+
+        public void setSettleMs(long settleMs) {
+            this.settleMs = settleMs;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public long getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        public void setParallelThreshold(long parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+    }
+}
@@ -8,11 +8,14 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * OpenAPI configuration for API documentation.
  * Configures Swagger UI with JWT authentication support.
+ * Lazy, as the documentation is not needed to serve traffic.
  */
+@Lazy
 @Configuration
 public class OpenApiConfig {
     private static final String SECURITY_SCHEME_NAME = "Bearer Authentication";
@@ -0,0 +1,142 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for card sharding.
+ * Shard 0 is {@code spring.datasource.*} with its online and ingestion pools; {@code shards} lists the additional
+ * shards, numbered from 1, with credentials defaulting to {@code spring.datasource.*} and pool settings to
+ * {@code spring.datasource.hikari.*}, overridden by {@code app.sharding.shards[n].hikari.*}.
+ * <p>
+ * {@code initialAssignment} only seeds an empty {@code card_shard_bucket} directory; buckets not listed stay on
+ * shard 0, where every card lived before sharding.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingConfig {
+    private boolean enabled = false;
+    private List<Shard> shards = new ArrayList<>();
+    private List<Assignment> initialAssignment = new ArrayList<>();
+    private long mapRefreshIntervalMs = 10000;
+    private int fanOutThreads = 16;
+    private int rebalanceBatchSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public List<Assignment> getInitialAssignment() {
+        return initialAssignment;
+    }
+
+    public void setInitialAssignment(List<Assignment> initialAssignment) {
+        this.initialAssignment = initialAssignment;
+    }
+
+    public long getMapRefreshIntervalMs() {
+        return mapRefreshIntervalMs;
+    }
+
+    public void setMapRefreshIntervalMs(long mapRefreshIntervalMs) {
+        this.mapRefreshIntervalMs = mapRefreshIntervalMs;
+    }
+
+    public int getFanOutThreads() {
+        return fanOutThreads;
+    }
+
+    public void setFanOutThreads(int fanOutThreads) {
+        this.fanOutThreads = fanOutThreads;
+    }
+
+    public int getRebalanceBatchSize() {
+        return rebalanceBatchSize;
+    }
+
+    public void setRebalanceBatchSize(int rebalanceBatchSize) {
+        this.rebalanceBatchSize = rebalanceBatchSize;
+    }
+
+    /**
+     * Number of shards, including shard 0.
+     */
+    public int getShardCount() {
+        return enabled ? shards.size() + 1 : 1;
+    }
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    public static class Assignment {
+        private int fromBucket;
+        private int toBucket;
+        private int shard;
+
+        public int getFromBucket() {
+            return fromBucket;
+        }
+
+        public void setFromBucket(int fromBucket) {
+            this.fromBucket = fromBucket;
+        }
+
+        public int getToBucket() {
+            return toBucket;
+        }
+
+        public void setToBucket(int toBucket) {
+            this.toBucket = toBucket;
+        }
+
+        public int getShard() {
+            return shard;
+        }
+
+        public void setShard(int shard) {
+            this.shard = shard;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks beans of non-critical packages (by default springdoc) as lazy, so they are created on first use
+ * instead of during startup. Configured through {@code app.startup.lazy-packages}.
+ */
+@Component
+public class StartupLazyInitializationConfig implements BeanFactoryPostProcessor, EnvironmentAware {
+    private static final String LAZY_PACKAGES_PROPERTY = "app.startup.lazy-packages";
+
+    private List<String> lazyPackages = List.of();
+
+    @Override
+    public void setEnvironment(final Environment environment) {
+        this.lazyPackages = List.of(environment.getProperty(LAZY_PACKAGES_PROPERTY, String[].class, new String[0]));
+    }
+
+    @Override
+    public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        if (lazyPackages.isEmpty()) {
+            return;
+        }
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            final BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (definition.isSingleton() && isLazyCandidate(beanFactory, definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean isLazyCandidate(final ConfigurableListableBeanFactory beanFactory, final BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        if (className == null) {
+            return false;
+        }
+
+        for (String lazyPackage : lazyPackages) {
+            if (className.startsWith(lazyPackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.hyperativa.service.application.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the JIT warm-up executed before the application reports readiness.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupConfig {
+    private boolean enabled = true;
+    private int iterations = 100;
+    private long timeBudgetMs = 20000;
+    private int lotLines = 1000;
+    private int operationsPerIteration = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public long getTimeBudgetMs() {
+        return timeBudgetMs;
+    }
+
+    public void setTimeBudgetMs(long timeBudgetMs) {
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    public int getLotLines() {
+        return lotLines;
+    }
+
+    public void setLotLines(int lotLines) {
+        this.lotLines = lotLines;
+    }
+
+    public int getOperationsPerIteration() {
+        return operationsPerIteration;
+    }
+
+    public void setOperationsPerIteration(int operationsPerIteration) {
+        this.operationsPerIteration = operationsPerIteration;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.hyperativa.service.application.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Binary response encodings for high-volume clients.
+ * <p>
+ * Spring MVC already registers CBOR and Smile converters when the Jackson dataformats are on the classpath,
+ * but with a plain object mapper. They are replaced in place by converters built from the Boot-configured
+ * builder, so binary and JSON payloads share the same settings and JSON stays first, i.e. the default.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WebConfig(final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters) {
+        final ListIterator<HttpMessageConverter<?>> iterator = converters.listIterator();
+        while (iterator.hasNext()) {
+            final HttpMessageConverter<?> converter = iterator.next();
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                iterator.set(new MappingJackson2SmileHttpMessageConverter(builder().factory(new SmileFactory()).build()));
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                iterator.set(new MappingJackson2CborHttpMessageConverter(builder().factory(new CBORFactory()).build()));
+            }
+        }
+    }
+
+    private Jackson2ObjectMapperBuilder builder() {
+        return objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::new);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.hyperativa.service.application.config.aspect;
+
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRoute;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRouteContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Applies {@link DataSourceRoute} around service methods.
+ * Runs before the transaction interceptor, so the pool is selected when the transaction opens its connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DataSourceRouteAspect {
+    private static final String ROUTE_POINTCUT = "@annotation(br.com.hyperativa.service.application.config.datasource.DataSourceRoute) " +
+            "|| @within(br.com.hyperativa.service.application.config.datasource.DataSourceRoute)";
+
+    @Around(ROUTE_POINTCUT)
+    public Object route(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final DataSourcePool previous = DataSourceRouteContext.select(pool(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteContext.restore(previous);
+        }
+    }
+
+    private DataSourcePool pool(final ProceedingJoinPoint joinPoint) {
+        final Class<?> targetClass = joinPoint.getTarget().getClass();
+        final Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        DataSourceRoute route = AnnotatedElementUtils.findMergedAnnotation(method, DataSourceRoute.class);
+        if (route == null) {
+            route = AnnotatedElementUtils.findMergedAnnotation(targetClass, DataSourceRoute.class);
+        }
+        return route != null ? route.value() : DataSourcePool.ONLINE;
+    }
+}
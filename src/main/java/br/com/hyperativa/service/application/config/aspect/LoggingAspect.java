@@ -1,27 +1,114 @@
 package br.com.hyperativa.service.application.config.aspect;
 
+import br.com.hyperativa.service.application.audit.AuditEvent;
+import br.com.hyperativa.service.application.audit.AuditEventType;
+import br.com.hyperativa.service.application.audit.AuditJournal;
+import br.com.hyperativa.service.application.config.AuditJournalConfig;
+import br.com.hyperativa.service.application.web.controller.response.CardPageResponse;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
-import org.slf4j.Logger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
+
+/**
+ * Records every REST controller call and its result in the {@link AuditJournal}.
+ * Only bounded summaries are built on the request thread; large results such as pages
+ * are described by their metadata instead of their content.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
     private static final String BEFORE_POINTCUT = "within(@org.springframework.web.bind.annotation.RestController *)";
     private static final String AFTER_POINTCUT = "within(@org.springframework.web.bind.annotation.RestController *)";
+    private static final String TRUNCATED_SUFFIX = "...";
+
+    private final AuditJournal auditJournal;
+    private final AuditJournalConfig auditJournalConfig;
 
-    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(LoggingAspect.class);
+    public LoggingAspect(final AuditJournal auditJournal, final AuditJournalConfig auditJournalConfig) {
+        this.auditJournal = auditJournal;
+        this.auditJournalConfig = auditJournalConfig;
+    }
 
     @Before(BEFORE_POINTCUT)
     public void logBefore(final JoinPoint joinPoint) {
-        LOGGER.info("Requesting: {}", joinPoint.getSignature());
+        publish(AuditEventType.REQUEST, joinPoint, summarizeArguments(joinPoint.getArgs()));
     }
 
     @AfterReturning(pointcut = AFTER_POINTCUT, returning = "result")
     public void logAfter(final JoinPoint joinPoint, Object result) {
-        LOGGER.info("Returning: {}", result);
+        publish(AuditEventType.RESPONSE, joinPoint, summarize(result));
+    }
+
+    @AfterThrowing(pointcut = AFTER_POINTCUT, throwing = "error")
+    public void logError(final JoinPoint joinPoint, Throwable error) {
+        publish(AuditEventType.ERROR, joinPoint, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    private void publish(final AuditEventType type, final JoinPoint joinPoint, final String payload) {
+        if (!auditJournal.isRunning()) {
+            return;
+        }
+
+        auditJournal.publish(new AuditEvent(
+                System.currentTimeMillis(),
+                Thread.currentThread().getName(),
+                type,
+                joinPoint.getSignature().toShortString(),
+                truncate(payload)
+        ));
+    }
+
+    private String summarizeArguments(final Object[] args) {
+        final StringBuilder summary = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                summary.append(", ");
+            }
+            summary.append(summarize(args[i]));
+            if (summary.length() > auditJournalConfig.getMaxPayloadLength()) {
+                break;
+            }
+        }
+        return summary.append(']').toString();
+    }
+
+    private String summarize(final Object value) {
+        return switch (value) {
+            case null -> "null";
+            case ResponseEntity<?> response -> "ResponseEntity[status=" + response.getStatusCode().value() +
+                    ", body=" + summarize(response.getBody()) + "]";
+            case Page<?> page -> "Page[number=" + page.getNumber() + ", size=" + page.getSize() +
+                    ", numberOfElements=" + page.getNumberOfElements() + ", totalElements=" + page.getTotalElements() + "]";
+            case Slice<?> slice -> "Slice[number=" + slice.getNumber() + ", size=" + slice.getSize() +
+                    ", numberOfElements=" + slice.getNumberOfElements() + ", hasNext=" + slice.hasNext() + "]";
+            case CardPageResponse page -> "CardPageResponse[page=" + page.page() + ", size=" + page.size() +
+                    ", numberOfElements=" + page.content().size() + ", hasNext=" + page.hasNext() + "]";
+            case Collection<?> collection -> value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+            case MultipartFile file -> "MultipartFile[name=" + file.getOriginalFilename() + ", size=" + file.getSize() + "]";
+            default -> String.valueOf(value);
+        };
+    }
+
+    private String truncate(final String payload) {
+        final int maxLength = auditJournalConfig.getMaxPayloadLength();
+        if (payload.length() <= maxLength) {
+            return payload;
+        }
+
+        // Never cut through a digit run, otherwise a partial card number would escape masking.
+        int end = maxLength;
+        while (end > 0 && Character.isDigit(payload.charAt(end - 1)) && Character.isDigit(payload.charAt(end))) {
+            end--;
+        }
+        return payload.substring(0, end) + TRUNCATED_SUFFIX;
     }
 }
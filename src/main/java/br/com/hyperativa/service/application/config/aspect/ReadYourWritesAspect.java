@@ -0,0 +1,36 @@
+package br.com.hyperativa.service.application.config.aspect;
+
+import br.com.hyperativa.service.application.config.datasource.ReadYourWritesTracker;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records successful writes of the current principal for the read-your-writes window of the replica routing.
+ * Coalesced creates are written by the group commit thread, so they are recorded on the calling thread instead.
+ */
+@Aspect
+@Component
+public class ReadYourWritesAspect {
+    private static final String COALESCED_CREATE_POINTCUT =
+            "execution(* br.com.hyperativa.service.domain.services.impl.CardCreateCoalescer.create(..))";
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadYourWritesAspect(final ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @AfterReturning(pointcut = "@annotation(transactional)", argNames = "transactional")
+    public void afterTransaction(final Transactional transactional) {
+        if (!transactional.readOnly()) {
+            readYourWritesTracker.recordWrite();
+        }
+    }
+
+    @AfterReturning(COALESCED_CREATE_POINTCUT)
+    public void afterCoalescedCreate() {
+        readYourWritesTracker.recordWrite();
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+/**
+ * Connection pools the routing datasource can hand out connections from.
+ */
+public enum DataSourcePool {
+    /**
+     * Short online requests: single-card creates and lookups. Default pool.
+     */
+    ONLINE,
+    /**
+     * Long-running bulk work: lot uploads, bulk creates and exports.
+     */
+    INGESTION
+}
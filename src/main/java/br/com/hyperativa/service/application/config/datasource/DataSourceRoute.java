@@ -0,0 +1,18 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the connection pool used by the annotated service method, or by every method of the annotated class.
+ * Only effective on the outermost transactional call: once a transaction holds a connection, nested calls reuse it.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface DataSourceRoute {
+    DataSourcePool value();
+}
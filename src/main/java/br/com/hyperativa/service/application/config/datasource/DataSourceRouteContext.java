@@ -0,0 +1,33 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+/**
+ * Holds the pool selected for the current thread by {@link DataSourceRoute}.
+ */
+public class DataSourceRouteContext {
+    private static final ThreadLocal<DataSourcePool> CURRENT = new ThreadLocal<>();
+
+    private DataSourceRouteContext() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static DataSourcePool current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Selects the pool for the current thread and returns the previous selection, to be passed to {@link #restore}.
+     */
+    public static DataSourcePool select(final DataSourcePool pool) {
+        final DataSourcePool previous = CURRENT.get();
+        CURRENT.set(pool);
+        return previous;
+    }
+
+    public static void restore(final DataSourcePool previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
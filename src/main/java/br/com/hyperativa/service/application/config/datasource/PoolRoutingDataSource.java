@@ -0,0 +1,14 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the pool selected by {@link DataSourceRouteContext}, the online pool by default.
+ */
+public class PoolRoutingDataSource extends AbstractRoutingDataSource {
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final DataSourcePool pool = DataSourceRouteContext.current();
+        return pool != null ? pool : DataSourcePool.ONLINE;
+    }
+}
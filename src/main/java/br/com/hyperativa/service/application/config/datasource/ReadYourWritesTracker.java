@@ -0,0 +1,50 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which principals wrote recently, so their reads stay on the primary until replicas caught up.
+ * A window of 0 disables the tracking.
+ */
+public class ReadYourWritesTracker {
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(final long windowMs) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    public void recordWrite() {
+        final String principal = currentPrincipal();
+        if (windowNanos > 0 && principal != null) {
+            lastWrites.put(principal, System.nanoTime());
+        }
+    }
+
+    public boolean wroteRecently() {
+        if (windowNanos <= 0 || lastWrites.isEmpty()) {
+            return false;
+        }
+        final String principal = currentPrincipal();
+        final Long lastWrite = principal != null ? lastWrites.get(principal) : null;
+        return lastWrite != null && System.nanoTime() - lastWrite < windowNanos;
+    }
+
+    /**
+     * Forgets writes older than the window.
+     */
+    public void prune() {
+        final long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private static String currentPrincipal() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+import br.com.hyperativa.service.application.config.DataSourceRoutingConfig;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically validates the read replicas and expires read-your-writes entries.
+ */
+@Component
+public class ReplicaHealthMonitor {
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final DataSourceRoutingConfig routingConfig;
+
+    public ReplicaHealthMonitor(
+            final ReplicaRoutingDataSource replicaRoutingDataSource,
+            final ReadYourWritesTracker readYourWritesTracker,
+            final DataSourceRoutingConfig routingConfig
+    ) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.routingConfig = routingConfig;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-health-interval-ms:5000}")
+    public void check() {
+        if (routingConfig.getReplicas().isEmpty()) {
+            return;
+        }
+        replicaRoutingDataSource.checkHealth(routingConfig.getReplicaHealthTimeoutSeconds());
+        readYourWritesTracker.prune();
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only datasource spreading connections round-robin over the healthy replicas.
+ * <p>
+ * Falls back to the primary when no replica is healthy, when a replica refuses a connection (which also marks it
+ * down until the next health check) and, for read-your-writes, when the current principal wrote recently.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<DataSource> healthy;
+
+    public ReplicaRoutingDataSource(
+            final DataSource primary,
+            final List<DataSource> replicas,
+            final ReadYourWritesTracker readYourWritesTracker
+    ) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthy = this.replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final DataSource replica = nextReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        final DataSource replica = nextReplica();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Validates every replica and replaces the healthy set; called periodically.
+     */
+    public void checkHealth(final int timeoutSeconds) {
+        final List<DataSource> checked = new ArrayList<>(replicas.size());
+        for (DataSource replica : replicas) {
+            try (Connection connection = replica.getConnection()) {
+                if (connection.isValid(timeoutSeconds)) {
+                    checked.add(replica);
+                }
+            } catch (SQLException e) {
+                LOGGER.debug("Replica {} failed its health check: {}", replicas.indexOf(replica), e.getMessage());
+            }
+        }
+        replaceHealthy(checked);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public int getHealthyCount() {
+        return healthy.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource nextReplica() {
+        if (readYourWritesTracker.wroteRecently()) {
+            return null;
+        }
+        final List<DataSource> current = healthy;
+        return current.isEmpty() ? null : current.get(Math.floorMod(next.getAndIncrement(), current.size()));
+    }
+
+    private synchronized void markDown(final DataSource replica, final SQLException cause) {
+        LOGGER.warn("Read replica {} refused a connection, using the primary: {}", replicas.indexOf(replica), cause.getMessage());
+        final List<DataSource> remaining = new ArrayList<>(healthy);
+        remaining.remove(replica);
+        replaceHealthy(remaining);
+    }
+
+    private synchronized void replaceHealthy(final List<DataSource> current) {
+        if (current.size() != healthy.size()) {
+            LOGGER.warn("{} of {} read replicas healthy", current.size(), replicas.size());
+        }
+        healthy = List.copyOf(current);
+    }
+}
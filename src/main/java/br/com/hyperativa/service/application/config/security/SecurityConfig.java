@@ -1,6 +1,8 @@
 package br.com.hyperativa.service.application.config.security;
 
 import br.com.hyperativa.service.application.config.security.jwt.JwtFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,10 +13,22 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 public class SecurityConfig {
+    private static final String SCRAPE_PATH = "/metrics";
+
     private final JwtFilter jwtFilter;
 
-    SecurityConfig(final JwtFilter jwtFilter) {
+    private final int serverPort;
+
+    private final int managementPort;
+
+    SecurityConfig(
+            final JwtFilter jwtFilter,
+            @Value("${server.port:8080}") final int serverPort,
+            @Value("${management.server.port:${server.port:8080}}") final int managementPort
+    ) {
         this.jwtFilter = jwtFilter;
+        this.serverPort = serverPort;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -24,10 +38,20 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/v1/auth/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/healthcheck/**").permitAll()
+                        .requestMatchers(this::isManagementScrape).permitAll()
                         .anyRequest().authenticated()
                 );
 
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
+
+    /**
+     * Prometheus scrape reaching the management port; it needs a token when that port is the public one.
+     */
+    private boolean isManagementScrape(final HttpServletRequest request) {
+        return managementPort != serverPort && request.getLocalPort() == managementPort
+                && SCRAPE_PATH.equals(request.getRequestURI());
+    }
 }
@@ -1,5 +1,7 @@
 package br.com.hyperativa.service.application.config.security.jwt;
 
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.metrics.PipelinePhase;
 import br.com.hyperativa.service.domain.entity.User;
 import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
 import br.com.hyperativa.service.resources.repository.UserRepository;
@@ -24,9 +26,12 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final UserRepository userRepository;
 
-    JwtFilter(final JwtUtil jwtUtil, final UserRepository userRepository) {
+    private final PipelineMetrics pipelineMetrics;
+
+    JwtFilter(final JwtUtil jwtUtil, final UserRepository userRepository, final PipelineMetrics pipelineMetrics) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     @Override
@@ -35,7 +40,7 @@ public class JwtFilter extends OncePerRequestFilter {
                                     final FilterChain filterChain) throws ServletException, IOException {
         try {
             final String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateJwtToken(jwt)) {
+            if (jwt != null && pipelineMetrics.record(PipelinePhase.JWT_VERIFY, () -> jwtUtil.validateJwtToken(jwt))) {
                 final String username = jwtUtil.getUsernameFromToken(jwt);
                 final User user = userRepository.findByUsername(username).orElse(null);
                 if (user != null) {
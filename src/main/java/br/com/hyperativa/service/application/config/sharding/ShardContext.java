@@ -0,0 +1,33 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+/**
+ * Holds the card shard selected for the current thread, see {@link ShardRoutingDataSource}.
+ */
+public class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Selects the shard for the current thread and returns the previous selection, to be passed to {@link #restore}.
+     */
+    public static Integer select(final int shard) {
+        final Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    public static void restore(final Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+import br.com.hyperativa.service.application.util.CardShardKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Persists the bucket to shard assignment in {@code card_shard_bucket} on shard 0, shared by every instance.
+ */
+public class ShardDirectory {
+    private static final String LOAD_QUERY = "SELECT bucket, shard FROM card_shard_bucket";
+    private static final String DELETE_RANGE = "DELETE FROM card_shard_bucket WHERE bucket BETWEEN ? AND ?";
+    private static final String INSERT = "INSERT INTO card_shard_bucket (bucket, shard) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardDirectory(final DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Stored assignment, or null while the directory is empty.
+     */
+    public int[] load() {
+        final int[] shards = new int[CardShardKey.BUCKETS];
+        final Integer rows = jdbcTemplate.query(LOAD_QUERY, resultSet -> {
+            int count = 0;
+            while (resultSet.next()) {
+                shards[resultSet.getInt(1)] = resultSet.getInt(2);
+                count++;
+            }
+            return count;
+        });
+        return rows == null || rows == 0 ? null : shards;
+    }
+
+    public void save(final int[] shards) {
+        transactionTemplate.executeWithoutResult(status -> write(0, shards.length - 1, shards));
+    }
+
+    public void assign(final int fromBucket, final int toBucket, final int shard) {
+        final int[] shards = new int[CardShardKey.BUCKETS];
+        Arrays.fill(shards, shard);
+        transactionTemplate.executeWithoutResult(status -> write(fromBucket, toBucket, shards));
+    }
+
+    private void write(final int fromBucket, final int toBucket, final int[] shards) {
+        jdbcTemplate.update(DELETE_RANGE, fromBucket, toBucket);
+        final List<Object[]> rows = new ArrayList<>(toBucket - fromBucket + 1);
+        for (int bucket = fromBucket; bucket <= toBucket; bucket++) {
+            rows.add(new Object[]{bucket, shards[bucket]});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+import br.com.hyperativa.service.application.config.ShardingConfig;
+import br.com.hyperativa.service.application.util.CardShardKey;
+import br.com.hyperativa.service.application.util.HashUtil;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory copy of the bucket to shard assignment kept in {@code card_shard_bucket}.
+ * Lookups read a volatile array; changes replace it, so routing never takes a lock.
+ */
+public class ShardMap {
+    private final int shardCount;
+
+    private volatile int[] shards;
+
+    public ShardMap(final int shardCount, final int[] shards) {
+        this.shardCount = shardCount;
+        this.shards = validate(shards);
+    }
+
+    /**
+     * Single-shard map: every bucket on shard 0.
+     */
+    public ShardMap(final int shardCount) {
+        this(shardCount, new int[CardShardKey.BUCKETS]);
+    }
+
+    /**
+     * Assignment seeded from configuration, every bucket not listed on shard 0.
+     */
+    public static int[] assignment(final int shardCount, final List<ShardingConfig.Assignment> assignments) {
+        final int[] shards = new int[CardShardKey.BUCKETS];
+        for (ShardingConfig.Assignment assignment : assignments) {
+            checkRange(assignment.getFromBucket(), assignment.getToBucket());
+            checkShard(shardCount, assignment.getShard());
+            Arrays.fill(shards, assignment.getFromBucket(), assignment.getToBucket() + 1, assignment.getShard());
+        }
+        return shards;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardOfBucket(final int bucket) {
+        return shards[bucket];
+    }
+
+    public int shardOfCardNumber(final String cardNumber) {
+        return shardOfBucket(CardShardKey.bucketOfFingerprint(HashUtil.sha256Hex(cardNumber)));
+    }
+
+    /**
+     * Shard named by the bucket in an identifier, or -1 when the identifier carries none.
+     */
+    public int shardOfIdentifier(final String identifier) {
+        final int bucket = CardShardKey.bucketOfIdentifier(identifier);
+        return bucket < 0 ? -1 : shardOfBucket(bucket);
+    }
+
+    public int[] snapshot() {
+        return shards.clone();
+    }
+
+    public synchronized void replace(final int[] assignment) {
+        shards = validate(assignment);
+    }
+
+    public synchronized void assign(final int fromBucket, final int toBucket, final int shard) {
+        checkRange(fromBucket, toBucket);
+        checkShard(shardCount, shard);
+        final int[] next = shards.clone();
+        Arrays.fill(next, fromBucket, toBucket + 1, shard);
+        shards = next;
+    }
+
+    public static void checkRange(final int fromBucket, final int toBucket) {
+        if (fromBucket < 0 || toBucket >= CardShardKey.BUCKETS || fromBucket > toBucket) {
+            throw new IllegalArgumentException(String.format("Invalid bucket range %d-%d, buckets go from 0 to %d",
+                    fromBucket, toBucket, CardShardKey.BUCKETS - 1));
+        }
+    }
+
+    private int[] validate(final int[] assignment) {
+        if (assignment.length != CardShardKey.BUCKETS) {
+            throw new IllegalArgumentException("Shard assignment must cover " + CardShardKey.BUCKETS + " buckets");
+        }
+        for (int shard : assignment) {
+            checkShard(shardCount, shard);
+        }
+        return assignment.clone();
+    }
+
+    public static void checkShard(final int shardCount, final int shard) {
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException(String.format("Invalid shard %d, %d shards configured", shard, shardCount));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+import br.com.hyperativa.service.application.config.ShardingConfig;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reloads the shard map, so bucket moves made by another instance are picked up.
+ */
+@Component
+public class ShardMapRefresher {
+    private final ShardMap shardMap;
+
+    private final ShardDirectory shardDirectory;
+
+    private final ShardingConfig shardingConfig;
+
+    public ShardMapRefresher(
+            final ShardMap shardMap,
+            final ShardDirectory shardDirectory,
+            final ShardingConfig shardingConfig
+    ) {
+        this.shardMap = shardMap;
+        this.shardDirectory = shardDirectory;
+        this.shardingConfig = shardingConfig;
+    }
+
+    @Scheduled(fixedDelayString = "${app.sharding.map-refresh-interval-ms:10000}")
+    public void refresh() {
+        if (!shardingConfig.isEnabled()) {
+            return;
+        }
+        final int[] assignment = shardDirectory.load();
+        if (assignment != null) {
+            shardMap.replace(assignment);
+        }
+    }
+}
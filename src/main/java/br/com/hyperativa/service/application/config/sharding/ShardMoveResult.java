@@ -0,0 +1,11 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+/**
+ * Outcome of moving a bucket range, see {@link ShardRebalancer#move}.
+ *
+ * @param copied  cards written to the target shard
+ * @param skipped cards already present on the target shard
+ * @param deleted cards removed from the source shards
+ */
+public record ShardMoveResult(int fromBucket, int toBucket, int targetShard, long copied, long skipped, long deleted) {
+}
@@ -0,0 +1,215 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+import br.com.hyperativa.service.application.config.ShardingConfig;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Moves a range of fingerprint buckets to another shard while the application keeps serving it.
+ * <p>
+ * Rows are copied in id order with plain JDBC (the encrypted card number is copied as stored), then the range is
+ * switched in the directory and the shard map. After one map refresh interval, so every instance writes to the
+ * target, rows created on the source in the meantime are copied as well and the range is deleted from the source,
+ * up to the last copied id. Rows still written to the source after that copy, by an instance late to refresh its map,
+ * are copied and deleted in further rounds; if they keep coming, the move fails and leaves them on the source.
+ * Cards keep their identifier, which still routes to the right shard; the numeric id is shard-local and changes.
+ * Until the catch-up copy, a card created on the source just before the switch can be missing on the target.
+ */
+@Component
+public class ShardRebalancer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String SELECT_BATCH = "SELECT id, card_number, card_number_hash, card_bucket, card_number_identifier, " +
+            "created_at, version, lot_id FROM card WHERE card_bucket BETWEEN ? AND ? AND id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_EXISTING = "SELECT card_number_hash FROM card WHERE card_number_hash IN (%s)";
+    private static final String INSERT = "INSERT INTO card (card_number, card_number_hash, card_bucket, card_number_identifier, " +
+            "created_at, version, lot_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_IDS = "SELECT id FROM card WHERE card_bucket BETWEEN ? AND ? AND id <= ? ORDER BY id LIMIT ?";
+    private static final String DELETE_UP_TO = "DELETE FROM card WHERE card_bucket BETWEEN ? AND ? AND id <= ?";
+    private static final String SELECT_AFTER = "SELECT id FROM card WHERE card_bucket BETWEEN ? AND ? AND id > ? LIMIT 1";
+    private static final int CATCH_UP_ROUNDS = 3;
+
+    private final ShardRoutingDataSource shardRoutingDataSource;
+
+    private final ShardMap shardMap;
+
+    private final ShardDirectory shardDirectory;
+
+    private final ShardingConfig shardingConfig;
+
+    public ShardRebalancer(
+            final ShardRoutingDataSource shardRoutingDataSource,
+            final ShardMap shardMap,
+            final ShardDirectory shardDirectory,
+            final ShardingConfig shardingConfig
+    ) {
+        this.shardRoutingDataSource = shardRoutingDataSource;
+        this.shardMap = shardMap;
+        this.shardDirectory = shardDirectory;
+        this.shardingConfig = shardingConfig;
+    }
+
+    /**
+     * Moves buckets {@code fromBucket} to {@code toBucket}, inclusive, to the target shard. One move at a time.
+     */
+    public synchronized ShardMoveResult move(final int fromBucket, final int toBucket, final int targetShard) {
+        try {
+            ShardMap.checkRange(fromBucket, toBucket);
+            ShardMap.checkShard(shardMap.getShardCount(), targetShard);
+        } catch (IllegalArgumentException e) {
+            throw new HyperativaBaseException(e.getMessage());
+        }
+
+        final int[] before = shardMap.snapshot();
+        final Set<Integer> sources = new TreeSet<>();
+        for (int bucket = fromBucket; bucket <= toBucket; bucket++) {
+            if (before[bucket] != targetShard) {
+                sources.add(before[bucket]);
+            }
+        }
+        LOGGER.info("Moving buckets {}-{} from shards {} to shard {}", fromBucket, toBucket, sources, targetShard);
+
+        final DataSource target = shardRoutingDataSource.shard(targetShard);
+        final List<Progress> progress = new ArrayList<>(sources.size());
+        for (int source : sources) {
+            final Progress copy = new Progress(shardRoutingDataSource.shard(source));
+            copy(copy, target, fromBucket, toBucket);
+            progress.add(copy);
+        }
+
+        shardDirectory.assign(fromBucket, toBucket, targetShard);
+        shardMap.assign(fromBucket, toBucket, targetShard);
+        awaitPropagation();
+
+        long copied = 0;
+        long skipped = 0;
+        long deleted = 0;
+        for (Progress copy : progress) {
+            deleted += catchUp(copy, target, fromBucket, toBucket);
+            copied += copy.copied;
+            skipped += copy.skipped;
+        }
+        LOGGER.info("Moved buckets {}-{} to shard {}: {} copied, {} already present, {} deleted",
+                fromBucket, toBucket, targetShard, copied, skipped, deleted);
+        return new ShardMoveResult(fromBucket, toBucket, targetShard, copied, skipped, deleted);
+    }
+
+    /**
+     * Copies the rows of the range after the last copied id, batch by batch, skipping fingerprints already present.
+     */
+    private void copy(final Progress progress, final DataSource target, final int fromBucket, final int toBucket) {
+        final JdbcTemplate sourceJdbc = new JdbcTemplate(progress.source);
+        final JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        final TransactionTemplate targetTransaction = new TransactionTemplate(new DataSourceTransactionManager(target));
+        final int batchSize = Math.max(1, shardingConfig.getRebalanceBatchSize());
+        List<CardRow> batch;
+        do {
+            batch = sourceJdbc.query(SELECT_BATCH, (resultSet, rowNum) -> new CardRow(
+                    resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getInt(4),
+                    resultSet.getString(5), resultSet.getTimestamp(6), resultSet.getInt(7),
+                    resultSet.getObject(8, Long.class)),
+                    fromBucket, toBucket, progress.lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            final List<CardRow> rows = batch;
+            final int inserted = targetTransaction.execute(status -> insertMissing(targetJdbc, rows));
+            progress.copied += inserted;
+            progress.skipped += rows.size() - inserted;
+            progress.lastId = rows.get(rows.size() - 1).id();
+        } while (batch.size() == batchSize);
+    }
+
+    private int insertMissing(final JdbcTemplate targetJdbc, final List<CardRow> rows) {
+        final String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+        final Set<String> existing = new HashSet<>(targetJdbc.queryForList(String.format(SELECT_EXISTING, placeholders),
+                String.class, rows.stream().map(CardRow::cardNumberHash).toArray()));
+        final List<Object[]> missing = rows.stream()
+                .filter(row -> !existing.contains(row.cardNumberHash()))
+                .map(row -> new Object[]{row.cardNumber(), row.cardNumberHash(), row.cardBucket(),
+                        row.cardNumberIdentifier(), row.createdAt(), row.version(), row.lotId()})
+                .toList();
+        if (!missing.isEmpty()) {
+            targetJdbc.batchUpdate(INSERT, missing);
+        }
+        return missing.size();
+    }
+
+    /**
+     * Copies the rows written to the source since the last copy and deletes the copied ones, again while rows newer
+     * than the last copied id showed up meanwhile.
+     *
+     * @return number of rows deleted from the source
+     */
+    private long catchUp(final Progress progress, final DataSource target, final int fromBucket, final int toBucket) {
+        final JdbcTemplate sourceJdbc = new JdbcTemplate(progress.source);
+        long deleted = 0;
+        for (int round = 0; round < CATCH_UP_ROUNDS; round++) {
+            copy(progress, target, fromBucket, toBucket);
+            deleted += delete(progress.source, fromBucket, toBucket, progress.lastId);
+            if (sourceJdbc.queryForList(SELECT_AFTER, Long.class, fromBucket, toBucket, progress.lastId).isEmpty()) {
+                return deleted;
+            }
+            LOGGER.warn("Buckets {}-{} still received writes on their former shard after id {}",
+                    fromBucket, toBucket, progress.lastId);
+        }
+        throw new IllegalStateException(String.format("Buckets %d-%d still receive writes on their former shard after "
+                + "%d catch-up rounds; rows after id %d were left there", fromBucket, toBucket, CATCH_UP_ROUNDS,
+                progress.lastId));
+    }
+
+    /**
+     * Deletes the rows of the range up to {@code lastId}, the last one copied, batch by batch.
+     */
+    private long delete(final DataSource source, final int fromBucket, final int toBucket, final long lastId) {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+        final int batchSize = Math.max(1, shardingConfig.getRebalanceBatchSize());
+        long deleted = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(SELECT_IDS, Long.class, fromBucket, toBucket, lastId, batchSize);
+            if (!ids.isEmpty()) {
+                deleted += jdbcTemplate.update(DELETE_UP_TO, fromBucket, toBucket, ids.get(ids.size() - 1));
+            }
+        } while (ids.size() == batchSize);
+        return deleted;
+    }
+
+    private void awaitPropagation() {
+        try {
+            Thread.sleep(shardingConfig.getMapRefreshIntervalMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shard map to propagate", e);
+        }
+    }
+
+    private record CardRow(long id, String cardNumber, String cardNumberHash, int cardBucket,
+                           String cardNumberIdentifier, Timestamp createdAt, int version, Long lotId) {
+    }
+
+    private static final class Progress {
+        private final DataSource source;
+        private long lastId;
+        private long copied;
+        private long skipped;
+
+        private Progress(final DataSource source) {
+            this.source = source;
+        }
+    }
+}
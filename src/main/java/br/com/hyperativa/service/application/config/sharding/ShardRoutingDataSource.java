@@ -0,0 +1,37 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Hands out connections from the shard selected by {@link ShardContext}, shard 0 by default.
+ * Shard 0 is the pool routing datasource, owned by its own beans; the additional shard pools are closed here.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final Integer shard = ShardContext.current();
+        return shard != null ? shard : 0;
+    }
+
+    /**
+     * Datasource of one shard, for work that addresses shards explicitly such as rebalancing.
+     */
+    public DataSource shard(final int shard) {
+        final DataSource dataSource = getResolvedDataSources().get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard " + shard);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (var entry : getResolvedDataSources().entrySet()) {
+            if (!Integer.valueOf(0).equals(entry.getKey()) && entry.getValue() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.hyperativa.service.application.lot;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipFile;
+
+/**
+ * Keeps the content of lots being written in {@code app.lot.spool-directory}, one file per digest, so an
+ * interrupted lot can be parsed again and resumed from its checkpoint by any node.
+ * <p>
+ * Lots uploaded in pieces are assembled in the same directory, one part file per upload session, and moved under
+ * their digest once complete. A spooled lot is plain text or gzip, as uploaded; the lot files of a zip archive are
+ * spooled one by one, compressed again with gzip. Lots dropped in the inbox are hard linked in the spool when they
+ * share its file system.
+ */
+@Component
+public class LotSpool {
+    private static final String SUFFIX = ".lot";
+    private static final String PART_SUFFIX = ".part";
+    private static final String ARCHIVE_SUFFIX = ".zip";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LotConfig lotConfig;
+
+    public LotSpool(final LotConfig lotConfig) {
+        this.lotConfig = lotConfig;
+    }
+
+    /**
+     * Stores the file under its digest; written aside and moved in place, so a spooled file is always complete.
+     */
+    public void write(final String digest, final MultipartFile file) {
+        store(digest, temporary -> {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+    }
+
+    /**
+     * Stores a file on local disk under its digest as a hard link, so its content is not copied, or as a copy when the
+     * file is on another file system.
+     */
+    public void link(final String digest, final Path file) {
+        store(digest, temporary -> {
+            Files.delete(temporary);
+            try {
+                Files.createLink(temporary, file);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(file, temporary, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+    }
+
+    /**
+     * Stores a lot file of a zip archive under its digest, compressed with gzip, so it is never inflated to disk.
+     */
+    public void writeArchiveEntry(final String digest, final Path archive, final String entryName) {
+        store(digest, temporary -> {
+            try (ZipFile zip = new ZipFile(archive.toFile());
+                 InputStream in = zip.getInputStream(zip.getEntry(entryName));
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE) {
+                     {
+                         def.setLevel(Deflater.BEST_SPEED);
+                     }
+                 }) {
+                in.transferTo(out);
+            }
+        });
+    }
+
+    /**
+     * Copies an uploaded archive into the spool directory, where its files can be read in any order; the copy is
+     * removed with {@link #unstage}.
+     */
+    public Path stage(final MultipartFile archive) {
+        try {
+            final Path directory = Files.createDirectories(Path.of(lotConfig.getSpoolDirectory()));
+            final Path staged = Files.createTempFile(directory, "archive", ARCHIVE_SUFFIX);
+            try (InputStream in = archive.getInputStream()) {
+                Files.copy(in, staged, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return staged;
+        } catch (IOException e) {
+            throw new FileUploadException("Lot spool write error: " + e.getMessage(), e);
+        }
+    }
+
+    public void unstage(final Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+        } catch (IOException e) {
+            throw new FileUploadException("Lot spool delete error: " + e.getMessage(), e);
+        }
+    }
+
+    public MultipartFile open(final String digest) {
+        final Path path = path(digest);
+        try {
+            return new SpooledMultipartFile(path, Files.size(path));
+        } catch (NoSuchFileException e) {
+            throw new FileUploadException("Lot " + digest + " is not spooled", e);
+        } catch (IOException e) {
+            throw new FileUploadException("Lot spool read error: " + e.getMessage(), e);
+        }
+    }
+
+    public void delete(final String digest) {
+        try {
+            Files.deleteIfExists(path(digest));
+        } catch (IOException e) {
+            throw new FileUploadException("Lot spool delete error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes {@code content[offset, offset + length)} at {@code position} of the part file of an upload session with
+     * a positional write and forces it to disk, so an offset recorded as received afterwards never covers lost bytes.
+     */
+    public void writePart(final Long sessionId, final long position, final byte[] content, final int offset,
+                          final int length) {
+        final Path target = partPath(sessionId);
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(content, offset, length);
+                long at = position;
+                while (buffer.hasRemaining()) {
+                    at += channel.write(buffer, at);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new FileUploadException("Upload session write error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * First {@code size} bytes of the part file of an upload session, i.e. the bytes recorded as received.
+     */
+    public MultipartFile openPart(final Long sessionId, final long size) {
+        final Path path = partPath(sessionId);
+        if (!Files.exists(path)) {
+            throw new FileUploadException("Upload session " + sessionId + " has no content");
+        }
+        return new SpooledMultipartFile(path, size);
+    }
+
+    /**
+     * Moves the part file of a complete upload session under the digest of its content.
+     */
+    public void adopt(final Long sessionId, final String digest) {
+        try {
+            Files.move(partPath(sessionId), path(digest),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            throw new FileUploadException("Upload session " + sessionId + " has no content", e);
+        } catch (IOException e) {
+            throw new FileUploadException("Lot spool write error: " + e.getMessage(), e);
+        }
+    }
+
+    public void deletePart(final Long sessionId) {
+        try {
+            Files.deleteIfExists(partPath(sessionId));
+        } catch (IOException e) {
+            throw new FileUploadException("Upload session delete error: " + e.getMessage(), e);
+        }
+    }
+
+    private Path partPath(final Long sessionId) {
+        return Path.of(lotConfig.getSpoolDirectory()).resolve("session-" + sessionId + PART_SUFFIX);
+    }
+
+    /**
+     * Writes the content into a temporary file handed to {@code writer}, then moves it under the digest, so a spooled
+     * file is always complete.
+     */
+    private void store(final String digest, final SpoolWriter writer) {
+        final Path target = path(digest);
+        try {
+            Files.createDirectories(target.getParent());
+            final Path temporary = Files.createTempFile(target.getParent(), digest, ".tmp");
+            try {
+                writer.write(temporary);
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new FileUploadException("Lot spool write error: " + e.getMessage(), e);
+        }
+    }
+
+    private Path path(final String digest) {
+        return Path.of(lotConfig.getSpoolDirectory()).resolve(digest + SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface SpoolWriter {
+        void write(Path temporary) throws IOException;
+    }
+}
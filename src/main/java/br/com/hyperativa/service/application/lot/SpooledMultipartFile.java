@@ -0,0 +1,64 @@
+package br.com.hyperativa.service.application.lot;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Read-only {@link MultipartFile} over a lot on local disk, spooled or dropped in the inbox, used to feed it to the
+ * processor.
+ */
+public class SpooledMultipartFile implements MultipartFile {
+    private final Path path;
+    private final long size;
+
+    public SpooledMultipartFile(final Path path, final long size) {
+        this.path = path;
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return path.getFileName().toString();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return getName();
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/plain";
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(final File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.hyperativa.service.application.metrics;
+
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation for the card pipeline phases.
+ * Every phase is timed under {@value #OPS_DURATION} and counted under {@value #OPS_RECORDS},
+ * both tagged by {@code phase} and {@code outcome}.
+ */
+@Component
+public class PipelineMetrics {
+    public static final String OPS_DURATION = "hyperativa_internal_ops_duration";
+    public static final String OPS_RECORDS = "hyperativa_internal_ops_records";
+    public static final String LOT_SIZE = "hyperativa_lot_size";
+    public static final String BATCH_CHUNK_SIZE = "hyperativa_batch_chunk_size";
+    public static final String GROUP_COMMIT_BATCH_SIZE = "hyperativa_group_commit_batch_size";
+    public static final String GROUP_COMMIT_WAIT = "hyperativa_group_commit_wait";
+    public static final String GROUP_COMMIT_FALLBACKS = "hyperativa_group_commit_fallbacks";
+    public static final String CARD_REJECTS = "hyperativa_card_rejects";
+    private static final String PHASE_TAG = "phase";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String REASON_TAG = "reason";
+
+    private final MeterRegistry registry;
+    private final Timer[][] timers = new Timer[PipelinePhase.values().length][PipelineOutcome.values().length];
+    private final Counter[][] counters = new Counter[PipelinePhase.values().length][PipelineOutcome.values().length];
+    private final DistributionSummary lotSize;
+    private final DistributionSummary batchChunkSize;
+    private final DistributionSummary groupCommitBatchSize;
+    private final Timer groupCommitWait;
+    private final Counter groupCommitFallbacks;
+    private final Counter[] cardRejects = new Counter[CardRejectReason.values().length];
+
+    public PipelineMetrics(final MeterRegistry registry) {
+        this.registry = registry;
+        this.lotSize = DistributionSummary.builder(LOT_SIZE)
+                .description("Number of card records parsed from a lot file")
+                .baseUnit("records")
+                .register(registry);
+        this.batchChunkSize = DistributionSummary.builder(BATCH_CHUNK_SIZE)
+                .description("Number of cards written in a single batch chunk")
+                .baseUnit("records")
+                .register(registry);
+        this.groupCommitBatchSize = DistributionSummary.builder(GROUP_COMMIT_BATCH_SIZE)
+                .description("Number of single-card creates coalesced into one commit")
+                .baseUnit("records")
+                .register(registry);
+        this.groupCommitWait = Timer.builder(GROUP_COMMIT_WAIT)
+                .description("Time a single-card create waited to be coalesced")
+                .register(registry);
+        this.groupCommitFallbacks = Counter.builder(GROUP_COMMIT_FALLBACKS)
+                .description("Single-card creates written individually after a failed or skipped group commit")
+                .baseUnit("records")
+                .register(registry);
+        for (CardRejectReason reason : CardRejectReason.values()) {
+            cardRejects[reason.ordinal()] = Counter.builder(CARD_REJECTS)
+                    .description("Card numbers rejected by validation")
+                    .baseUnit("records")
+                    .tag(REASON_TAG, reason.tag())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Times the given operation, tagging it as success or error depending on whether it throws.
+     */
+    public <T> T record(final PipelinePhase phase, final Supplier<T> operation) {
+        final long start = System.nanoTime();
+        try {
+            final T result = operation.get();
+            recordDuration(phase, PipelineOutcome.SUCCESS, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            recordDuration(phase, PipelineOutcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    public void record(final PipelinePhase phase, final Runnable operation) {
+        record(phase, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public void recordDuration(final PipelinePhase phase, final PipelineOutcome outcome, final long nanos) {
+        timer(phase, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void count(final PipelinePhase phase, final PipelineOutcome outcome, final long amount) {
+        if (amount > 0) {
+            counter(phase, outcome).increment(amount);
+        }
+    }
+
+    public void recordLotSize(final long records) {
+        lotSize.record(records);
+    }
+
+    public void recordBatchChunkSize(final int records) {
+        batchChunkSize.record(records);
+    }
+
+    public void countRejected(final CardRejectReason reason, final long amount) {
+        if (amount > 0) {
+            cardRejects[reason.ordinal()].increment(amount);
+        }
+    }
+
+    public void recordGroupCommit(final int records) {
+        groupCommitBatchSize.record(records);
+    }
+
+    public void recordGroupCommitWait(final long nanos) {
+        groupCommitWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countGroupCommitFallbacks(final int records) {
+        groupCommitFallbacks.increment(records);
+    }
+
+    private Timer timer(final PipelinePhase phase, final PipelineOutcome outcome) {
+        Timer timer = timers[phase.ordinal()][outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(OPS_DURATION)
+                    .description("Duration of card pipeline phases")
+                    .tag(PHASE_TAG, phase.tag())
+                    .tag(OUTCOME_TAG, outcome.tag())
+                    .register(registry);
+            timers[phase.ordinal()][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+
+    private Counter counter(final PipelinePhase phase, final PipelineOutcome outcome) {
+        Counter counter = counters[phase.ordinal()][outcome.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder(OPS_RECORDS)
+                    .description("Records handled by card pipeline phases")
+                    .tag(PHASE_TAG, phase.tag())
+                    .tag(OUTCOME_TAG, outcome.tag())
+                    .register(registry);
+            counters[phase.ordinal()][outcome.ordinal()] = counter;
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.hyperativa.service.application.metrics;
+
+/**
+ * Result of a pipeline phase, used as the {@code outcome} tag.
+ */
+public enum PipelineOutcome {
+    SUCCESS("success"),
+    ERROR("error"),
+    NOT_FOUND("not_found"),
+    VALID("valid"),
+    INVALID("invalid"),
+    DUPLICATE("duplicate");
+
+    private final String tag;
+
+    PipelineOutcome(final String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.hyperativa.service.application.metrics;
+
+/**
+ * Stages of the card ingestion and lookup pipeline, used as the {@code phase} tag.
+ */
+public enum PipelinePhase {
+    FILE_PARSE("file_parse"),
+    VALIDATION("validation"),
+    FINGERPRINT("fingerprint"),
+    ENCRYPT("encrypt"),
+    DECRYPT("decrypt"),
+    DB_WRITE("db_write"),
+    DB_LOOKUP("db_lookup"),
+    JWT_VERIFY("jwt_verify"),
+    EXPORT("export");
+
+    private final String tag;
+
+    PipelinePhase(final String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.hyperativa.service.application.util;
+
+import br.com.hyperativa.service.domain.entity.dto.BinInfo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable BIN range index: ranges are widened to 8-digit prefixes and kept sorted in two {@code int} arrays, so a
+ * lookup is one binary search and returns a shared {@link BinInfo} without allocating.
+ * <p>
+ * The text format has one range per line, {@code from,to,brand,issuer}, with bounds given as digit strings of the
+ * same length (1 to 8 digits, e.g. {@code 51,55,MASTERCARD,} or {@code 45689700,45689799,VISA,Example Bank});
+ * blank lines and lines starting with {@code #} are ignored. Ranges must not overlap.
+ */
+public final class BinTable {
+    public static final int BIN_DIGITS = 8;
+    public static final BinTable EMPTY = new BinTable(new int[0], new int[0], new BinInfo[0]);
+
+    private final int[] lows;
+
+    private final int[] highs;
+
+    private final BinInfo[] infos;
+
+    private BinTable(final int[] lows, final int[] highs, final BinInfo[] infos) {
+        this.lows = lows;
+        this.highs = highs;
+        this.infos = infos;
+    }
+
+    public static BinTable parse(final BufferedReader reader) throws IOException {
+        final List<Entry> entries = new ArrayList<>();
+        final Map<BinInfo, BinInfo> distinct = new HashMap<>();
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            final String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            final String[] fields = trimmed.split(",", -1);
+            if (fields.length != 4) {
+                throw new IllegalArgumentException(String.format(
+                        "BIN table line %d must have 4 fields (from,to,brand,issuer), got %d", number, fields.length));
+            }
+            final int[] range = range(fields[0].strip(), fields[1].strip());
+            final BinInfo info = new BinInfo(emptyToNull(fields[2]), emptyToNull(fields[3]));
+            entries.add(new Entry(range[0], range[1], distinct.computeIfAbsent(info, key -> key)));
+        }
+        entries.sort(Comparator.comparingInt(Entry::low));
+
+        final int[] lows = new int[entries.size()];
+        final int[] highs = new int[entries.size()];
+        final BinInfo[] infos = new BinInfo[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            if (i > 0 && entry.low() <= highs[i - 1]) {
+                throw new IllegalArgumentException(String.format("BIN ranges %08d-%08d and %08d-%08d overlap",
+                        lows[i - 1], highs[i - 1], entry.low(), entry.high()));
+            }
+            lows[i] = entry.low();
+            highs[i] = entry.high();
+            infos[i] = entry.info();
+        }
+        return new BinTable(lows, highs, infos);
+    }
+
+    /**
+     * Range of 8-digit prefixes covered by the given bounds, as {@code {low, high}}.
+     */
+    public static int[] range(final String from, final String to) {
+        if (from == null || to == null || from.isEmpty() || from.length() != to.length() || from.length() > BIN_DIGITS
+                || !isDigits(from) || !isDigits(to) || from.compareTo(to) > 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid BIN range %s-%s, bounds must be ordered digit strings of the same length (1 to %d)",
+                    from, to, BIN_DIGITS));
+        }
+        int scale = 1;
+        for (int i = from.length(); i < BIN_DIGITS; i++) {
+            scale *= 10;
+        }
+        return new int[]{Integer.parseInt(from) * scale, Integer.parseInt(to) * scale + scale - 1};
+    }
+
+    /**
+     * Brand and issuer of the card number, or null when its prefix is in no range or it is not a card number.
+     */
+    public BinInfo find(final CharSequence cardNumber) {
+        if (cardNumber == null || cardNumber.length() < BIN_DIGITS) {
+            return null;
+        }
+        int bin = 0;
+        for (int i = 0; i < BIN_DIGITS; i++) {
+            final int digit = cardNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            bin = bin * 10 + digit;
+        }
+        return find(bin);
+    }
+
+    /**
+     * Brand and issuer of the 8-digit prefix, or null when it is in no range.
+     */
+    public BinInfo find(final int bin) {
+        final int index = Arrays.binarySearch(lows, bin);
+        if (index >= 0) {
+            return infos[index];
+        }
+        final int below = -index - 2;
+        return below >= 0 && bin <= highs[below] ? infos[below] : null;
+    }
+
+    public int size() {
+        return lows.length;
+    }
+
+    private static boolean isDigits(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String emptyToNull(final String value) {
+        final String stripped = value.strip();
+        return stripped.isEmpty() ? null : stripped;
+    }
+
+    private record Entry(int low, int high, BinInfo info) {}
+}
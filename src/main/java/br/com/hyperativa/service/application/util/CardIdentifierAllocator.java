@@ -0,0 +1,119 @@
+package br.com.hyperativa.service.application.util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility class allocating card identifiers: 26-character ULIDs that are monotonic per node and per thread.
+ * <p>
+ * A random ULID is time-ordered only to the millisecond; inside a millisecond consecutive inserts land on random
+ * pages of the {@code card_number_identifier} index. Here the 80 bits after the timestamp are laid out as
+ * <pre>
+ * node (10) | lane (8) | sequence (52) | bucket (10)
+ * </pre>
+ * so each thread appends to its own run of the index. The sequence starts at a secure random value every
+ * millisecond and grows by a random step, which keeps identifiers unguessable; the bucket is the shard key, see
+ * {@link CardShardKey}.
+ * <p>
+ * Each thread is bound to one of 256 lanes; lanes are only shared, and then synchronized on, past 256 threads.
+ * Identifiers are unique per node; give every instance its own {@code app.identifier.node-id}, otherwise a random
+ * node is used.
+ */
+public class CardIdentifierAllocator {
+    public static final int NODE_BITS = 10;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int LENGTH = 26;
+    private static final int TIMESTAMP_BITS = 48;
+    private static final int LANE_BITS = 8;
+    private static final int LANES = 1 << LANE_BITS;
+    private static final int SEQUENCE_BITS = 52;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int SEED_SHIFT = Long.SIZE - SEQUENCE_BITS + 1;
+    private static final int MAX_STEP = 1 << 20;
+    private static final int BUCKET_BITS = 10;
+
+    private static final Lane[] LANE_STATES = new Lane[LANES];
+    private static final AtomicInteger NEXT_LANE = new AtomicInteger();
+    private static final ThreadLocal<Lane> THREAD_LANE = ThreadLocal.withInitial(
+            () -> LANE_STATES[NEXT_LANE.getAndIncrement() & (LANES - 1)]);
+
+    private static volatile int node = new SecureRandom().nextInt(1 << NODE_BITS);
+
+    static {
+        for (int i = 0; i < LANES; i++) {
+            LANE_STATES[i] = new Lane(i);
+        }
+    }
+
+    private CardIdentifierAllocator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void useNode(final int nodeId) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + ((1 << NODE_BITS) - 1));
+        }
+        node = nodeId;
+    }
+
+    public static int node() {
+        return node;
+    }
+
+    /**
+     * Next identifier of the current thread, carrying the given shard bucket.
+     */
+    public static String next(final int bucket) {
+        final Lane lane = THREAD_LANE.get();
+        final long millis;
+        final long sequence;
+        synchronized (lane) {
+            lane.advance(System.currentTimeMillis());
+            millis = lane.millis;
+            sequence = lane.sequence;
+        }
+        final long high = millis << (Long.SIZE - TIMESTAMP_BITS) | (long) node << LANE_BITS - 2 | lane.id >>> 2;
+        final long low = (long) lane.id << (Long.SIZE - 2) | sequence << BUCKET_BITS | bucket & (1 << BUCKET_BITS) - 1;
+        return encode(high, low);
+    }
+
+    private static String encode(long high, long low) {
+        final char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (low & 0x1F)];
+            low = low >>> 5 | high << (Long.SIZE - 5);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static final class Lane {
+        private final int id;
+        private final SecureRandom random = new SecureRandom();
+        private long millis;
+        private long sequence;
+
+        private Lane(final int id) {
+            this.id = id;
+        }
+
+        /**
+         * Moves to the next sequence; a clock going backwards keeps the last millisecond, an exhausted
+         * millisecond borrows the next one.
+         */
+        private void advance(final long now) {
+            if (now > millis) {
+                millis = now;
+                sequence = random.nextLong() >>> SEED_SHIFT;
+                return;
+            }
+            sequence += 1 + ThreadLocalRandom.current().nextInt(MAX_STEP);
+            if (sequence > SEQUENCE_MASK) {
+                millis++;
+                sequence = random.nextLong() >>> SEED_SHIFT;
+            }
+        }
+    }
+}
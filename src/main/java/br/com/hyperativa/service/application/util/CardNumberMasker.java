@@ -0,0 +1,56 @@
+package br.com.hyperativa.service.application.util;
+
+/**
+ * Utility class for masking card numbers (PAN) inside free text.
+ * Any run of 13 or more digits keeps its first 6 and last 4 digits, the rest is replaced by '*'.
+ */
+public class CardNumberMasker {
+    private static final int MIN_PAN_LENGTH = 13;
+    private static final int VISIBLE_PREFIX = 6;
+    private static final int VISIBLE_SUFFIX = 4;
+    private static final char MASK_CHAR = '*';
+
+    private CardNumberMasker() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Masks every card-number-like digit run in the given text.
+     *
+     * @param text the text to mask
+     * @return the masked text, or the same instance when nothing had to be masked
+     */
+    public static String mask(final String text) {
+        if (text == null || text.length() < MIN_PAN_LENGTH) {
+            return text;
+        }
+
+        StringBuilder masked = null;
+        int runStart = -1;
+        final int length = text.length();
+
+        for (int i = 0; i <= length; i++) {
+            final boolean digit = i < length && Character.isDigit(text.charAt(i));
+            if (digit) {
+                if (runStart < 0) {
+                    runStart = i;
+                }
+                continue;
+            }
+
+            if (runStart >= 0) {
+                if (i - runStart >= MIN_PAN_LENGTH) {
+                    if (masked == null) {
+                        masked = new StringBuilder(text);
+                    }
+                    for (int j = runStart + VISIBLE_PREFIX; j < i - VISIBLE_SUFFIX; j++) {
+                        masked.setCharAt(j, MASK_CHAR);
+                    }
+                }
+                runStart = -1;
+            }
+        }
+
+        return masked == null ? text : masked.toString();
+    }
+}
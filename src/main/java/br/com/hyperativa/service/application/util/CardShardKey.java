@@ -0,0 +1,52 @@
+package br.com.hyperativa.service.application.util;
+
+/**
+ * Utility class for the card shard key.
+ * <p>
+ * Every card belongs to one of {@link #BUCKETS} buckets, taken from the first 10 bits of its fingerprint
+ * ({@code card.card_number_hash}). The bucket is also written into the last two Crockford base32 characters of the
+ * card identifier, so a lookup by identifier finds the bucket, and therefore the shard, without a directory query.
+ */
+public class CardShardKey {
+    public static final int BUCKETS = 1024;
+
+    private static final String CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int FINGERPRINT_HEX_DIGITS = 3;
+    private static final int FINGERPRINT_SHIFT = 2;
+    private static final int BASE32_BITS = 5;
+    private static final int BASE32_MASK = 0x1F;
+
+    private CardShardKey() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Bucket of a lowercase hex SHA-256 fingerprint, see {@link HashUtil#sha256Hex}.
+     */
+    public static int bucketOfFingerprint(final String fingerprint) {
+        return Integer.parseInt(fingerprint, 0, FINGERPRINT_HEX_DIGITS, 16) >>> FINGERPRINT_SHIFT;
+    }
+
+    /**
+     * Bucket written in a card identifier, or -1 when the identifier is not a ULID.
+     * Identifiers created before sharding decode to an arbitrary bucket; callers fall back to the other shards.
+     */
+    public static int bucketOfIdentifier(final String identifier) {
+        if (identifier == null || identifier.length() < 2) {
+            return -1;
+        }
+        final int high = CROCKFORD.indexOf(Character.toUpperCase(identifier.charAt(identifier.length() - 2)));
+        final int low = CROCKFORD.indexOf(Character.toUpperCase(identifier.charAt(identifier.length() - 1)));
+        return high < 0 || low < 0 ? -1 : high << BASE32_BITS | low;
+    }
+
+    /**
+     * Replaces the last two characters of a ULID with the bucket; 70 random bits remain.
+     */
+    public static String withBucket(final String identifier, final int bucket) {
+        final char[] chars = identifier.toCharArray();
+        chars[chars.length - 2] = CROCKFORD.charAt(bucket >>> BASE32_BITS & BASE32_MASK);
+        chars[chars.length - 1] = CROCKFORD.charAt(bucket & BASE32_MASK);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.hyperativa.service.application.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for the SHA-256 card number fingerprint.
+ * The fingerprint is stored in {@code card.card_number_hash} and allows lookups without decryption.
+ */
+public class HashUtil {
+    private static final String ALGORITHM = "SHA-256";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private HashUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Generates the lowercase hex SHA-256 hash of the given value.
+     *
+     * @param value the value to hash
+     * @return 64-character hex string
+     */
+    public static String sha256Hex(final String value) {
+        return HEX.formatHex(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static byte[] sha256(final byte[] value) {
+        return sha256Digest().digest(value);
+    }
+
+    /**
+     * New SHA-256 digest, for content hashed in several parts.
+     */
+    public static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to generate hash", e);
+        }
+    }
+
+    public static String hex(final byte[] value) {
+        return HEX.formatHex(value);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.hyperativa.service.application.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of non-negative {@code long}s with open addressing and linear probing, about 11 to 21 bytes per entry and
+ * no object per entry. Not thread-safe.
+ */
+public class LongOpenHashSet {
+    private static final long EMPTY = -1L;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    public LongOpenHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongOpenHashSet(final int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds the key, returning false when it was already present.
+     */
+    public boolean add(final long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Only non-negative keys are supported");
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > threshold) {
+            grow();
+        }
+        return true;
+    }
+
+    public boolean contains(final long key) {
+        if (key < 0) {
+            return false;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+
+    private void grow() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("LongOpenHashSet is full");
+        }
+        final long[] previous = keys;
+        allocate(previous.length << 1);
+        for (long key : previous) {
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        final long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) LOAD_FACTOR);
+        return (int) Math.min(MAX_CAPACITY, Math.max(MIN_CAPACITY, Long.highestOneBit(needed - 1) << 1));
+    }
+}
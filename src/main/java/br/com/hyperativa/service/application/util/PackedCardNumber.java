@@ -0,0 +1,61 @@
+package br.com.hyperativa.service.application.util;
+
+/**
+ * Utility class packing a 16-digit card number into a {@code long}.
+ * <p>
+ * 16 decimal digits need 54 bits, so a packed card number is always non-negative and {@link #INVALID} can mark
+ * anything that is not exactly 16 ASCII digits. Leading zeros are restored by {@link #unpack}.
+ */
+public class PackedCardNumber {
+    public static final long INVALID = -1L;
+    public static final int LENGTH = 16;
+
+    private PackedCardNumber() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Packs {@code bytes[from, to)}, or returns {@link #INVALID} unless it holds exactly 16 ASCII digits.
+     */
+    public static long pack(final byte[] bytes, final int from, final int to) {
+        if (to - from != LENGTH) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    public static long pack(final CharSequence cardNumber) {
+        if (cardNumber.length() != LENGTH) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            final int digit = cardNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * The 16-digit card number; the only place where a packed card becomes an object again.
+     */
+    public static String unpack(long packed) {
+        final char[] digits = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + packed % 10);
+            packed /= 10;
+        }
+        return new String(digits);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.hyperativa.service.application.warmup;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * Read-only {@link MultipartFile} over a byte array, used to feed synthetic lots to the processor.
+ */
+class InMemoryMultipartFile implements MultipartFile {
+    private final String name;
+    private final String contentType;
+    private final byte[] content;
+
+    InMemoryMultipartFile(final String name, final String contentType, final byte[] content) {
+        this.name = name;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return name;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return content.length == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return content.length;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return content.clone();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public void transferTo(final File dest) throws IOException {
+        Files.write(dest.toPath(), content);
+    }
+}
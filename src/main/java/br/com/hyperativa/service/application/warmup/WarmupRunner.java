@@ -0,0 +1,146 @@
+package br.com.hyperativa.service.application.warmup;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.config.EncryptionConfig;
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.config.WarmupConfig;
+import br.com.hyperativa.service.application.config.security.jwt.JwtUtil;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.util.EncryptionUtil;
+import br.com.hyperativa.service.application.util.HashUtil;
+import br.com.hyperativa.service.application.web.controller.request.CardRequest;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.azam.ulidj.ULID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the hot request paths (lot parsing, AES-GCM, SHA-256 fingerprint, JWT and JSON) with synthetic
+ * data so they are compiled by the JIT before the first real request arrives.
+ * <p>
+ * Application runners execute before the {@code ApplicationReadyEvent}, which is what switches the readiness
+ * state to {@code ACCEPTING_TRAFFIC}: {@code /healthcheck/readiness} stays down until the warm-up is over.
+ * A failing warm-up is logged and never prevents the application from starting.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final String WARMUP_USERNAME = "warmup";
+    private static final DateTimeFormatter LOT_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    /**
+     * Largest record count the 6 digits of a lot header and footer can declare.
+     */
+    private static final int MAX_LOT_LINES = 999_999;
+
+    private final WarmupConfig warmupConfig;
+
+    private final FileUploadConfig fileUploadConfig;
+
+    private final EncryptionConfig encryptionConfig;
+
+    private final JwtUtil jwtUtil;
+
+    private final ObjectMapper objectMapper;
+
+    public WarmupRunner(
+            final WarmupConfig warmupConfig,
+            final FileUploadConfig fileUploadConfig,
+            final EncryptionConfig encryptionConfig,
+            final JwtUtil jwtUtil,
+            final ObjectMapper objectMapper
+    ) {
+        this.warmupConfig = warmupConfig;
+        this.fileUploadConfig = fileUploadConfig;
+        this.encryptionConfig = encryptionConfig;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (!warmupConfig.isEnabled()) {
+            LOGGER.info("JIT warm-up disabled");
+            return;
+        }
+
+        // A dedicated registry keeps the synthetic lots out of the exported pipeline metrics, default rules keep
+        // the synthetic card numbers valid whatever BIN ranges are configured.
+        final PackedCardTxtProcessor processor = new PackedCardTxtProcessor(fileUploadConfig,
+                new PipelineMetrics(new SimpleMeterRegistry()), new CardNumberValidator(new CardValidationConfig()));
+        if (warmupConfig.getLotLines() > MAX_LOT_LINES) {
+            LOGGER.warn("app.warmup.lot-lines {} exceeds the {} records a lot can declare, using {}",
+                    warmupConfig.getLotLines(), MAX_LOT_LINES, MAX_LOT_LINES);
+        }
+        final MultipartFile lot = syntheticLot(Math.min(MAX_LOT_LINES, Math.max(1, warmupConfig.getLotLines())));
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(warmupConfig.getTimeBudgetMs());
+
+        int completed = 0;
+        try {
+            while (completed < warmupConfig.getIterations() && System.nanoTime() < deadline) {
+                iteration(processor, lot);
+                completed++;
+            }
+            LOGGER.info("JIT warm-up finished {} of {} iterations in {} ms", completed, warmupConfig.getIterations(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            LOGGER.warn("JIT warm-up aborted after {} iterations", completed, e);
+        }
+    }
+
+    private void iteration(final PackedCardTxtProcessor processor, final MultipartFile lot) throws IOException {
+        final PackedCardNumbers cards = processor.process(lot).cards();
+        final int operations = Math.max(1, warmupConfig.getOperationsPerIteration());
+        final String encryptionKey = encryptionConfig.getEncryptionKey();
+        final List<CardGetDTO> page = new ArrayList<>(operations);
+
+        for (int i = 0; i < operations; i++) {
+            final String cardNumber = cards.cardNumber(i % cards.size());
+            final String encrypted = EncryptionUtil.encrypt(cardNumber, encryptionKey);
+            if (!cardNumber.equals(EncryptionUtil.decrypt(encrypted, encryptionKey))) {
+                throw new IllegalStateException("Encryption round trip mismatch");
+            }
+            HashUtil.sha256Hex(cardNumber);
+
+            final String token = jwtUtil.generateToken(WARMUP_USERNAME);
+            if (!jwtUtil.validateJwtToken(token) || !WARMUP_USERNAME.equals(jwtUtil.getUsernameFromToken(token))) {
+                throw new IllegalStateException("JWT round trip mismatch");
+            }
+
+            final byte[] request = objectMapper.writeValueAsBytes(new CardRequest(cardNumber));
+            objectMapper.readValue(request, CardRequest.class);
+            page.add(new CardGetDTO((long) i, ULID.random()));
+        }
+
+        objectMapper.writeValueAsBytes(page);
+    }
+
+    private static MultipartFile syntheticLot(final int lines) {
+        final StringBuilder content = new StringBuilder(lines * 28 + 128);
+        content.append(String.format("%-29s%s%s%06d\n", "DESAFIO-HYPERATIVA",
+                LocalDate.now().format(LOT_DATE), "LOTE0001", lines));
+        for (int i = 1; i <= lines; i++) {
+            content.append(String.format("%-7s4%015d\n", "C" + i, i));
+        }
+        content.append(String.format("LOTE0001%06d\n", lines));
+        return new InMemoryMultipartFile("warmup.txt", "text/plain",
+                content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
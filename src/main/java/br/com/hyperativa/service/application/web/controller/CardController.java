@@ -1,10 +1,31 @@
 package br.com.hyperativa.service.application.web.controller;
 
+import br.com.hyperativa.service.application.config.ExportConfig;
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.config.WebConfig;
+import br.com.hyperativa.service.application.web.controller.request.CardLookupRequest;
 import br.com.hyperativa.service.application.web.controller.request.CardRequest;
+import br.com.hyperativa.service.application.web.controller.request.UploadSessionRequest;
+import br.com.hyperativa.service.application.web.controller.response.CardBulkCreateResponse;
+import br.com.hyperativa.service.application.web.controller.response.CardLookupResponse;
+import br.com.hyperativa.service.application.web.controller.response.CardPageResponse;
 import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
 import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
-import br.com.hyperativa.service.domain.processor.Processor;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.entity.dto.LotArchiveGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionGetDTO;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.processor.LotFileFormat;
+import br.com.hyperativa.service.domain.services.CardBulkCreateService;
 import br.com.hyperativa.service.domain.services.CardService;
+import br.com.hyperativa.service.domain.services.LotService;
+import br.com.hyperativa.service.domain.services.UploadSessionService;
+import br.com.hyperativa.service.domain.services.impl.CardCreateCoalescer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,6 +34,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,9 +43,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 
 /**
  * REST controller for card management operations.
@@ -34,16 +59,46 @@ import java.util.List;
 @Tag(name = "Card Management", description = "Endpoints for secure card number storage and retrieval")
 @SecurityRequirement(name = "Bearer Authentication")
 public class CardController {
+    public static final String CHUNK_CHECKSUM_HEADER = "X-Chunk-SHA256";
+
     private final CardService cardService;
 
-    private final Processor<MultipartFile, List<CardCreateDTO>> processor;
+    private final CardBulkCreateService cardBulkCreateService;
+
+    private final CardCreateCoalescer cardCreateCoalescer;
+
+    private final LotService lotService;
+
+    private final UploadSessionService uploadSessionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExportConfig exportConfig;
+
+    private final LotConfig lotConfig;
+
+    private final CardNumberValidator cardNumberValidator;
 
     public CardController(
             final CardService cardService,
-            final Processor<MultipartFile, List<CardCreateDTO>> processor
+            final CardBulkCreateService cardBulkCreateService,
+            final CardCreateCoalescer cardCreateCoalescer,
+            final LotService lotService,
+            final UploadSessionService uploadSessionService,
+            final ObjectMapper objectMapper,
+            final ExportConfig exportConfig,
+            final LotConfig lotConfig,
+            final CardNumberValidator cardNumberValidator
     ) {
         this.cardService = cardService;
-        this.processor = processor;
+        this.cardBulkCreateService = cardBulkCreateService;
+        this.cardCreateCoalescer = cardCreateCoalescer;
+        this.lotService = lotService;
+        this.uploadSessionService = uploadSessionService;
+        this.objectMapper = objectMapper;
+        this.exportConfig = exportConfig;
+        this.lotConfig = lotConfig;
+        this.cardNumberValidator = cardNumberValidator;
     }
 
     @Operation(summary = "Create a new card", description = "Stores a single card number securely with encryption")
@@ -55,22 +110,153 @@ public class CardController {
     })
     @PostMapping("/create")
     public ResponseEntity<CardGetDTO> addCard(@RequestBody @Valid final CardRequest request) {
-        final CardGetDTO card = cardService.createCard(new CardCreateDTO(request.cardNumber()));
+        final CardRejectReason reason = cardNumberValidator.rejectReason(request.cardNumber());
+        if (reason != null) {
+            throw new HyperativaBaseException("Invalid card number: " + reason.tag());
+        }
+        final CardGetDTO card = cardCreateCoalescer.create(new CardCreateDTO(request.cardNumber()));
         return ResponseEntity.status(HttpStatus.CREATED).body(card);
     }
 
-    @Operation(summary = "Upload cards from file", description = "Batch upload card numbers from a TXT file following the specified format")
+    @Operation(summary = "Create cards in bulk", description = "Stores a JSON array of card numbers or {\"cardNumber\": ...} objects, read incrementally and written in chunks")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "202", description = "File accepted and processing started"),
+            @ApiResponse(responseCode = "200", description = "Array processed, see the status of every element",
+                    content = @Content(schema = @Schema(implementation = CardBulkCreateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Body is not a JSON array or exceeds the maximum size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CardBulkCreateResponse> createCards(final InputStream body) {
+        return ResponseEntity.ok(CardBulkCreateResponse.from(cardBulkCreateService.createCards(body)));
+    }
+
+    @Operation(summary = "Upload cards from file", description = "Batch upload card numbers from a TXT file following the specified format, plain, gzip compressed, or several in a zip archive")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Lot queued for processing, see its counts and reconciliation; for a zip archive, the lot or error of every file",
+                    content = {@Content(schema = @Schema(implementation = LotGetDTO.class)),
+                            @Content(schema = @Schema(implementation = LotArchiveGetDTO.class))}),
+            @ApiResponse(responseCode = "200", description = "Same file already received, nothing written",
+                    content = @Content(schema = @Schema(implementation = LotGetDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid file format or content"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
     })
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Void> uploadCards(
-            @Parameter(description = "TXT file with card numbers in the specified format")
+    public ResponseEntity<?> uploadCards(
+            @Parameter(description = "TXT file with card numbers in the specified format, or a gzip or zip of them")
             @RequestParam("file") MultipartFile file) {
-        cardService.createCardsInBatch(processor.process(file));
-        return ResponseEntity.accepted().build();
+        if (LotFileFormat.of(file) == LotFileFormat.ZIP) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(lotService.ingestArchive(file));
+        }
+        final LotGetDTO lot = lotService.ingest(file);
+        return ResponseEntity.status(lot.resubmitted() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(lot);
+    }
+
+    @Operation(summary = "Get uploaded lot", description = "Status and progress of a lot received on /upload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lot found",
+                    content = @Content(schema = @Schema(implementation = LotGetDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Lot not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @GetMapping("/upload/{lotId}")
+    public ResponseEntity<LotGetDTO> getLot(
+            @Parameter(description = "Lot id returned by the upload")
+            @PathVariable final Long lotId) {
+        return ResponseEntity.ok(lotService.getLot(lotId));
+    }
+
+    @Operation(summary = "Open an upload session", description = "Starts a resumable upload of a lot file sent in pieces, for files above the /upload limit")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Session opened, send pieces from offset 0",
+                    content = @Content(schema = @Schema(implementation = UploadSessionGetDTO.class))),
+            @ApiResponse(responseCode = "400", description = "File size above app.lot.session.max-file-size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @PostMapping("/upload/sessions")
+    public ResponseEntity<UploadSessionGetDTO> createUploadSession(
+            @RequestBody @Valid final UploadSessionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(uploadSessionService.create(request.fileName(), request.fileSize()));
+    }
+
+    @Operation(summary = "Send a piece of an upload", description = "Stores the request body at the given offset of the file; the offset may repeat bytes already received but not skip any")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Piece stored, see the bytes received so far",
+                    content = @Content(schema = @Schema(implementation = UploadSessionGetDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Checksum mismatch, gap before the offset, piece too large or session not open"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @PutMapping(value = "/upload/sessions/{sessionId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadSessionGetDTO> appendUploadSession(
+            @Parameter(description = "Upload session id")
+            @PathVariable final Long sessionId,
+            @Parameter(description = "File offset of the first byte of the body")
+            @RequestParam final long offset,
+            @Parameter(description = "Hex SHA-256 of the body")
+            @RequestHeader(CHUNK_CHECKSUM_HEADER) final String checksum,
+            final InputStream body) throws IOException {
+        final byte[] content = body.readNBytes(lotConfig.getSession().getMaxChunkSize() + 1);
+        return ResponseEntity.ok(uploadSessionService.append(sessionId, offset, checksum, content));
+    }
+
+    @Operation(summary = "Get an upload session", description = "Bytes received so far, i.e. the offset to resume from")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Upload session found",
+                    content = @Content(schema = @Schema(implementation = UploadSessionGetDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Upload session not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @GetMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<UploadSessionGetDTO> getUploadSession(
+            @Parameter(description = "Upload session id")
+            @PathVariable final Long sessionId) {
+        return ResponseEntity.ok(uploadSessionService.getSession(sessionId));
+    }
+
+    @Operation(summary = "Complete an upload session", description = "Queues the lot of a fully received file, as /upload does")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Lot queued for processing, see its counts and reconciliation",
+                    content = @Content(schema = @Schema(implementation = LotGetDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Same file already received, nothing written",
+                    content = @Content(schema = @Schema(implementation = LotGetDTO.class))),
+            @ApiResponse(responseCode = "400", description = "File not fully received or session not open"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @PostMapping("/upload/sessions/{sessionId}/complete")
+    public ResponseEntity<LotGetDTO> completeUploadSession(
+            @Parameter(description = "Upload session id")
+            @PathVariable final Long sessionId) {
+        final LotGetDTO lot = uploadSessionService.complete(sessionId);
+        return ResponseEntity.status(lot.resubmitted() ? HttpStatus.OK : HttpStatus.ACCEPTED).body(lot);
+    }
+
+    @Operation(summary = "Abort an upload session", description = "Discards the bytes received so far")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Upload session aborted"),
+            @ApiResponse(responseCode = "400", description = "Session already completed"),
+            @ApiResponse(responseCode = "404", description = "Upload session not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @DeleteMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<Void> abortUploadSession(
+            @Parameter(description = "Upload session id")
+            @PathVariable final Long sessionId) {
+        uploadSessionService.abort(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Look up many cards", description = "Resolves up to app.lookup.max-batch-size card numbers in one request, results follow the request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed, unknown numbers are reported as not found",
+                    content = @Content(schema = @Schema(implementation = CardLookupResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty request or batch size above the limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<CardLookupResponse> lookupCards(@RequestBody @Valid final CardLookupRequest request) {
+        return ResponseEntity.ok(CardLookupResponse.from(cardService.getCardsByNumbers(request.cardNumbers())));
     }
 
     @Operation(summary = "Get all cards", description = "Retrieve a paginated list of all stored cards")
@@ -85,6 +271,54 @@ public class CardController {
         return ResponseEntity.ok(cardService.getAllCards(pageable));
     }
 
+    @Operation(summary = "Get all cards (compact)", description = "Retrieve a page of cards in CBOR or Smile, without totals")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @GetMapping(produces = {MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<CardPageResponse> getCardsCompact(
+            @Parameter(description = "Pagination parameters")
+            @PageableDefault(size = 20) final Pageable pageable) {
+        return ResponseEntity.ok(CardPageResponse.from(cardService.getCardSlice(pageable)));
+    }
+
+    @Operation(summary = "Export all cards", description = "Streams id and identifier of every card as newline-delimited JSON, in id order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cards streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportCards(
+            @Parameter(description = "Last id already received, to resume an interrupted export")
+            @RequestParam(defaultValue = "0") final long afterId,
+            final HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // a task of its own, so the export is bound by app.export.timeout-ms instead of the async request timeout
+        return new WebAsyncTask<>(exportConfig.getTimeoutMs(), () -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+                final int flushRows = Math.max(1, exportConfig.getFlushRows());
+                final long[] written = {0};
+                cardService.exportCards(afterId, card -> {
+                    try {
+                        generator.writeObject(card);
+                        generator.writeRaw('\n');
+                        if (++written[0] % flushRows == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return null;
+        });
+    }
+
     @Operation(summary = "Get card by number", description = "Retrieve card information by its card number")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Card found",
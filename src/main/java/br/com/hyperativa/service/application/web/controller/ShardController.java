@@ -0,0 +1,59 @@
+package br.com.hyperativa.service.application.web.controller;
+
+import br.com.hyperativa.service.application.config.sharding.ShardMap;
+import br.com.hyperativa.service.application.config.sharding.ShardMoveResult;
+import br.com.hyperativa.service.application.config.sharding.ShardRebalancer;
+import br.com.hyperativa.service.application.web.controller.request.ShardMoveRequest;
+import br.com.hyperativa.service.application.web.controller.response.ShardMapResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for inspecting and rebalancing card shards.
+ * All endpoints require JWT authentication.
+ */
+@RestController
+@RequestMapping("/v1/shards")
+@Tag(name = "Shard Management", description = "Endpoints for the card bucket to shard assignment")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ShardController {
+    private final ShardMap shardMap;
+
+    private final ShardRebalancer shardRebalancer;
+
+    public ShardController(final ShardMap shardMap, final ShardRebalancer shardRebalancer) {
+        this.shardMap = shardMap;
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    @Operation(summary = "Get the shard map", description = "Lists the bucket ranges held by every shard")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Shard map retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @GetMapping
+    public ResponseEntity<ShardMapResponse> getShardMap() {
+        return ResponseEntity.ok(ShardMapResponse.from(shardMap.getShardCount(), shardMap.snapshot()));
+    }
+
+    @Operation(summary = "Move buckets to a shard", description = "Copies a bucket range to the target shard, switches it and deletes it from the source shards while serving traffic")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Buckets moved"),
+            @ApiResponse(responseCode = "400", description = "Invalid bucket range or shard"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - JWT token missing or invalid")
+    })
+    @PostMapping("/move")
+    public ResponseEntity<ShardMoveResult> moveBuckets(@RequestBody @Valid final ShardMoveRequest request) {
+        return ResponseEntity.ok(shardRebalancer.move(request.fromBucket(), request.toBucket(), request.targetShard()));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.hyperativa.service.application.web.controller.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record CardLookupRequest(@NotEmpty List<@NotBlank String> cardNumbers) {
+    @Override
+    public String toString() {
+        return "CardLookupRequest[cardNumbers=" + (cardNumbers != null ? cardNumbers.size() : 0) + "]";
+    }
+}
@@ -5,4 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import java.io.Serializable;
 
 public record LoginRequest(@NotBlank String username, @NotBlank String password) implements Serializable {
+    @Override
+    public String toString() {
+        return "LoginRequest[username=" + username + ", password=***]";
+    }
 }
@@ -0,0 +1,11 @@
+package br.com.hyperativa.service.application.web.controller.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record ShardMoveRequest(
+        @Min(0) @Max(1023) int fromBucket,
+        @Min(0) @Max(1023) int toBucket,
+        @Min(0) int targetShard
+) {
+}
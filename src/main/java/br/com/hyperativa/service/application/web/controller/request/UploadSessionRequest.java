@@ -0,0 +1,8 @@
+package br.com.hyperativa.service.application.web.controller.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record UploadSessionRequest(@NotBlank @Size(max = 255) String fileName, @Positive long fileSize) {
+}
@@ -0,0 +1,41 @@
+package br.com.hyperativa.service.application.web.controller.response;
+
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateStatus;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk create result, one entry per array element in request order.
+ */
+public record CardBulkCreateResponse(List<Result> results, Map<CardCreateStatus, Integer> summary) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(int index, CardCreateStatus status, Long id, String cardNumberIdentifier,
+                         CardRejectReason reason) {}
+
+    public static CardBulkCreateResponse from(final List<CardCreateResultDTO> created) {
+        final List<Result> results = new ArrayList<>(created.size());
+        final Map<CardCreateStatus, Integer> summary = new EnumMap<>(CardCreateStatus.class);
+        for (CardCreateStatus status : CardCreateStatus.values()) {
+            summary.put(status, 0);
+        }
+        for (int i = 0; i < created.size(); i++) {
+            final CardCreateResultDTO result = created.get(i);
+            results.add(new Result(i, result.status(), result.id(), result.cardNumberIdentifier(),
+                    result.reason()));
+            summary.merge(result.status(), 1, Integer::sum);
+        }
+        return new CardBulkCreateResponse(results, summary);
+    }
+
+    @Override
+    public String toString() {
+        return "CardBulkCreateResponse[summary=" + summary + "]";
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.hyperativa.service.application.web.controller.response;
+
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bulk lookup result, one entry per requested card number in request order.
+ */
+public record CardLookupResponse(List<Result> results, int found, int missing) {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(int index, boolean found, Long id, String cardNumberIdentifier, String brand,
+                         String issuer) {}
+
+    public static CardLookupResponse from(final List<Optional<CardGetDTO>> cards) {
+        final List<Result> results = new ArrayList<>(cards.size());
+        int found = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            final CardGetDTO card = cards.get(i).orElse(null);
+            if (card != null) {
+                found++;
+                results.add(new Result(i, true, card.id(), card.cardNumberIdentifier(), card.brand(), card.issuer()));
+            } else {
+                results.add(new Result(i, false, null, null, null, null));
+            }
+        }
+        return new CardLookupResponse(results, found, cards.size() - found);
+    }
+
+    @Override
+    public String toString() {
+        return "CardLookupResponse[found=" + found + ", missing=" + missing + "]";
+    }
+}
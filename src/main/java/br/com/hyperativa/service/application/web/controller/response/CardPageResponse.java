@@ -0,0 +1,15 @@
+package br.com.hyperativa.service.application.web.controller.response;
+
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Compact page envelope for binary clients: no totals, so it is backed by a query without COUNT.
+ */
+public record CardPageResponse(List<CardGetDTO> content, int page, int size, boolean hasNext) {
+    public static CardPageResponse from(final Slice<CardGetDTO> slice) {
+        return new CardPageResponse(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
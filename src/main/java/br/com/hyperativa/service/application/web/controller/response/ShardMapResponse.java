@@ -0,0 +1,24 @@
+package br.com.hyperativa.service.application.web.controller.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bucket to shard assignment, as contiguous bucket ranges.
+ */
+public record ShardMapResponse(int shardCount, List<Range> ranges) {
+
+    public record Range(int fromBucket, int toBucket, int shard) {}
+
+    public static ShardMapResponse from(final int shardCount, final int[] shards) {
+        final List<Range> ranges = new ArrayList<>();
+        int from = 0;
+        for (int bucket = 1; bucket <= shards.length; bucket++) {
+            if (bucket == shards.length || shards[bucket] != shards[from]) {
+                ranges.add(new Range(from, bucket - 1, shards[from]));
+                from = bucket;
+            }
+        }
+        return new ShardMapResponse(shardCount, ranges);
+    }
+}
@@ -1,7 +1,9 @@
 package br.com.hyperativa.service.domain.entity;
 
 import br.com.hyperativa.service.application.config.CardNumberEncryptor;
-import io.azam.ulidj.ULID;
+import br.com.hyperativa.service.application.util.CardIdentifierAllocator;
+import br.com.hyperativa.service.application.util.CardShardKey;
+import br.com.hyperativa.service.application.util.HashUtil;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
@@ -36,35 +38,34 @@ public class Card extends BaseEntity {
     @Column(name = "card_number_hash", nullable = false, unique = true, length = 64)
     private String cardNumberHash;
 
+    /**
+     * Shard bucket of the fingerprint, see {@link CardShardKey}; indexed so a bucket range can be moved.
+     */
+    @Column(name = "card_bucket")
+    private Integer cardBucket;
+
     @NotBlank(message = "Card number identifier cannot be blank")
     @Size(max = CARD_NUMBER_IDENTIFIER_LENGTH, message = "Card number identifier must not exceed 26 characters")
     @Column(name = "card_number_identifier", nullable = false, unique = true, length = CARD_NUMBER_IDENTIFIER_LENGTH)
     private String cardNumberIdentifier;
 
+    /**
+     * Lot the card was uploaded in, see {@link Lot}; null for cards created through the API.
+     */
+    @Column(name = "lot_id")
+    private Long lotId;
+
     public Card cardNumber(final String cardNumber) {
         this.cardNumber = cardNumber;
-        this.cardNumberHash = generateHash(cardNumber);
-        this.cardNumberIdentifier = ULID.random();
+        this.cardNumberHash = HashUtil.sha256Hex(cardNumber);
+        this.cardBucket = CardShardKey.bucketOfFingerprint(cardNumberHash);
+        this.cardNumberIdentifier = CardIdentifierAllocator.next(cardBucket);
         return this;
     }
 
-    /**
-     * Generates SHA-256 hash of card number for search purposes.
-     */
-    private String generateHash(String cardNumber) {
-        try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(cardNumber.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to generate hash", e);
-        }
+    public Card lotId(final Long lotId) {
+        this.lotId = lotId;
+        return this;
     }
 
     public String getCardNumber() {
@@ -75,10 +76,18 @@ public class Card extends BaseEntity {
         return cardNumberHash;
     }
 
+    public Integer getCardBucket() {
+        return cardBucket;
+    }
+
     public String getCardNumberIdentifier() {
         return cardNumberIdentifier;
     }
 
+    public Long getLotId() {
+        return lotId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof Card card)) return false;
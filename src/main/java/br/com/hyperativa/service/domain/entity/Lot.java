@@ -0,0 +1,255 @@
+package br.com.hyperativa.service.domain.entity;
+
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotRejectedLineDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Entity representing an uploaded lot file, identified by the SHA-256 digest of its content.
+ */
+@Entity
+@Table(name = "lot")
+public class Lot extends BaseEntity {
+    private static final int DIGEST_LENGTH = 64;
+    private static final int REJECTED_LINES_LENGTH = 512;
+
+    @Column(name = "name", nullable = false, length = 29)
+    private String name;
+
+    @Column(name = "lot_date")
+    private LocalDate lotDate;
+
+    @Column(name = "lot_number", nullable = false, length = 8)
+    private String lotNumber;
+
+    @Column(name = "declared_records", nullable = false)
+    private int declaredRecords;
+
+    @Column(name = "footer_records")
+    private Integer footerRecords;
+
+    @Column(name = "record_lines", nullable = false)
+    private int recordLines;
+
+    @Column(name = "accepted_cards", nullable = false)
+    private int acceptedCards;
+
+    @Column(name = "rejected_cards", nullable = false)
+    private int rejectedCards;
+
+    @Column(name = "rejected_missing", nullable = false)
+    private int rejectedMissing;
+
+    @Column(name = "rejected_non_digit", nullable = false)
+    private int rejectedNonDigit;
+
+    @Column(name = "rejected_length", nullable = false)
+    private int rejectedLength;
+
+    @Column(name = "rejected_luhn", nullable = false)
+    private int rejectedLuhn;
+
+    @Column(name = "rejected_bin", nullable = false)
+    private int rejectedBin;
+
+    /**
+     * First rejected lines of the file as comma separated {@code line:REASON} pairs, see {@link LotRejectedLineDTO}.
+     */
+    @Column(name = "rejected_lines", length = REJECTED_LINES_LENGTH)
+    private String rejectedLines;
+
+    @Column(name = "duplicate_cards", nullable = false)
+    private int duplicateCards;
+
+    @Column(name = "reconciled", nullable = false)
+    private boolean reconciled;
+
+    @Column(name = "digest", nullable = false, unique = true, length = DIGEST_LENGTH)
+    private String digest;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private LotStatus status;
+
+    @Column(name = "completed_at")
+    private Timestamp completedAt;
+
+    @Column(name = "checkpoint_cards", nullable = false)
+    private int checkpointCards;
+
+    @Column(name = "written_cards", nullable = false)
+    private int writtenCards;
+
+    @Column(name = "existing_cards", nullable = false)
+    private int existingCards;
+
+    @Column(name = "checkpoint_at")
+    private Timestamp checkpointAt;
+
+    public Lot lotFile(final LotFileDTO lotFile) {
+        this.name = lotFile.name();
+        this.lotDate = lotFile.date();
+        this.lotNumber = lotFile.lotNumber();
+        this.declaredRecords = lotFile.declaredRecords();
+        this.footerRecords = lotFile.footerRecords();
+        this.recordLines = lotFile.records();
+        this.acceptedCards = lotFile.cards().size();
+        this.rejectedCards = lotFile.rejected();
+        this.rejectedMissing = lotFile.rejectedBy().getOrDefault(CardRejectReason.MISSING, 0);
+        this.rejectedNonDigit = lotFile.rejectedBy().getOrDefault(CardRejectReason.NON_DIGIT, 0);
+        this.rejectedLength = lotFile.rejectedBy().getOrDefault(CardRejectReason.LENGTH, 0);
+        this.rejectedLuhn = lotFile.rejectedBy().getOrDefault(CardRejectReason.LUHN, 0);
+        this.rejectedBin = lotFile.rejectedBy().getOrDefault(CardRejectReason.BIN, 0);
+        this.rejectedLines = lotFile.rejectedLines().isEmpty() ? null : lotFile.rejectedLines().stream()
+                .map(rejected -> rejected.line() + ":" + rejected.reason().name())
+                .collect(Collectors.joining(","));
+        this.duplicateCards = lotFile.duplicates();
+        this.reconciled = lotFile.isReconciled();
+        this.digest = lotFile.digest();
+        return this;
+    }
+
+    public Lot status(final LotStatus status) {
+        this.status = status;
+        this.checkpointAt = new Timestamp(System.currentTimeMillis());
+        this.completedAt = status == LotStatus.PROCESSING ? null : this.checkpointAt;
+        return this;
+    }
+
+    /**
+     * Records a committed chunk: {@code written} cards stored by it and {@code existing} ones found already stored
+     * by an earlier lot or an interrupted attempt.
+     */
+    public Lot checkpoint(final int written, final int existing) {
+        this.checkpointCards += written + existing;
+        this.writtenCards += written;
+        this.existingCards += existing;
+        this.checkpointAt = new Timestamp(System.currentTimeMillis());
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getLotDate() {
+        return lotDate;
+    }
+
+    public String getLotNumber() {
+        return lotNumber;
+    }
+
+    public int getDeclaredRecords() {
+        return declaredRecords;
+    }
+
+    public Integer getFooterRecords() {
+        return footerRecords;
+    }
+
+    public int getRecordLines() {
+        return recordLines;
+    }
+
+    public int getAcceptedCards() {
+        return acceptedCards;
+    }
+
+    public int getRejectedCards() {
+        return rejectedCards;
+    }
+
+    public Map<CardRejectReason, Integer> getRejectedBy() {
+        final Map<CardRejectReason, Integer> rejectedBy = new EnumMap<>(CardRejectReason.class);
+        rejectedBy.put(CardRejectReason.MISSING, rejectedMissing);
+        rejectedBy.put(CardRejectReason.NON_DIGIT, rejectedNonDigit);
+        rejectedBy.put(CardRejectReason.LENGTH, rejectedLength);
+        rejectedBy.put(CardRejectReason.LUHN, rejectedLuhn);
+        rejectedBy.put(CardRejectReason.BIN, rejectedBin);
+        return rejectedBy;
+    }
+
+    public List<LotRejectedLineDTO> getRejectedLines() {
+        if (rejectedLines == null) {
+            return List.of();
+        }
+        return Arrays.stream(rejectedLines.split(","))
+                .map(pair -> pair.split(":"))
+                .map(pair -> new LotRejectedLineDTO(Integer.parseInt(pair[0]), CardRejectReason.valueOf(pair[1])))
+                .toList();
+    }
+
+    public int getDuplicateCards() {
+        return duplicateCards;
+    }
+
+    public boolean isReconciled() {
+        return reconciled;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public LotStatus getStatus() {
+        return status;
+    }
+
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    public int getCheckpointCards() {
+        return checkpointCards;
+    }
+
+    public int getWrittenCards() {
+        return writtenCards;
+    }
+
+    public int getExistingCards() {
+        return existingCards;
+    }
+
+    public Timestamp getCheckpointAt() {
+        return checkpointAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Lot lot)) return false;
+        return Objects.equals(this.getId(), lot.getId()) && Objects.equals(digest, lot.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getId(), digest);
+    }
+
+    @Override
+    public String toString() {
+        return "Lot{" +
+                "id='" + this.getId() + '\'' +
+                ", name='" + name + '\'' +
+                ", lotNumber='" + lotNumber + '\'' +
+                ", status=" + status +
+                ", checkpointCards=" + checkpointCards +
+                '}';
+    }
+}
@@ -0,0 +1,172 @@
+package br.com.hyperativa.service.domain.entity;
+
+import br.com.hyperativa.service.domain.entity.dto.LotChunkStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity representing a work item of a lot: the accepted cards {@code [firstCard, endCard)} of its file, in the order
+ * the file yields them. The lease owner is kept once the chunk is done, for diagnostics.
+ */
+@Entity
+@Table(name = "lot_chunk")
+public class LotChunk extends BaseEntity {
+    private static final int LEASE_OWNER_LENGTH = 64;
+
+    @Column(name = "lot_id", nullable = false)
+    private Long lotId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(name = "first_card", nullable = false)
+    private int firstCard;
+
+    @Column(name = "end_card", nullable = false)
+    private int endCard;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private LotChunkStatus status;
+
+    @Column(name = "lease_owner", length = LEASE_OWNER_LENGTH)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private Timestamp leaseUntil;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "written_cards", nullable = false)
+    private int writtenCards;
+
+    @Column(name = "existing_cards", nullable = false)
+    private int existingCards;
+
+    @Column(name = "completed_at")
+    private Timestamp completedAt;
+
+    public LotChunk range(final Long lotId, final int chunkIndex, final int firstCard, final int endCard) {
+        this.lotId = lotId;
+        this.chunkIndex = chunkIndex;
+        this.firstCard = firstCard;
+        this.endCard = endCard;
+        this.status = LotChunkStatus.PENDING;
+        return this;
+    }
+
+    public LotChunk lease(final String owner, final Timestamp until) {
+        this.status = LotChunkStatus.LEASED;
+        this.leaseOwner = owner;
+        this.leaseUntil = until;
+        this.attempts++;
+        return this;
+    }
+
+    public LotChunk release() {
+        this.status = LotChunkStatus.PENDING;
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+        return this;
+    }
+
+    public LotChunk done(final int written, final int existing) {
+        this.status = LotChunkStatus.DONE;
+        this.leaseUntil = null;
+        this.writtenCards = written;
+        this.existingCards = existing;
+        this.completedAt = new Timestamp(System.currentTimeMillis());
+        return this;
+    }
+
+    public LotChunk failed() {
+        this.status = LotChunkStatus.FAILED;
+        this.leaseUntil = null;
+        return this;
+    }
+
+    /**
+     * Whether the chunk is still leased to {@code owner}, i.e. no other instance reclaimed it meanwhile.
+     */
+    public boolean isLeasedTo(final String owner) {
+        return status == LotChunkStatus.LEASED && Objects.equals(leaseOwner, owner);
+    }
+
+    public Long getLotId() {
+        return lotId;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public int getFirstCard() {
+        return firstCard;
+    }
+
+    public int getEndCard() {
+        return endCard;
+    }
+
+    public int size() {
+        return endCard - firstCard;
+    }
+
+    public LotChunkStatus getStatus() {
+        return status;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public Timestamp getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getWrittenCards() {
+        return writtenCards;
+    }
+
+    public int getExistingCards() {
+        return existingCards;
+    }
+
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LotChunk chunk)) return false;
+        return Objects.equals(this.getId(), chunk.getId()) && Objects.equals(lotId, chunk.lotId)
+                && chunkIndex == chunk.chunkIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getId(), lotId, chunkIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "LotChunk{" +
+                "id='" + this.getId() + '\'' +
+                ", lotId=" + lotId +
+                ", chunkIndex=" + chunkIndex +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.hyperativa.service.domain.entity;
+
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity representing a lot file uploaded in pieces: bytes {@code [0, receivedBytes)} of its {@code fileSize} are
+ * on disk, the rest is still to be sent.
+ */
+@Entity
+@Table(name = "upload_session")
+public class UploadSession extends BaseEntity {
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private long receivedBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private UploadSessionStatus status;
+
+    @Column(name = "lot_id")
+    private Long lotId;
+
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    public UploadSession open(final String fileName, final long fileSize) {
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.receivedBytes = 0;
+        return status(UploadSessionStatus.OPEN);
+    }
+
+    public UploadSession received(final long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+        this.updatedAt = new Timestamp(System.currentTimeMillis());
+        return this;
+    }
+
+    public UploadSession completed(final Long lotId) {
+        this.lotId = lotId;
+        return status(UploadSessionStatus.COMPLETED);
+    }
+
+    public UploadSession status(final UploadSessionStatus status) {
+        this.status = status;
+        this.updatedAt = new Timestamp(System.currentTimeMillis());
+        return this;
+    }
+
+    public boolean isComplete() {
+        return receivedBytes == fileSize;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public UploadSessionStatus getStatus() {
+        return status;
+    }
+
+    public Long getLotId() {
+        return lotId;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof UploadSession session)) return false;
+        return Objects.equals(this.getId(), session.getId()) && Objects.equals(fileName, session.fileName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.getId(), fileName);
+    }
+
+    @Override
+    public String toString() {
+        return "UploadSession{" +
+                "id='" + this.getId() + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", fileSize=" + fileSize +
+                ", receivedBytes=" + receivedBytes +
+                ", status=" + status +
+                '}';
+    }
+}
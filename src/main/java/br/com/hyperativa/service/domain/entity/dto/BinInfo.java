@@ -0,0 +1,6 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Brand and issuer of a BIN range.
+ */
+public record BinInfo(String brand, String issuer) {}
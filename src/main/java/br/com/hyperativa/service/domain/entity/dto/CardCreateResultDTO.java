@@ -0,0 +1,28 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Result of a single card in a bulk create. Duplicates carry the identifiers of the card already stored, invalid
+ * cards the reason they were rejected.
+ */
+public record CardCreateResultDTO(
+        CardCreateStatus status,
+        Long id,
+        String cardNumberIdentifier,
+        CardRejectReason reason
+) {
+    public static CardCreateResultDTO created(final Long id, final String cardNumberIdentifier) {
+        return new CardCreateResultDTO(CardCreateStatus.CREATED, id, cardNumberIdentifier, null);
+    }
+
+    public static CardCreateResultDTO duplicate(final Long id, final String cardNumberIdentifier) {
+        return new CardCreateResultDTO(CardCreateStatus.DUPLICATE, id, cardNumberIdentifier, null);
+    }
+
+    public static CardCreateResultDTO invalid(final CardRejectReason reason) {
+        return new CardCreateResultDTO(CardCreateStatus.INVALID, null, null, reason);
+    }
+
+    public static CardCreateResultDTO error() {
+        return new CardCreateResultDTO(CardCreateStatus.ERROR, null, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Outcome of a single card in a bulk create.
+ */
+public enum CardCreateStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    ERROR
+}
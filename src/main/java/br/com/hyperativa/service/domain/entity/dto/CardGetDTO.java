@@ -1,3 +1,17 @@
 package br.com.hyperativa.service.domain.entity.dto;
 
-public record CardGetDTO(Long id, String cardNumberIdentifier) {}
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Stored card; brand and issuer are only known for lookups by card number, see {@code BinLookupService}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CardGetDTO(Long id, String cardNumberIdentifier, String brand, String issuer) {
+    public CardGetDTO(final Long id, final String cardNumberIdentifier) {
+        this(id, cardNumberIdentifier, null, null);
+    }
+
+    public CardGetDTO withBin(final BinInfo bin) {
+        return bin == null ? this : new CardGetDTO(id, cardNumberIdentifier, bin.brand(), bin.issuer());
+    }
+}
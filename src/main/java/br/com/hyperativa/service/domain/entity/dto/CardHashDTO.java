@@ -0,0 +1,3 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+public record CardHashDTO(String cardNumberHash, Long id, String cardNumberIdentifier) {}
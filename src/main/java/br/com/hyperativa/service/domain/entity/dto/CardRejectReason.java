@@ -0,0 +1,22 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Why a card number was rejected before any fingerprint or database work, used as the {@code reason} tag.
+ */
+public enum CardRejectReason {
+    MISSING("missing"),
+    NON_DIGIT("non_digit"),
+    LENGTH("length"),
+    LUHN("luhn"),
+    BIN("bin");
+
+    private final String tag;
+
+    CardRejectReason(final String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
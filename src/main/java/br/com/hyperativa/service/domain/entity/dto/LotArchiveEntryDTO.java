@@ -0,0 +1,6 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * One file of an uploaded zip archive: its lot, or the reason it was refused when {@code lot} is null.
+ */
+public record LotArchiveEntryDTO(String fileName, LotGetDTO lot, String error) {}
@@ -0,0 +1,8 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+import java.util.List;
+
+/**
+ * Lot files of an uploaded zip archive, in archive order.
+ */
+public record LotArchiveGetDTO(List<LotArchiveEntryDTO> files) {}
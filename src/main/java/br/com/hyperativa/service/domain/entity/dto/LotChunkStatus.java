@@ -0,0 +1,11 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Processing state of a lot chunk; a {@code LEASED} chunk whose lease expired is claimable again.
+ */
+public enum LotChunkStatus {
+    PENDING,
+    LEASED,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,57 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A parsed lot file: header and footer fields, record counts, the SHA-256 digest of the whole file and the cards
+ * that passed validation and in-file deduplication.
+ *
+ * @param name            lot name, header columns 1-29
+ * @param date            lot date, header columns 30-37, or null when it is not a {@code yyyyMMdd} date
+ * @param lotNumber       lot number, header columns 38-45
+ * @param declaredRecords record count declared in the header, or -1 when it is not a number
+ * @param footerLotNumber lot number of the footer, or null without footer
+ * @param footerRecords   record count declared in the footer, or null without footer
+ * @param records         record lines between header and footer
+ * @param rejected        records rejected by validation
+ * @param rejectedBy      records rejected by validation per reason, every reason present
+ * @param rejectedLines   first {@value #MAX_REJECTED_LINES} records rejected by validation, in file order
+ * @param duplicates      records repeating an earlier card number of the file
+ * @param digest          lowercase hex SHA-256 of the file content
+ * @param cards           accepted card numbers
+ */
+public record LotFileDTO(
+        String name,
+        LocalDate date,
+        String lotNumber,
+        int declaredRecords,
+        String footerLotNumber,
+        Integer footerRecords,
+        int records,
+        int rejected,
+        Map<CardRejectReason, Integer> rejectedBy,
+        List<LotRejectedLineDTO> rejectedLines,
+        int duplicates,
+        String digest,
+        PackedCardNumbers cards
+) {
+    public static final int MAX_REJECTED_LINES = 20;
+
+    /**
+     * Whether the footer closes this lot and header, footer and file agree on the record count.
+     */
+    public boolean isReconciled() {
+        return lotNumber.equals(footerLotNumber)
+                && Objects.equals(footerRecords, declaredRecords)
+                && records == declaredRecords;
+    }
+
+    @Override
+    public String toString() {
+        return "LotFileDTO[name=" + name + ", lotNumber=" + lotNumber + ", records=" + records
+                + ", cards=" + cards.size() + ", digest=" + digest + "]";
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored lot; {@code resubmitted} is set when the upload matched a lot already received and no card was written.
+ * {@code existingCards} counts the cards of the lot found already stored, by an earlier lot or an interrupted attempt.
+ * {@code rejectedBy} splits {@code rejectedCards} per reason and {@code rejectedLines} lists the first rejected lines,
+ * see {@link LotFileDTO}.
+ */
+public record LotGetDTO(
+        Long id,
+        String name,
+        LocalDate date,
+        String lotNumber,
+        int declaredRecords,
+        Integer footerRecords,
+        int records,
+        int acceptedCards,
+        int rejectedCards,
+        Map<CardRejectReason, Integer> rejectedBy,
+        List<LotRejectedLineDTO> rejectedLines,
+        int duplicateCards,
+        int writtenCards,
+        int existingCards,
+        boolean reconciled,
+        LotStatus status,
+        boolean resubmitted
+) {}
@@ -0,0 +1,9 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Record line of a lot rejected by validation.
+ *
+ * @param line   line number in the file, the header being line 1
+ * @param reason why the card number of the line was rejected
+ */
+public record LotRejectedLineDTO(int line, CardRejectReason reason) {}
@@ -0,0 +1,10 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Processing state of an uploaded lot.
+ */
+public enum LotStatus {
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
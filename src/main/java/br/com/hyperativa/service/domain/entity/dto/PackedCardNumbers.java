@@ -0,0 +1,66 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+import br.com.hyperativa.service.application.util.PackedCardNumber;
+
+import java.util.Arrays;
+
+/**
+ * Append-only list of packed card numbers, see {@link PackedCardNumber}, kept in fixed-size {@code long[]} chunks:
+ * 8 bytes per card, and growing never copies the cards already stored.
+ */
+public class PackedCardNumbers {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private long[][] chunks = new long[1][];
+    private int size;
+
+    public void add(final long packed) {
+        final int chunk = size >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length << 1);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new long[CHUNK_SIZE];
+        }
+        chunks[chunk][size & CHUNK_MASK] = packed;
+        size++;
+    }
+
+    public long get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy of the cards in {@code [from, to)}.
+     */
+    public PackedCardNumbers slice(final int from, final int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for size " + size);
+        }
+        final PackedCardNumbers slice = new PackedCardNumbers();
+        for (int i = from; i < to; i++) {
+            slice.add(chunks[i >>> CHUNK_BITS][i & CHUNK_MASK]);
+        }
+        return slice;
+    }
+
+    /**
+     * Card number at the given index, allocated on demand.
+     */
+    public String cardNumber(final int index) {
+        return PackedCardNumber.unpack(get(index));
+    }
+}
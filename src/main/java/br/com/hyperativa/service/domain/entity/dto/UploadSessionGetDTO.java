@@ -0,0 +1,13 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * Upload session; the next piece is expected at {@code receivedBytes}. {@code lotId} is set once it completed.
+ */
+public record UploadSessionGetDTO(
+        Long id,
+        String fileName,
+        long fileSize,
+        long receivedBytes,
+        UploadSessionStatus status,
+        Long lotId
+) {}
@@ -0,0 +1,13 @@
+package br.com.hyperativa.service.domain.entity.dto;
+
+/**
+ * State of an upload session; only an {@code OPEN} session accepts pieces, and a {@code COMPLETING} one is being
+ * queued as a lot by exactly one request.
+ */
+public enum UploadSessionStatus {
+    OPEN,
+    COMPLETING,
+    COMPLETED,
+    FAILED,
+    ABORTED
+}
@@ -0,0 +1,133 @@
+package br.com.hyperativa.service.domain.processor;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.util.BinTable;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Validates card numbers straight on the parsed bytes or characters, in a single pass and without allocating:
+ * digits only, 16 digits, optionally the Luhn check digit, and the issuer prefix against {@code app.card-validation}.
+ * <p>
+ * BIN ranges are widened to 8 digits, merged and kept in two sorted arrays, so a prefix check is one binary search.
+ */
+@Component
+public class CardNumberValidator {
+    public static final int CARD_NUMBER_LENGTH = 16;
+    private static final int BIN_DIGITS = BinTable.BIN_DIGITS;
+
+    private final boolean luhnEnabled;
+
+    private final int[] binLows;
+
+    private final int[] binHighs;
+
+    public CardNumberValidator(final CardValidationConfig cardValidationConfig) {
+        this.luhnEnabled = cardValidationConfig.isLuhnEnabled();
+        final int[][] ranges = binRanges(cardValidationConfig.getBinRanges());
+        this.binLows = ranges[0];
+        this.binHighs = ranges[1];
+    }
+
+    /**
+     * Reason to reject the ASCII card number in {@code bytes[from, to)}, or null when it is accepted.
+     */
+    public CardRejectReason rejectReason(final byte[] bytes, final int from, final int to) {
+        int bin = 0;
+        int luhnSum = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return CardRejectReason.NON_DIGIT;
+            }
+            if (i - from < BIN_DIGITS) {
+                bin = bin * 10 + digit;
+            }
+            luhnSum += luhnDigit(digit, to - i);
+        }
+        return check(to - from, bin, luhnSum);
+    }
+
+    /**
+     * Reason to reject the given card number, or null when it is accepted.
+     */
+    public CardRejectReason rejectReason(final CharSequence cardNumber) {
+        final int length = cardNumber.length();
+        int bin = 0;
+        int luhnSum = 0;
+        for (int i = 0; i < length; i++) {
+            final int digit = cardNumber.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return CardRejectReason.NON_DIGIT;
+            }
+            if (i < BIN_DIGITS) {
+                bin = bin * 10 + digit;
+            }
+            luhnSum += luhnDigit(digit, length - i);
+        }
+        return check(length, bin, luhnSum);
+    }
+
+    public boolean isValid(final CharSequence cardNumber) {
+        return rejectReason(cardNumber) == null;
+    }
+
+    private CardRejectReason check(final int length, final int bin, final int luhnSum) {
+        if (length != CARD_NUMBER_LENGTH) {
+            return CardRejectReason.LENGTH;
+        }
+        if (luhnEnabled && luhnSum % 10 != 0) {
+            return CardRejectReason.LUHN;
+        }
+        if (binLows.length > 0 && !binAccepted(bin)) {
+            return CardRejectReason.BIN;
+        }
+        return null;
+    }
+
+    /**
+     * Luhn contribution of a digit, {@code positionFromRight} starting at 1 for the check digit.
+     */
+    private static int luhnDigit(final int digit, final int positionFromRight) {
+        if ((positionFromRight & 1) == 1) {
+            return digit;
+        }
+        final int doubled = digit << 1;
+        return doubled > 9 ? doubled - 9 : doubled;
+    }
+
+    private boolean binAccepted(final int bin) {
+        final int index = Arrays.binarySearch(binLows, bin);
+        if (index >= 0) {
+            return true;
+        }
+        final int below = -index - 2;
+        return below >= 0 && bin <= binHighs[below];
+    }
+
+    private static int[][] binRanges(final List<CardValidationConfig.BinRange> configured) {
+        final int[][] ranges = new int[configured.size()][];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = BinTable.range(configured.get(i).getFrom(), configured.get(i).getTo());
+        }
+        Arrays.sort(ranges, Comparator.comparingInt(range -> range[0]));
+
+        final int[] lows = new int[ranges.length];
+        final int[] highs = new int[ranges.length];
+        int merged = 0;
+        for (int[] range : ranges) {
+            if (merged > 0 && range[0] <= highs[merged - 1] + 1) {
+                highs[merged - 1] = Math.max(highs[merged - 1], range[1]);
+            } else {
+                lows[merged] = range[0];
+                highs[merged] = range[1];
+                merged++;
+            }
+        }
+        return new int[][]{Arrays.copyOf(lows, merged), Arrays.copyOf(highs, merged)};
+    }
+}
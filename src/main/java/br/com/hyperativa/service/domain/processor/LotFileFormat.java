@@ -0,0 +1,53 @@
+package br.com.hyperativa.service.domain.processor;
+
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * Container of a lot file, told by its first bytes: plain text, a gzip stream of one lot file, or a zip archive of
+ * several. The declared content type only serves to refuse a file said to be compressed whose bytes are not.
+ */
+public enum LotFileFormat {
+    TEXT,
+    GZIP,
+    ZIP;
+
+    private static final int MAGIC_LENGTH = 4;
+    private static final Set<String> COMPRESSED_CONTENT_TYPES = Set.of(
+            "application/gzip", "application/x-gzip", "application/zip", "application/x-zip-compressed");
+
+    /**
+     * Format of the content starting with {@code head[0, length)}.
+     */
+    public static LotFileFormat detect(final byte[] head, final int length) {
+        if (length >= 2 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b) {
+            return GZIP;
+        }
+        if (length >= MAGIC_LENGTH && head[0] == 'P' && head[1] == 'K'
+                && ((head[2] == 3 && head[3] == 4) || (head[2] == 5 && head[3] == 6))) {
+            return ZIP;
+        }
+        return TEXT;
+    }
+
+    public static LotFileFormat of(final MultipartFile file) throws FileUploadException {
+        final byte[] head = new byte[MAGIC_LENGTH];
+        final int length;
+        try (InputStream in = file.getInputStream()) {
+            length = in.readNBytes(head, 0, MAGIC_LENGTH);
+        } catch (IOException e) {
+            throw new FileUploadException("File read error: " + e.getMessage(), e);
+        }
+        final LotFileFormat format = detect(head, length);
+        if (format == TEXT && file.getContentType() != null
+                && COMPRESSED_CONTENT_TYPES.contains(file.getContentType().toLowerCase())) {
+            throw new FileUploadException(String.format(
+                    "File is declared as %s but is neither gzip nor zip", file.getContentType()));
+        }
+        return format;
+    }
+}
@@ -0,0 +1,458 @@
+package br.com.hyperativa.service.domain.processor;
+
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.metrics.PipelineOutcome;
+import br.com.hyperativa.service.application.metrics.PipelinePhase;
+import br.com.hyperativa.service.application.util.HashUtil;
+import br.com.hyperativa.service.application.util.LongOpenHashSet;
+import br.com.hyperativa.service.application.util.PackedCardNumber;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotRejectedLineDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Lot file processor for the upload path: a 51 character {@code LOTE} header, one card number per line in columns
+ * 8-26 and a {@code LOTE} footer with the record count.
+ * <p>
+ * Lines are scanned as bytes and card numbers are packed straight into {@code long}s: no {@code String} or DTO
+ * per line. Numbers failing {@link CardNumberValidator} are rejected here, with their reason, and numbers repeated
+ * in the file are dropped with a primitive hash set, which is released once the file is parsed; what remains costs
+ * 8 bytes per card.
+ * <p>
+ * Header and footer fields are kept for reconciliation, see {@link LotFileDTO}, and the whole file is hashed with
+ * SHA-256 in the same pass so a resubmitted lot can be recognized. A lot received in pieces is parsed as the pieces
+ * arrive, see {@link Scan}.
+ * <p>
+ * Gzip files are inflated on the fly into the same scan, and the lot files of a zip archive are inflated and parsed
+ * in parallel, see {@link LotFileFormat}; nothing is inflated to disk and the digest is the one of the lot file
+ * itself. The upload size limit applies to the bytes received, {@code app.file.upload.max-lines} to the lines of
+ * each lot file once inflated.
+ */
+@Component
+public class PackedCardTxtProcessor implements Processor<MultipartFile, LotFileDTO> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PackedCardTxtProcessor.class);
+    private static final byte[] HEADER_WORD = {'L', 'O', 'T', 'E'};
+    private static final int MIN_LINE_LENGTH = 23;
+    private static final int HEADER_LENGTH = 51;
+    private static final int HEADER_NAME_END = 29;
+    private static final int HEADER_DATE_END = 37;
+    private static final int HEADER_LOT_NUMBER_END = 45;
+    private static final int FOOTER_LOT_NUMBER_END = 8;
+    private static final int FOOTER_LENGTH = 14;
+    private static final DateTimeFormatter LOT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int CARD_NUMBER_START = 7;
+    private static final int CARD_NUMBER_END = 26;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int BYTES_PER_LINE = 28;
+    private static final int GZIP_EXPECTED_RATIO = 3;
+    private static final long MAX_BYTES_PER_LINE = 1024;
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final FileUploadConfig fileUploadConfig;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final CardNumberValidator cardNumberValidator;
+
+    public PackedCardTxtProcessor(
+            final FileUploadConfig fileUploadConfig,
+            final PipelineMetrics pipelineMetrics,
+            final CardNumberValidator cardNumberValidator
+    ) {
+        this.fileUploadConfig = fileUploadConfig;
+        this.pipelineMetrics = pipelineMetrics;
+        this.cardNumberValidator = cardNumberValidator;
+    }
+
+    /**
+     * Parses an uploaded lot file, plain or gzip.
+     */
+    @Override
+    public LotFileDTO process(final MultipartFile input) throws FileUploadException {
+        validateFile(input);
+        return read(input, fileUploadConfig.getMaxLines());
+    }
+
+    /**
+     * Parses a lot already accepted, such as a spooled one, plain or gzip, without the upload limits.
+     */
+    public LotFileDTO read(final MultipartFile input) throws FileUploadException {
+        return read(input, UNLIMITED);
+    }
+
+    /**
+     * Parses the lot files of an uploaded zip archive, in parallel on {@code executor}. There is one result per file
+     * in archive order, and a lot file failing to parse does not fail the others.
+     *
+     * @param archive archive content, whose size is checked against the upload size limit
+     */
+    public List<ArchiveEntry> processArchive(final Path archive, final Executor executor) throws FileUploadException {
+        final long size;
+        try {
+            size = Files.size(archive);
+        } catch (IOException e) {
+            throw new FileUploadException("Archive read error: " + e.getMessage(), e);
+        }
+        if (size > fileUploadConfig.getMaxFileSize()) {
+            throw new FileUploadException(String.format("File size (%d bytes) exceeds maximum allowed size (%d bytes)",
+                    size, fileUploadConfig.getMaxFileSize()));
+        }
+        return readArchive(archive, executor);
+    }
+
+    /**
+     * Parses the lot files of a zip archive already accepted, such as one dropped in the inbox, like
+     * {@link #processArchive} but without the upload size limit.
+     */
+    public List<ArchiveEntry> readArchive(final Path archive, final Executor executor) throws FileUploadException {
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            final List<? extends ZipEntry> entries = zip.stream().filter(entry -> !entry.isDirectory()).toList();
+            if (entries.isEmpty() || entries.size() > fileUploadConfig.getMaxArchiveEntries()) {
+                throw new FileUploadException(String.format("Archive must hold between 1 and %d files, got %d",
+                        fileUploadConfig.getMaxArchiveEntries(), entries.size()));
+            }
+            final List<CompletableFuture<ArchiveEntry>> parsed = entries.stream()
+                    .map(entry -> CompletableFuture.supplyAsync(() -> readEntry(zip, entry), executor))
+                    .toList();
+            return parsed.stream().map(CompletableFuture::join).toList();
+        } catch (ZipException e) {
+            throw new FileUploadException("Invalid zip archive: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new FileUploadException("Archive read error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Starts the parse of a plain lot received in pieces, see {@link Scan}.
+     *
+     * @param expectedSize size of the whole file, used to presize the card set
+     */
+    public Scan scan(final long expectedSize) {
+        return new Scan(expectedSize, UNLIMITED);
+    }
+
+    private LotFileDTO read(final MultipartFile input, final long maxLines) throws FileUploadException {
+        final LotFileFormat format = LotFileFormat.of(input);
+        if (format == LotFileFormat.ZIP) {
+            throw new FileUploadException("Zip archives hold several lot files and are only accepted on upload");
+        }
+        final Scan scan = new Scan(
+                format == LotFileFormat.GZIP ? input.getSize() * GZIP_EXPECTED_RATIO : input.getSize(), maxLines);
+        try (InputStream in = format == LotFileFormat.GZIP
+                ? new GZIPInputStream(input.getInputStream(), BUFFER_SIZE) : input.getInputStream()) {
+            return feed(scan, in);
+        } catch (IOException e) {
+            throw scan.failed(e);
+        }
+    }
+
+    private ArchiveEntry readEntry(final ZipFile zip, final ZipEntry entry) {
+        final Scan scan = new Scan(Math.max(0, entry.getSize()), fileUploadConfig.getMaxLines());
+        try (InputStream in = zip.getInputStream(entry)) {
+            return new ArchiveEntry(entry.getName(), feed(scan, in), null);
+        } catch (IOException e) {
+            return new ArchiveEntry(entry.getName(), null, scan.failed(e).getMessage());
+        } catch (FileUploadException e) {
+            LOGGER.warn("Lot file {} of archive refused: {}", entry.getName(), e.getMessage());
+            return new ArchiveEntry(entry.getName(), null, e.getMessage());
+        }
+    }
+
+    private static LotFileDTO feed(final Scan scan, final InputStream in) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            scan.update(buffer, 0, read);
+        }
+        return scan.finish();
+    }
+
+    private void validateFile(final MultipartFile file) throws FileUploadException {
+        if (file == null || file.isEmpty()) {
+            throw new FileUploadException("File is empty or null");
+        }
+
+        if (file.getSize() > fileUploadConfig.getMaxFileSize()) {
+            throw new FileUploadException(
+                    String.format("File size (%d bytes) exceeds maximum allowed size (%d bytes)",
+                            file.getSize(), fileUploadConfig.getMaxFileSize()));
+        }
+    }
+
+    /**
+     * Result of one file of a zip archive: its parsed lot, or the reason it was refused.
+     */
+    public record ArchiveEntry(String name, LotFileDTO lotFile, String error) {}
+
+    /**
+     * Parse of one lot file: bytes are fed in file order, possibly as they arrive, and the lot is complete once
+     * {@link #finish()} is called. The parse time is the time spent in this scan, not the time between the pieces.
+     */
+    public final class Scan {
+        private final LotScanner scanner;
+        private final long maxBytes;
+        private long position;
+        private long nanos;
+
+        private Scan(final long expectedSize, final long maxLines) {
+            this.scanner = new LotScanner(cardNumberValidator,
+                    (int) Math.min(Integer.MAX_VALUE, expectedSize / BYTES_PER_LINE), maxLines);
+            this.maxBytes = maxLines > UNLIMITED / MAX_BYTES_PER_LINE ? UNLIMITED : maxLines * MAX_BYTES_PER_LINE;
+        }
+
+        /**
+         * Bytes fed so far, i.e. the file offset of the next {@link #update}.
+         */
+        public long position() {
+            return position;
+        }
+
+        public void update(final byte[] bytes, final int offset, final int length) throws FileUploadException {
+            final long start = System.nanoTime();
+            try {
+                scanner.digest.update(bytes, offset, length);
+                final int end = offset + length;
+                for (int i = offset; i < end && !scanner.footer; i++) {
+                    scanner.accept(bytes[i]);
+                }
+                position += length;
+                if (position > maxBytes) {
+                    throw new FileUploadException(String.format(
+                            "File exceeds %d bytes once decompressed", maxBytes));
+                }
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        public LotFileDTO finish() throws FileUploadException {
+            final long start = System.nanoTime();
+            try {
+                scanner.finish();
+            } catch (RuntimeException e) {
+                throw failed(e);
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+
+            LOGGER.info("File processing completed for lot {} {}: {} cards, {} rejected, {} duplicates from {} total lines",
+                    scanner.name, scanner.lotNumber, scanner.cards.size(), scanner.rejected, scanner.duplicates,
+                    scanner.lines);
+            if (scanner.cards.isEmpty()) {
+                pipelineMetrics.recordDuration(PipelinePhase.FILE_PARSE, PipelineOutcome.ERROR, nanos);
+                throw new FileUploadException("No valid card numbers found in file");
+            }
+            pipelineMetrics.recordDuration(PipelinePhase.FILE_PARSE, PipelineOutcome.SUCCESS, nanos);
+            pipelineMetrics.recordLotSize(scanner.cards.size() + scanner.rejected + scanner.duplicates);
+            pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.VALID, scanner.cards.size());
+            pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.INVALID, scanner.rejected);
+            pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.DUPLICATE, scanner.duplicates);
+            final Map<CardRejectReason, Integer> rejectedBy = new EnumMap<>(CardRejectReason.class);
+            for (CardRejectReason reason : CardRejectReason.values()) {
+                pipelineMetrics.countRejected(reason, scanner.rejectedBy[reason.ordinal()]);
+                rejectedBy.put(reason, scanner.rejectedBy[reason.ordinal()]);
+            }
+            return new LotFileDTO(scanner.name, scanner.date, scanner.lotNumber, scanner.declaredRecords,
+                    scanner.footerLotNumber, scanner.footerRecords, scanner.records, scanner.rejected, rejectedBy,
+                    List.copyOf(scanner.rejectedLines), scanner.duplicates, HashUtil.hex(scanner.digest.digest()),
+                    scanner.cards);
+        }
+
+        private FileUploadException failed(final Exception e) {
+            pipelineMetrics.recordDuration(PipelinePhase.FILE_PARSE, PipelineOutcome.ERROR, nanos);
+            if (e instanceof FileUploadException fileUploadException) {
+                return fileUploadException;
+            }
+            return new FileUploadException(
+                    String.format("File processing error at line %d: %s", scanner.lines, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Line state machine over the raw bytes; keeps only the first {@value #HEADER_LENGTH} bytes of a line.
+     */
+    private static final class LotScanner {
+        private final CardNumberValidator validator;
+        private final MessageDigest digest = HashUtil.sha256Digest();
+        private final byte[] line = new byte[HEADER_LENGTH];
+        private final PackedCardNumbers cards = new PackedCardNumbers();
+        private final LongOpenHashSet seen;
+        private final int[] rejectedBy = new int[CardRejectReason.values().length];
+        private final List<LotRejectedLineDTO> rejectedLines = new ArrayList<>(LotFileDTO.MAX_REJECTED_LINES);
+        private final long maxLines;
+        private int length;
+        private boolean carriageReturn;
+        private int lines;
+        private int rejected;
+        private int duplicates;
+        private int records;
+        private boolean footer;
+        private String name;
+        private LocalDate date;
+        private String lotNumber;
+        private int declaredRecords;
+        private String footerLotNumber;
+        private Integer footerRecords;
+
+        private LotScanner(final CardNumberValidator validator, final int expectedCards, final long maxLines) {
+            this.validator = validator;
+            this.seen = new LongOpenHashSet(expectedCards);
+            this.maxLines = maxLines;
+        }
+
+        private void accept(final byte b) {
+            if (b == '\n') {
+                endLine();
+                return;
+            }
+            if (length < line.length) {
+                line[length] = b;
+            }
+            length++;
+            carriageReturn = b == '\r';
+        }
+
+        private void finish() {
+            if (length > 0) {
+                endLine();
+            }
+        }
+
+        private void endLine() {
+            final int lineLength = carriageReturn ? length - 1 : length;
+            lines++;
+            length = 0;
+            carriageReturn = false;
+            if (lines > maxLines) {
+                throw new FileUploadException(String.format("File exceeds %d lines", maxLines));
+            }
+
+            if (lines == 1) {
+                if (lineLength < HEADER_LENGTH) {
+                    throw new FileUploadException(String.format(
+                            "Invalid file format: header at line %d is missing or too short (expected %d chars, got %d)",
+                            lines, HEADER_LENGTH, lineLength));
+                }
+                name = ascii(0, HEADER_NAME_END).strip();
+                date = date(ascii(HEADER_NAME_END, HEADER_DATE_END));
+                lotNumber = ascii(HEADER_DATE_END, HEADER_LOT_NUMBER_END);
+                declaredRecords = number(HEADER_LOT_NUMBER_END, HEADER_LENGTH);
+                return;
+            }
+            if (startsWithHeaderWord(lineLength)) {
+                LOGGER.info("Footer found at line {}, stopping processing", lines);
+                footer = true;
+                footerLotNumber = ascii(0, Math.min(FOOTER_LOT_NUMBER_END, lineLength));
+                if (lineLength >= FOOTER_LENGTH) {
+                    footerRecords = number(FOOTER_LOT_NUMBER_END, FOOTER_LENGTH);
+                }
+                return;
+            }
+            if (lineLength == 0) {
+                return;
+            }
+            records++;
+            if (lineLength < MIN_LINE_LENGTH) {
+                LOGGER.warn("Line {} is too short (length: {}), skipping", lines, lineLength);
+                return;
+            }
+
+            int from = CARD_NUMBER_START;
+            int to = Math.min(CARD_NUMBER_END, lineLength);
+            while (from < to && line[from] <= ' ') {
+                from++;
+            }
+            while (to > from && line[to - 1] <= ' ') {
+                to--;
+            }
+            if (from == to) {
+                return;
+            }
+            final CardRejectReason reason = validator.rejectReason(line, from, to);
+            if (reason != null) {
+                rejected++;
+                rejectedBy[reason.ordinal()]++;
+                if (rejectedLines.size() < LotFileDTO.MAX_REJECTED_LINES) {
+                    rejectedLines.add(new LotRejectedLineDTO(lines, reason));
+                }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Line {} rejected: {}", lines, reason);
+                }
+                return;
+            }
+            final long packed = PackedCardNumber.pack(line, from, to);
+            if (seen.add(packed)) {
+                cards.add(packed);
+            } else {
+                duplicates++;
+            }
+        }
+
+        private String ascii(final int from, final int to) {
+            return new String(line, from, to - from, StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Digits of {@code line[from, to)} as a number, or -1 when they are not all digits.
+         */
+        private int number(final int from, final int to) {
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                if (line[i] < '0' || line[i] > '9') {
+                    return -1;
+                }
+                value = value * 10 + line[i] - '0';
+            }
+            return value;
+        }
+
+        private static LocalDate date(final String value) {
+            try {
+                return LocalDate.parse(value, LOT_DATE);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        private boolean startsWithHeaderWord(final int lineLength) {
+            if (lineLength < HEADER_WORD.length) {
+                return false;
+            }
+            for (int i = 0; i < HEADER_WORD.length; i++) {
+                if (line[i] != HEADER_WORD[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
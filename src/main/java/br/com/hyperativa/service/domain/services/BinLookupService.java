@@ -0,0 +1,9 @@
+package br.com.hyperativa.service.domain.services;
+
+import br.com.hyperativa.service.domain.entity.dto.BinInfo;
+
+public interface BinLookupService {
+    BinInfo findByCardNumber(final String cardNumber);
+
+    int size();
+}
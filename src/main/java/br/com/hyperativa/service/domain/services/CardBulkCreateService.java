@@ -0,0 +1,10 @@
+package br.com.hyperativa.service.domain.services;
+
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface CardBulkCreateService {
+    List<CardCreateResultDTO> createCards(final InputStream input);
+}
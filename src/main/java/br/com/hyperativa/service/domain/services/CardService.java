@@ -1,20 +1,37 @@
 package br.com.hyperativa.service.domain.services;
 
 import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
 import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CardService {
     CardGetDTO createCard(final CardCreateDTO cardCreate);
 
     void createCardsInBatch(final List<CardCreateDTO> cardCreates);
 
+    int createPackedCardsInBatch(final PackedCardNumbers cardNumbers, final Long lotId);
+
+    List<CardCreateResultDTO> createCardsChunk(final List<CardCreateDTO> cardCreates);
+
     CardGetDTO getCardByNumber(final String cardNumber);
 
     CardGetDTO getCardByIdentifier(final String cardNumberIdentifier);
 
+    List<Optional<CardGetDTO>> getCardsByNumbers(final List<String> cardNumbers);
+
     Page<CardGetDTO> getAllCards(final Pageable pageable);
+
+    Slice<CardGetDTO> getCardSlice(final Pageable pageable);
+
+    long countCards();
+
+    long exportCards(final long afterId, final Consumer<CardGetDTO> consumer);
 }
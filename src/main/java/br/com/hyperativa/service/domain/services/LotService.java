@@ -0,0 +1,35 @@
+package br.com.hyperativa.service.domain.services;
+
+import br.com.hyperativa.service.domain.entity.dto.LotArchiveGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+public interface LotService {
+    LotGetDTO ingest(final MultipartFile file);
+
+    /**
+     * Queues every lot file of a zip archive, each as its own lot.
+     */
+    LotArchiveGetDTO ingestArchive(final MultipartFile file);
+
+    /**
+     * Queues a lot parsed while it was uploaded in pieces, the content being the file of the upload session.
+     */
+    LotGetDTO ingestUploaded(final LotFileDTO lotFile, final Long sessionId);
+
+    /**
+     * Queues a lot file, plain or gzip, dropped in the local inbox; it is linked into the spool rather than copied
+     * when both directories are on the same file system.
+     */
+    LotGetDTO ingestLocal(final Path file);
+
+    /**
+     * Queues every lot file of a zip archive dropped in the local inbox, each as its own lot.
+     */
+    LotArchiveGetDTO ingestLocalArchive(final Path archive);
+
+    LotGetDTO getLot(final Long id);
+}
@@ -0,0 +1,24 @@
+package br.com.hyperativa.service.domain.services;
+
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionGetDTO;
+
+public interface UploadSessionService {
+    UploadSessionGetDTO create(final String fileName, final long fileSize);
+
+    /**
+     * Stores a piece of the file starting at {@code offset}, which must not be past the bytes received so far.
+     *
+     * @param checksum lowercase or uppercase hex SHA-256 of {@code content}
+     */
+    UploadSessionGetDTO append(final Long id, final long offset, final String checksum, final byte[] content);
+
+    UploadSessionGetDTO getSession(final Long id);
+
+    /**
+     * Queues the lot of a fully received session.
+     */
+    LotGetDTO complete(final Long id);
+
+    void abort(final Long id);
+}
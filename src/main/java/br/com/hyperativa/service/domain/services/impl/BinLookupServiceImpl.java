@@ -0,0 +1,82 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.BinTableConfig;
+import br.com.hyperativa.service.application.util.BinTable;
+import br.com.hyperativa.service.domain.entity.dto.BinInfo;
+import br.com.hyperativa.service.domain.services.BinLookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Serves brand and issuer from the BIN range file in {@code app.bin-table.file}, see {@link BinTable}.
+ * <p>
+ * The file is loaded at startup and reloaded when its modification time changes. A new table is built aside and
+ * swapped in through a volatile field, so lookups never wait for a reload; a file that fails to parse is logged and
+ * the previous table stays in use until the file changes again.
+ */
+@Service
+public class BinLookupServiceImpl implements BinLookupService, InitializingBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinLookupServiceImpl.class);
+    private static final FileTime MISSING = FileTime.fromMillis(Long.MIN_VALUE);
+
+    private final BinTableConfig binTableConfig;
+
+    private volatile BinTable table = BinTable.EMPTY;
+
+    private FileTime checkedModified;
+
+    public BinLookupServiceImpl(final BinTableConfig binTableConfig) {
+        this.binTableConfig = binTableConfig;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        reload();
+    }
+
+    @Override
+    public BinInfo findByCardNumber(final String cardNumber) {
+        return table.find(cardNumber);
+    }
+
+    @Override
+    public int size() {
+        return table.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.bin-table.reload-interval-ms:5000}")
+    public synchronized void reload() {
+        if (binTableConfig.getFile() == null || binTableConfig.getFile().isBlank()) {
+            return;
+        }
+        final Path file = Path.of(binTableConfig.getFile());
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            modified = MISSING;
+        }
+        if (modified.equals(checkedModified)) {
+            return;
+        }
+        checkedModified = modified;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final BinTable loaded = BinTable.parse(reader);
+            table = loaded;
+            LOGGER.info("BIN table loaded from {}: {} ranges", file, loaded.size());
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("BIN table {} not loaded, keeping {} ranges: {}", file, table.size(), e.toString());
+        }
+    }
+}
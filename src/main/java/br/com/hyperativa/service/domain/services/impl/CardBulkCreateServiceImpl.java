@@ -0,0 +1,195 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.BulkCreateConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.metrics.PipelineOutcome;
+import br.com.hyperativa.service.application.metrics.PipelinePhase;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.services.CardBulkCreateService;
+import br.com.hyperativa.service.domain.services.CardService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates cards from a JSON array read incrementally with the Jackson streaming parser.
+ * <p>
+ * Elements are either card number strings or {@code {"cardNumber": "..."}} objects. Only the current chunk is
+ * kept in memory; every chunk is written in its own transaction, so chunks written before a syntax error stay
+ * committed. A failing chunk is retried card by card to isolate the failing elements; a card stored meanwhile by a
+ * concurrent request is then reported as a duplicate of the stored one.
+ */
+@Service
+public class CardBulkCreateServiceImpl implements CardBulkCreateService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardBulkCreateServiceImpl.class);
+    private static final String CARD_NUMBER_FIELD = "cardNumber";
+
+    private final CardService cardService;
+
+    private final ObjectMapper objectMapper;
+
+    private final BulkCreateConfig bulkCreateConfig;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final CardNumberValidator cardNumberValidator;
+
+    public CardBulkCreateServiceImpl(
+            final CardService cardService,
+            final ObjectMapper objectMapper,
+            final BulkCreateConfig bulkCreateConfig,
+            final PipelineMetrics pipelineMetrics,
+            final CardNumberValidator cardNumberValidator
+    ) {
+        this.cardService = cardService;
+        this.objectMapper = objectMapper;
+        this.bulkCreateConfig = bulkCreateConfig;
+        this.pipelineMetrics = pipelineMetrics;
+        this.cardNumberValidator = cardNumberValidator;
+    }
+
+    @Override
+    public List<CardCreateResultDTO> createCards(final InputStream input) {
+        final int chunkSize = Math.max(1, bulkCreateConfig.getChunkSize());
+        final List<CardCreateResultDTO> results = new ArrayList<>();
+        final List<CardCreateDTO> chunk = new ArrayList<>(chunkSize);
+        final List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int invalid = 0;
+
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new HyperativaBaseException("Request body must be a JSON array of cards");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new HyperativaBaseException("Unexpected end of JSON array after " + results.size() + " cards");
+                }
+                if (results.size() >= bulkCreateConfig.getMaxItems()) {
+                    throw new HyperativaBaseException(String.format(
+                            "Bulk create exceeds maximum allowed size (%d cards)", bulkCreateConfig.getMaxItems()));
+                }
+
+                final String cardNumber = readCardNumber(parser, token);
+                final CardRejectReason reason = cardNumber == null || cardNumber.isBlank()
+                        ? CardRejectReason.MISSING : cardNumberValidator.rejectReason(cardNumber);
+                if (reason != null) {
+                    results.add(CardCreateResultDTO.invalid(reason));
+                    pipelineMetrics.countRejected(reason, 1);
+                    invalid++;
+                    continue;
+                }
+
+                chunkIndexes.add(results.size());
+                chunk.add(new CardCreateDTO(cardNumber));
+                results.add(null);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, chunkIndexes, results);
+                }
+            }
+            writeChunk(chunk, chunkIndexes, results);
+        } catch (JsonProcessingException e) {
+            throw new HyperativaBaseException("Malformed JSON after " + results.size() + " cards: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.INVALID, invalid);
+        }
+
+        return results;
+    }
+
+    /**
+     * Reads the card number of the current element, skipping anything else; returns null for unusable elements.
+     */
+    private String readCardNumber(final JsonParser parser, final JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String cardNumber = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+            if (CARD_NUMBER_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                cardNumber = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return cardNumber;
+    }
+
+    private void writeChunk(
+            final List<CardCreateDTO> chunk,
+            final List<Integer> chunkIndexes,
+            final List<CardCreateResultDTO> results
+    ) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.VALID, chunk.size());
+        List<CardCreateResultDTO> written;
+        try {
+            written = cardService.createCardsChunk(chunk);
+        } catch (CardCreateException e) {
+            LOGGER.warn("Chunk of {} cards failed, retrying one by one: {}", chunk.size(), e.getMessage());
+            written = chunk.stream().map(this::createSingle).toList();
+        }
+
+        for (int i = 0; i < written.size(); i++) {
+            results.set(chunkIndexes.get(i), written.get(i));
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private CardCreateResultDTO createSingle(final CardCreateDTO cardCreate) {
+        try {
+            final CardGetDTO card = cardService.createCard(cardCreate);
+            return CardCreateResultDTO.created(card.id(), card.cardNumberIdentifier());
+        } catch (CardCreateException e) {
+            if (e.getCause() instanceof DataIntegrityViolationException) {
+                return stored(cardCreate);
+            }
+            return CardCreateResultDTO.error();
+        }
+    }
+
+    /**
+     * Result of a card whose insert hit a unique index: a duplicate of the stored card, or an error when no card has
+     * its number, i.e. the violated index was not the fingerprint one.
+     */
+    private CardCreateResultDTO stored(final CardCreateDTO cardCreate) {
+        try {
+            final CardGetDTO card = cardService.getCardByNumber(cardCreate.cardNumber());
+            return CardCreateResultDTO.duplicate(card.id(), card.cardNumberIdentifier());
+        } catch (NotFoundException e) {
+            return CardCreateResultDTO.error();
+        }
+    }
+}
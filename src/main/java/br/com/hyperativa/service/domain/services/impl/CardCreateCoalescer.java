@@ -0,0 +1,203 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.GroupCommitConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.services.CardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for single-card creates.
+ * <p>
+ * When {@code app.group-commit.enabled} is set, concurrent callers are queued and a single flusher thread writes
+ * them together through {@link CardService#createCardsChunk}, one transaction (and one fsync) per batch. A batch
+ * is closed after {@code max-delay-ms} from its first request or at {@code max-batch-size}; every caller blocks
+ * until its own card is written and gets its identifier or its error. A failed batch, or a full queue, falls back
+ * to individual creates so one bad card never fails its neighbours.
+ */
+@Component
+public class CardCreateCoalescer implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CardCreateCoalescer.class);
+    private static final long IDLE_POLL_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    private record PendingCreate(CardCreateDTO card, CompletableFuture<CardGetDTO> result, long enqueuedAt) {}
+
+    private final CardService cardService;
+
+    private final GroupCommitConfig config;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final BlockingQueue<PendingCreate> queue;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public CardCreateCoalescer(
+            final CardService cardService,
+            final GroupCommitConfig config,
+            final PipelineMetrics pipelineMetrics
+    ) {
+        this.cardService = cardService;
+        this.config = config;
+        this.pipelineMetrics = pipelineMetrics;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+    }
+
+    /**
+     * Creates a card, coalesced with concurrent callers when group commit is enabled.
+     */
+    public CardGetDTO create(final CardCreateDTO cardCreate) {
+        if (!running) {
+            return cardService.createCard(cardCreate);
+        }
+
+        final PendingCreate pending = new PendingCreate(cardCreate, new CompletableFuture<>(), System.nanoTime());
+        if (!queue.offer(pending) || (!running && queue.remove(pending))) {
+            // Queue full, or stopped meanwhile and the flusher may already be gone
+            pipelineMetrics.countGroupCommitFallbacks(1);
+            return cardService.createCard(cardCreate);
+        }
+
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!config.isEnabled() || running) {
+            return;
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "hyperativa-group-commit");
+        flusher.setDaemon(true);
+        flusher.start();
+        LOGGER.info("Group commit started (max delay {} ms, max batch {})", config.getMaxDelayMs(), config.getMaxBatchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainIndividually();
+        LOGGER.info("Group commit stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stopped after the web server, so requests still in flight during graceful shutdown are written.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void flushLoop() {
+        final long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxDelayMs());
+        final int maxBatchSize = Math.max(1, config.getMaxBatchSize());
+        final List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+
+        try {
+            while (running || !queue.isEmpty()) {
+                final PendingCreate first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                final long deadline = first.enqueuedAt() + maxDelayNanos;
+                try {
+                    while (batch.size() < maxBatchSize) {
+                        final PendingCreate next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } finally {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Group commit flusher interrupted, writing {} queued cards individually", queue.size());
+            drainIndividually();
+        }
+    }
+
+    private void drainIndividually() {
+        PendingCreate pending;
+        while ((pending = queue.poll()) != null) {
+            createIndividually(pending);
+        }
+    }
+
+    private void flush(final List<PendingCreate> batch) {
+        final long now = System.nanoTime();
+        batch.forEach(pending -> pipelineMetrics.recordGroupCommitWait(now - pending.enqueuedAt()));
+        pipelineMetrics.recordGroupCommit(batch.size());
+
+        final List<CardCreateResultDTO> results;
+        try {
+            results = cardService.createCardsChunk(batch.stream().map(PendingCreate::card).toList());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Group commit of {} cards failed, writing them individually: {}", batch.size(), e.getMessage());
+            pipelineMetrics.countGroupCommitFallbacks(batch.size());
+            batch.forEach(this::createIndividually);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            final CardCreateResultDTO result = results.get(i);
+            final CompletableFuture<CardGetDTO> future = batch.get(i).result();
+            switch (result.status()) {
+                case CREATED -> future.complete(new CardGetDTO(result.id(), result.cardNumberIdentifier()));
+                case DUPLICATE -> future.completeExceptionally(new CardCreateException("Card create error: card already exists"));
+                default -> future.completeExceptionally(new CardCreateException("Card create error"));
+            }
+        }
+    }
+
+    private void createIndividually(final PendingCreate pending) {
+        try {
+            pending.result().complete(cardService.createCard(pending.card()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+}
@@ -1,18 +1,44 @@
 package br.com.hyperativa.service.domain.services.impl;
 
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.config.LookupConfig;
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRoute;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.metrics.PipelineOutcome;
+import br.com.hyperativa.service.application.metrics.PipelinePhase;
+import br.com.hyperativa.service.application.util.HashUtil;
 import br.com.hyperativa.service.domain.entity.Card;
 import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
 import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardHashDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
 import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
 import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.services.BinLookupService;
 import br.com.hyperativa.service.domain.services.CardService;
 import br.com.hyperativa.service.resources.repository.CardRepository;
+import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing card operations.
@@ -23,15 +49,43 @@ import java.util.List;
 public class CardServiceImpl implements CardService {
     private final CardRepository cardRepository;
 
-    public CardServiceImpl(final CardRepository cardRepository) {
+    private final PipelineMetrics pipelineMetrics;
+
+    private final LookupConfig lookupConfig;
+
+    private final FileUploadConfig fileUploadConfig;
+
+    private final EntityManager entityManager;
+
+    private final CardNumberValidator cardNumberValidator;
+
+    private final BinLookupService binLookupService;
+
+    public CardServiceImpl(
+            final CardRepository cardRepository,
+            final PipelineMetrics pipelineMetrics,
+            final LookupConfig lookupConfig,
+            final FileUploadConfig fileUploadConfig,
+            final EntityManager entityManager,
+            final CardNumberValidator cardNumberValidator,
+            final BinLookupService binLookupService
+    ) {
         this.cardRepository = cardRepository;
+        this.pipelineMetrics = pipelineMetrics;
+        this.lookupConfig = lookupConfig;
+        this.fileUploadConfig = fileUploadConfig;
+        this.entityManager = entityManager;
+        this.cardNumberValidator = cardNumberValidator;
+        this.binLookupService = binLookupService;
     }
 
     @Override
     @Transactional
     public CardGetDTO createCard(final CardCreateDTO cardCreate) {
         try {
-            final Card created = cardRepository.save(new Card().cardNumber(cardCreate.cardNumber()));
+            final Card card = pipelineMetrics.record(PipelinePhase.FINGERPRINT,
+                    () -> new Card().cardNumber(cardCreate.cardNumber()));
+            final Card created = pipelineMetrics.record(PipelinePhase.DB_WRITE, () -> cardRepository.save(card));
             return new CardGetDTO(created.getId(), created.getCardNumberIdentifier());
         } catch (Exception e) {
             throw new CardCreateException("Card create error", e);
@@ -39,57 +93,229 @@ public class CardServiceImpl implements CardService {
     }
 
     @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
     @Transactional
     public void createCardsInBatch(List<CardCreateDTO> cardCreates) {
         try {
-            final List<Card> cards = cardCreates.stream()
-                    .filter(CardCreateDTO::isValidCardNumber)
-                    .map(cardCreate -> new Card().cardNumber(cardCreate.cardNumber()))
-                    .toList();
-            cardRepository.saveAll(cards);
+            final Map<Boolean, List<CardCreateDTO>> validated = pipelineMetrics.record(PipelinePhase.VALIDATION,
+                    () -> cardCreates.stream().collect(Collectors.partitioningBy(
+                            cardCreate -> cardNumberValidator.isValid(cardCreate.cardNumber()))));
+            pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.VALID, validated.get(true).size());
+            pipelineMetrics.count(PipelinePhase.VALIDATION, PipelineOutcome.INVALID, validated.get(false).size());
+
+            final List<Card> cards = pipelineMetrics.record(PipelinePhase.FINGERPRINT,
+                    () -> validated.get(true).stream()
+                            .map(cardCreate -> new Card().cardNumber(cardCreate.cardNumber()))
+                            .toList());
+            pipelineMetrics.recordBatchChunkSize(cards.size());
+            pipelineMetrics.record(PipelinePhase.DB_WRITE, () -> cardRepository.saveAll(cards));
         } catch (Exception e) {
             throw new CardCreateException("Batch card create error", e);
         }
     }
 
+    /**
+     * Writes packed cards, one commit chunk of a lot, in a single transaction. Entities are only built for one write
+     * chunk at a time and detached once it is flushed, so the persistence context never holds the whole commit chunk.
+     * Cards already stored, e.g. by an earlier lot, a single create or an interrupted attempt of the same chunk, are
+     * looked up by fingerprint per write chunk and skipped, so they neither hit the unique index nor get encrypted.
+     * Every card is tagged with {@code lotId}, which may be null.
+     */
     @Override
-    public CardGetDTO getCardByNumber(final String cardNumber) {
-        String hash = hashCardNumber(cardNumber);
-        return cardRepository.findByCardNumberHash(hash)
-                .map(card -> new CardGetDTO(card.getId(), card.getCardNumberIdentifier()))
-                .orElseThrow(() -> new NotFoundException("Card not found"));
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    @Transactional
+    public int createPackedCardsInBatch(final PackedCardNumbers cardNumbers, final Long lotId) {
+        try {
+            final int chunkSize = Math.max(1, fileUploadConfig.getWriteChunkSize());
+            int written = 0;
+            for (int from = 0; from < cardNumbers.size(); from += chunkSize) {
+                final int start = from;
+                final int end = Math.min(from + chunkSize, cardNumbers.size());
+                final List<Card> candidates = pipelineMetrics.record(PipelinePhase.FINGERPRINT, () -> {
+                    final List<Card> chunk = new ArrayList<>(end - start);
+                    for (int i = start; i < end; i++) {
+                        chunk.add(new Card().cardNumber(cardNumbers.cardNumber(i)).lotId(lotId));
+                    }
+                    return chunk;
+                });
+                final Set<String> stored = pipelineMetrics.record(PipelinePhase.DB_LOOKUP,
+                        () -> cardRepository.findIdentifiersByHashIn(
+                                candidates.stream().map(Card::getCardNumberHash).toList())).stream()
+                        .map(CardHashDTO::cardNumberHash)
+                        .collect(Collectors.toSet());
+                final List<Card> cards = stored.isEmpty() ? candidates : candidates.stream()
+                        .filter(card -> !stored.contains(card.getCardNumberHash()))
+                        .toList();
+                pipelineMetrics.count(PipelinePhase.DB_WRITE, PipelineOutcome.DUPLICATE,
+                        candidates.size() - cards.size());
+                if (cards.isEmpty()) {
+                    continue;
+                }
+                pipelineMetrics.recordBatchChunkSize(cards.size());
+                pipelineMetrics.record(PipelinePhase.DB_WRITE, () -> {
+                    cardRepository.saveAll(cards);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                written += cards.size();
+            }
+            return written;
+        } catch (Exception e) {
+            throw new CardCreateException("Batch card create error", e);
+        }
     }
 
     /**
-     * Generates SHA-256 hash of card number for search purposes.
-     * Must match the hash generation in Card entity.
+     * Writes one chunk of already validated cards in a single transaction and returns a result per card, in order.
+     * Cards already stored, or repeated inside the chunk, are reported as duplicates instead of failing the insert.
      */
-    private String hashCardNumber(String cardNumber) {
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    @Transactional
+    public List<CardCreateResultDTO> createCardsChunk(final List<CardCreateDTO> cardCreates) {
         try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(cardNumber.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
+            final List<String> hashes = pipelineMetrics.record(PipelinePhase.FINGERPRINT,
+                    () -> cardCreates.stream().map(cardCreate -> HashUtil.sha256Hex(cardCreate.cardNumber())).toList());
+            final Map<String, CardHashDTO> existing = pipelineMetrics.record(PipelinePhase.DB_LOOKUP,
+                    () -> cardRepository.findIdentifiersByHashIn(new LinkedHashSet<>(hashes))).stream()
+                    .collect(Collectors.toMap(CardHashDTO::cardNumberHash, card -> card));
+
+            final Map<String, Card> pending = HashMap.newHashMap(cardCreates.size());
+            final List<Card> cards = new ArrayList<>(cardCreates.size());
+            for (int i = 0; i < cardCreates.size(); i++) {
+                if (!existing.containsKey(hashes.get(i)) && !pending.containsKey(hashes.get(i))) {
+                    final Card card = new Card().cardNumber(cardCreates.get(i).cardNumber());
+                    pending.put(hashes.get(i), card);
+                    cards.add(card);
+                }
+            }
+            pipelineMetrics.recordBatchChunkSize(cards.size());
+            pipelineMetrics.record(PipelinePhase.DB_WRITE, () -> cardRepository.saveAll(cards));
+
+            final List<CardCreateResultDTO> results = new ArrayList<>(cardCreates.size());
+            final Set<String> reported = HashSet.newHashSet(cards.size());
+            for (final String hash : hashes) {
+                final CardHashDTO stored = existing.get(hash);
+                if (stored != null) {
+                    results.add(CardCreateResultDTO.duplicate(stored.id(), stored.cardNumberIdentifier()));
+                    continue;
+                }
+                final Card card = pending.get(hash);
+                results.add(reported.add(hash)
+                        ? CardCreateResultDTO.created(card.getId(), card.getCardNumberIdentifier())
+                        : CardCreateResultDTO.duplicate(card.getId(), card.getCardNumberIdentifier()));
             }
-            return hexString.toString();
+            return results;
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to generate hash", e);
+            throw new CardCreateException("Chunk card create error", e);
         }
     }
 
+    @Override
+    public CardGetDTO getCardByNumber(final String cardNumber) {
+        final String hash = pipelineMetrics.record(PipelinePhase.FINGERPRINT, () -> HashUtil.sha256Hex(cardNumber));
+        return lookup(() -> cardRepository.findByCardNumberHash(hash))
+                .map(card -> new CardGetDTO(card.getId(), card.getCardNumberIdentifier())
+                        .withBin(binLookupService.findByCardNumber(cardNumber)))
+                .orElseThrow(() -> new NotFoundException("Card not found"));
+    }
+
     @Override
     public CardGetDTO getCardByIdentifier(final String cardNumberIdentifier) {
-        return cardRepository.findByCardNumberIdentifier(cardNumberIdentifier)
+        return lookup(() -> cardRepository.findByCardNumberIdentifier(cardNumberIdentifier))
                 .map(card -> new CardGetDTO(card.getId(), card.getCardNumberIdentifier()))
                 .orElseThrow(() -> new NotFoundException("Card not found"));
     }
 
+    /**
+     * Resolves many card numbers at once: fingerprints are computed in parallel and looked up with chunked
+     * {@code IN} queries, results are returned in input order with an empty entry for every unknown number.
+     * Found cards carry the brand and issuer of their BIN.
+     */
+    @Override
+    public List<Optional<CardGetDTO>> getCardsByNumbers(final List<String> cardNumbers) {
+        if (cardNumbers.size() > lookupConfig.getMaxBatchSize()) {
+            throw new HyperativaBaseException(String.format("Lookup batch size (%d) exceeds maximum allowed size (%d)",
+                    cardNumbers.size(), lookupConfig.getMaxBatchSize()));
+        }
+
+        final List<String> hashes = pipelineMetrics.record(PipelinePhase.FINGERPRINT,
+                () -> cardNumbers.parallelStream().map(HashUtil::sha256Hex).toList());
+
+        final List<String> distinctHashes = List.copyOf(new LinkedHashSet<>(hashes));
+        final int chunkSize = Math.max(1, lookupConfig.getChunkSize());
+        final Map<String, CardGetDTO> cardsByHash = HashMap.newHashMap(distinctHashes.size());
+        for (int from = 0; from < distinctHashes.size(); from += chunkSize) {
+            final List<String> chunk = distinctHashes.subList(from, Math.min(from + chunkSize, distinctHashes.size()));
+            final List<CardHashDTO> found = pipelineMetrics.record(PipelinePhase.DB_LOOKUP,
+                    () -> cardRepository.findIdentifiersByHashIn(chunk));
+            found.forEach(card -> cardsByHash.put(card.cardNumberHash(),
+                    new CardGetDTO(card.id(), card.cardNumberIdentifier())));
+        }
+
+        final List<Optional<CardGetDTO>> results = new ArrayList<>(hashes.size());
+        long found = 0;
+        for (int i = 0; i < hashes.size(); i++) {
+            final CardGetDTO card = cardsByHash.get(hashes.get(i));
+            if (card == null) {
+                results.add(Optional.empty());
+                continue;
+            }
+            results.add(Optional.of(card.withBin(binLookupService.findByCardNumber(cardNumbers.get(i)))));
+            found++;
+        }
+        pipelineMetrics.count(PipelinePhase.DB_LOOKUP, PipelineOutcome.SUCCESS, found);
+        pipelineMetrics.count(PipelinePhase.DB_LOOKUP, PipelineOutcome.NOT_FOUND, results.size() - found);
+        return results;
+    }
+
     @Override
     public Page<CardGetDTO> getAllCards(Pageable pageable) {
-        return cardRepository.findAll(pageable)
+        return pipelineMetrics.record(PipelinePhase.DB_LOOKUP, () -> cardRepository.findAll(pageable))
                 .map(card -> new CardGetDTO(card.getId(), card.getCardNumberIdentifier()));
     }
+
+    @Override
+    public Slice<CardGetDTO> getCardSlice(final Pageable pageable) {
+        return pipelineMetrics.record(PipelinePhase.DB_LOOKUP, () -> cardRepository.findIdentifiers(pageable));
+    }
+
+    @Override
+    public long countCards() {
+        return pipelineMetrics.record(PipelinePhase.DB_LOOKUP, () -> cardRepository.count());
+    }
+
+    /**
+     * Streams every card after the given id without paging, see {@link CardRepository#streamIdentifiersAfter}.
+     */
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    public long exportCards(final long afterId, final Consumer<CardGetDTO> consumer) {
+        final long start = System.nanoTime();
+        try {
+            final long rows = cardRepository.streamIdentifiersAfter(afterId, consumer);
+            pipelineMetrics.recordDuration(PipelinePhase.EXPORT, PipelineOutcome.SUCCESS, System.nanoTime() - start);
+            pipelineMetrics.count(PipelinePhase.EXPORT, PipelineOutcome.SUCCESS, rows);
+            return rows;
+        } catch (RuntimeException e) {
+            pipelineMetrics.recordDuration(PipelinePhase.EXPORT, PipelineOutcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a single-card lookup, tagging the DB lookup timer as not_found when nothing matches.
+     */
+    private Optional<Card> lookup(final Supplier<Optional<Card>> query) {
+        final long start = System.nanoTime();
+        try {
+            final Optional<Card> card = query.get();
+            pipelineMetrics.recordDuration(PipelinePhase.DB_LOOKUP,
+                    card.isPresent() ? PipelineOutcome.SUCCESS : PipelineOutcome.NOT_FOUND, System.nanoTime() - start);
+            return card;
+        } catch (RuntimeException e) {
+            pipelineMetrics.recordDuration(PipelinePhase.DB_LOOKUP, PipelineOutcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
 }
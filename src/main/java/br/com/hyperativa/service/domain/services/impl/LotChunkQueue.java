@@ -0,0 +1,129 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRoute;
+import br.com.hyperativa.service.domain.entity.Lot;
+import br.com.hyperativa.service.domain.entity.LotChunk;
+import br.com.hyperativa.service.domain.entity.dto.LotChunkStatus;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.resources.repository.LotChunkRepository;
+import br.com.hyperativa.service.resources.repository.LotRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database-backed queue of lot chunks, shared by every instance through the {@code lot_chunk} table on shard 0.
+ * <p>
+ * A chunk is claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED} and leased to its claimer; the row lock only
+ * lasts for the claim, the lease for the work. An expired lease makes the chunk claimable again, and a completion
+ * or failure reported after losing the lease is ignored. Completions lock their lot, so the chunk that completes
+ * the lot is always seen as the last one.
+ */
+@Component
+@DataSourceRoute(DataSourcePool.INGESTION)
+public class LotChunkQueue {
+    private final LotRepository lotRepository;
+
+    private final LotChunkRepository lotChunkRepository;
+
+    private final LotConfig lotConfig;
+
+    public LotChunkQueue(
+            final LotRepository lotRepository,
+            final LotChunkRepository lotChunkRepository,
+            final LotConfig lotConfig
+    ) {
+        this.lotRepository = lotRepository;
+        this.lotChunkRepository = lotChunkRepository;
+        this.lotConfig = lotConfig;
+    }
+
+    /**
+     * Stores a new lot as processing together with its chunks.
+     */
+    @Transactional
+    public Lot submit(final Lot lot) {
+        final Lot saved = lotRepository.save(lot.status(LotStatus.PROCESSING));
+        final int chunkSize = Math.max(1, lotConfig.getCommitChunkSize());
+        final List<LotChunk> chunks = new ArrayList<>(saved.getAcceptedCards() / chunkSize + 1);
+        for (int first = 0; first < saved.getAcceptedCards(); first += chunkSize) {
+            chunks.add(new LotChunk().range(saved.getId(), chunks.size(), first,
+                    Math.min(first + chunkSize, saved.getAcceptedCards())));
+        }
+        lotChunkRepository.saveAll(chunks);
+        return saved;
+    }
+
+    /**
+     * Puts a failed lot back to processing with its failed chunks claimable again; empty when the lot is no longer
+     * failed, e.g. resubmitted concurrently.
+     */
+    @Transactional
+    public Optional<Lot> resubmit(final Long lotId) {
+        final Lot lot = lotRepository.findByIdForUpdate(lotId).orElseThrow();
+        if (lot.getStatus() != LotStatus.FAILED) {
+            return Optional.empty();
+        }
+        lotChunkRepository.retryFailed(lotId, LotChunkStatus.PENDING, LotChunkStatus.FAILED);
+        return Optional.of(lot.status(LotStatus.PROCESSING));
+    }
+
+    /**
+     * Leases the next claimable chunk of any lot to {@code owner}.
+     */
+    @Transactional
+    public Optional<LotChunk> claim(final String owner) {
+        final long now = System.currentTimeMillis();
+        return lotChunkRepository.findClaimable(new Timestamp(now))
+                .map(chunk -> chunk.lease(owner, new Timestamp(now + lotConfig.getLeaseMs())));
+    }
+
+    /**
+     * Marks a chunk leased to {@code owner} as done and adds it to the lot checkpoint.
+     *
+     * @return whether this chunk completed its lot
+     */
+    @Transactional
+    public boolean complete(final LotChunk claimed, final String owner, final int written, final int existing) {
+        final Lot lot = lotRepository.findByIdForUpdate(claimed.getLotId()).orElseThrow();
+        final LotChunk chunk = lotChunkRepository.findById(claimed.getId()).orElseThrow();
+        if (!chunk.isLeasedTo(owner)) {
+            return false;
+        }
+        chunk.done(written, existing);
+        lot.checkpoint(written, existing);
+        if (lot.getStatus() == LotStatus.PROCESSING
+                && lotChunkRepository.countByLotIdAndStatusNot(lot.getId(), LotChunkStatus.DONE) == 0) {
+            lot.status(LotStatus.COMPLETED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives a chunk leased to {@code owner} back for another attempt, or fails it with its lot once it ran out of
+     * attempts.
+     */
+    @Transactional
+    public void fail(final LotChunk claimed, final String owner) {
+        final Lot lot = lotRepository.findByIdForUpdate(claimed.getLotId()).orElseThrow();
+        final LotChunk chunk = lotChunkRepository.findById(claimed.getId()).orElseThrow();
+        if (!chunk.isLeasedTo(owner)) {
+            return;
+        }
+        if (chunk.getAttempts() < Math.max(1, lotConfig.getMaxAttempts())) {
+            chunk.release();
+            return;
+        }
+        chunk.failed();
+        if (lot.getStatus() == LotStatus.PROCESSING) {
+            lot.status(LotStatus.FAILED);
+        }
+    }
+}
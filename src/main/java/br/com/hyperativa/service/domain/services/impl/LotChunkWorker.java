@@ -0,0 +1,239 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.lot.LotSpool;
+import br.com.hyperativa.service.domain.entity.Lot;
+import br.com.hyperativa.service.domain.entity.LotChunk;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import br.com.hyperativa.service.domain.services.CardService;
+import br.com.hyperativa.service.resources.repository.LotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes lot chunks claimed from {@link LotChunkQueue}, with {@code app.lot.workers} threads per instance, so every
+ * instance works on every lot.
+ * <p>
+ * A chunk is a range of the accepted cards of its lot; the spooled file is parsed once per instance, without blocking
+ * the workers of other lots, and kept for the next chunks of the same lot. Cards of a chunk may already be stored, by
+ * an earlier lot or by an interrupted attempt of the same chunk, fully or on some shards only; they are skipped by
+ * {@link CardService#createPackedCardsInBatch} and completed as skipped.
+ */
+@Component
+public class LotChunkWorker implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LotChunkWorker.class);
+    private static final int PARSED_LOTS = 2;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30000;
+
+    private final LotChunkQueue lotChunkQueue;
+
+    private final LotRepository lotRepository;
+
+    private final CardService cardService;
+
+    private final PackedCardTxtProcessor processor;
+
+    private final LotSpool lotSpool;
+
+    private final LotConfig lotConfig;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private final Object signal = new Object();
+
+    private final Map<Long, CompletableFuture<LotFileDTO>> parsedLots =
+            new LinkedHashMap<>(PARSED_LOTS * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, CompletableFuture<LotFileDTO>> eldest) {
+            return size() > PARSED_LOTS;
+        }
+    };
+
+    private volatile boolean running;
+    private List<Thread> workers = List.of();
+
+    public LotChunkWorker(
+            final LotChunkQueue lotChunkQueue,
+            final LotRepository lotRepository,
+            final CardService cardService,
+            final PackedCardTxtProcessor processor,
+            final LotSpool lotSpool,
+            final LotConfig lotConfig
+    ) {
+        this.lotChunkQueue = lotChunkQueue;
+        this.lotRepository = lotRepository;
+        this.cardService = cardService;
+        this.processor = processor;
+        this.lotSpool = lotSpool;
+        this.lotConfig = lotConfig;
+    }
+
+    /**
+     * Hands over a lot just parsed on this instance, so its chunks do not parse it again, and wakes the workers.
+     */
+    public void offer(final Long lotId, final LotFileDTO lotFile) {
+        synchronized (parsedLots) {
+            parsedLots.put(lotId, CompletableFuture.completedFuture(lotFile));
+        }
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (lotConfig.getWorkers() <= 0 || running) {
+            return;
+        }
+
+        running = true;
+        final List<Thread> threads = new ArrayList<>(lotConfig.getWorkers());
+        for (int i = 0; i < lotConfig.getWorkers(); i++) {
+            final Thread worker = new Thread(this::workLoop, "hyperativa-lot-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            threads.add(worker);
+        }
+        workers = threads;
+        LOGGER.info("Lot workers started ({} threads, owner {})", threads.size(), owner);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join(SHUTDOWN_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Lot workers stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void workLoop() {
+        while (running) {
+            boolean worked;
+            try {
+                worked = workOnce();
+            } catch (Exception e) {
+                LOGGER.warn("Lot chunk claim failed", e);
+                worked = false;
+            }
+            if (!worked) {
+                synchronized (signal) {
+                    try {
+                        signal.wait(Math.max(1, lotConfig.getPollIntervalMs()));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Claims and writes one chunk.
+     *
+     * @return whether a chunk was claimed
+     */
+    boolean workOnce() {
+        final Optional<LotChunk> claimed = lotChunkQueue.claim(owner);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        final LotChunk chunk = claimed.get();
+        final LotFileDTO lotFile;
+        final int written;
+        try {
+            lotFile = lotFile(chunk.getLotId());
+            final PackedCardNumbers cards = lotFile.cards().slice(chunk.getFirstCard(), chunk.getEndCard());
+            written = cards.isEmpty() ? 0 : cardService.createPackedCardsInBatch(cards, chunk.getLotId());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Chunk {} of lot id {} failed on attempt {}", chunk.getChunkIndex(), chunk.getLotId(),
+                    chunk.getAttempts(), e);
+            lotChunkQueue.fail(chunk, owner);
+            return true;
+        }
+
+        if (lotChunkQueue.complete(chunk, owner, written, chunk.size() - written)) {
+            synchronized (parsedLots) {
+                parsedLots.remove(chunk.getLotId());
+            }
+            lotSpool.delete(lotFile.digest());
+            LOGGER.info("Lot id {} completed", chunk.getLotId());
+        }
+        return true;
+    }
+
+    /**
+     * Parsed file of a lot. The first thread needing a lot parses its spooled file, outside the cache lock; other
+     * threads needing the same lot wait for that parse, threads working on other lots do not.
+     */
+    private LotFileDTO lotFile(final Long lotId) {
+        final CompletableFuture<LotFileDTO> parsed;
+        final boolean parsing;
+        synchronized (parsedLots) {
+            final CompletableFuture<LotFileDTO> cached = parsedLots.get(lotId);
+            parsing = cached == null;
+            parsed = parsing ? new CompletableFuture<>() : cached;
+            if (parsing) {
+                parsedLots.put(lotId, parsed);
+            }
+        }
+
+        if (parsing) {
+            try {
+                parsed.complete(parse(lotId));
+            } catch (RuntimeException e) {
+                synchronized (parsedLots) {
+                    parsedLots.remove(lotId, parsed);
+                }
+                parsed.completeExceptionally(e);
+            }
+        }
+        try {
+            return parsed.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private LotFileDTO parse(final Long lotId) {
+        final Lot lot = lotRepository.findById(lotId).orElseThrow(() -> new NotFoundException("Lot not found"));
+        final LotFileDTO lotFile = processor.read(lotSpool.open(lot.getDigest()));
+        if (lotFile.cards().size() != lot.getAcceptedCards()) {
+            throw new IllegalStateException(String.format(
+                    "Lot id %d yields %d cards instead of %d, validation rules changed since it was received",
+                    lotId, lotFile.cards().size(), lot.getAcceptedCards()));
+        }
+        return lotFile;
+    }
+}
@@ -0,0 +1,231 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.lot.SpooledMultipartFile;
+import br.com.hyperativa.service.domain.processor.LotFileFormat;
+import br.com.hyperativa.service.domain.services.LotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Ingests the lot files dropped in {@code app.lot.inbox.directory}, e.g. by a partner over SFTP, without an upload.
+ * <p>
+ * The directory is watched with a {@link WatchService} and listed again every {@code settle-ms}, which also covers
+ * file systems that report no events, such as network shares. A file unmodified for {@code settle-ms} is claimed by
+ * an atomic rename into {@code processing/}, so instances sharing the inbox never ingest it twice, then parsed by the
+ * same processor as uploads and queued, see {@link LotService#ingestLocal}. It ends in {@code done/}, or in
+ * {@code error/} when refused, next to a {@code .result.json} sidecar holding its lot, the lots of an archive, or the
+ * error.
+ * <p>
+ * Files of at least {@code parallel-threshold} bytes are ingested on the inbox threads, so a large file neither holds
+ * up the files behind it nor waits for another large one; smaller files are ingested in order by the watcher. Hidden
+ * files and names ending in {@code .tmp}, {@code .part} or {@code .filepart}, used by transfers in progress, are
+ * ignored. A file left in {@code processing/} by an instance stopped mid-way is not claimed again; moving it back to
+ * the inbox ingests it, or reports its lot if it was already queued.
+ */
+@Component
+public class LotInboxWatcher implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LotInboxWatcher.class);
+    static final String PROCESSING = "processing";
+    static final String DONE = "done";
+    static final String ERROR = "error";
+    static final String RESULT_SUFFIX = ".result.json";
+    private static final List<String> TRANSFER_SUFFIXES = List.of(".tmp", ".part", ".filepart");
+    private static final long SHUTDOWN_TIMEOUT_MS = 30000;
+
+    private final LotService lotService;
+
+    private final ObjectMapper objectMapper;
+
+    private final LotConfig lotConfig;
+
+    private final Executor lotInboxExecutor;
+
+    private volatile boolean running;
+    private WatchService watchService;
+    private Thread watcher;
+
+    public LotInboxWatcher(
+            final LotService lotService,
+            final ObjectMapper objectMapper,
+            final LotConfig lotConfig,
+            @Qualifier("lotInboxExecutor") final Executor lotInboxExecutor
+    ) {
+        this.lotService = lotService;
+        this.objectMapper = objectMapper;
+        this.lotConfig = lotConfig;
+        this.lotInboxExecutor = lotInboxExecutor;
+    }
+
+    @Override
+    public void start() {
+        if (lotConfig.getInbox().getDirectory().isBlank() || running) {
+            return;
+        }
+
+        final Path inbox = inbox();
+        try {
+            for (String folder : List.of(PROCESSING, DONE, ERROR)) {
+                Files.createDirectories(inbox.resolve(folder));
+            }
+            watchService = inbox.getFileSystem().newWatchService();
+            inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lot inbox " + inbox + " cannot be watched", e);
+        }
+        running = true;
+        watcher = new Thread(this::watchLoop, "hyperativa-lot-inbox-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        LOGGER.info("Lot inbox watching {}", inbox.toAbsolutePath());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        try {
+            watchService.close();
+            watcher.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (IOException e) {
+            LOGGER.warn("Lot inbox watch service close failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.info("Lot inbox stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watchLoop() {
+        while (running) {
+            try {
+                final WatchKey key = watchService.poll(
+                        Math.max(1, lotConfig.getInbox().getSettleMs()), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                scan();
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOGGER.warn("Lot inbox scan failed", e);
+            }
+        }
+    }
+
+    /**
+     * Claims the settled files of the inbox and ingests them, or hands the large ones to the inbox threads.
+     *
+     * @return number of files claimed
+     */
+    int scan() throws IOException {
+        final long settledBefore = System.currentTimeMillis() - lotConfig.getInbox().getSettleMs();
+        final List<Path> files;
+        try (Stream<Path> listing = Files.list(inbox())) {
+            files = listing.filter(LotInboxWatcher::isLotFile).sorted().toList();
+        }
+
+        int claimed = 0;
+        for (Path file : files) {
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            if (!attributes.isRegularFile() || attributes.lastModifiedTime().toMillis() > settledBefore) {
+                continue;
+            }
+            final Path processing = claim(file);
+            if (processing == null) {
+                continue;
+            }
+            claimed++;
+            if (attributes.size() >= lotConfig.getInbox().getParallelThreshold()) {
+                lotInboxExecutor.execute(() -> ingest(processing));
+            } else {
+                ingest(processing);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Moves a file into {@code processing/} under a unique name, or returns null when another instance claimed it.
+     */
+    private Path claim(final Path file) throws IOException {
+        final Path processing = inbox().resolve(PROCESSING)
+                .resolve(System.currentTimeMillis() + "-" + file.getFileName());
+        try {
+            Files.move(file, processing, StandardCopyOption.ATOMIC_MOVE);
+            return processing;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void ingest(final Path file) {
+        Object result;
+        String folder;
+        try {
+            result = LotFileFormat.of(new SpooledMultipartFile(file, Files.size(file))) == LotFileFormat.ZIP
+                    ? lotService.ingestLocalArchive(file)
+                    : lotService.ingestLocal(file);
+            folder = DONE;
+            LOGGER.info("Lot inbox file {} ingested", file.getFileName());
+        } catch (IOException | RuntimeException e) {
+            result = Map.of("error", String.valueOf(e.getMessage()));
+            folder = ERROR;
+            LOGGER.warn("Lot inbox file {} refused: {}", file.getFileName(), e.getMessage());
+        }
+
+        final Path target = inbox().resolve(folder).resolve(file.getFileName());
+        try {
+            objectMapper.writeValue(target.resolveSibling(file.getFileName() + RESULT_SUFFIX).toFile(), result);
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.error("Lot inbox file {} could not be moved to {}", file, folder, e);
+        }
+    }
+
+    private Path inbox() {
+        return Path.of(lotConfig.getInbox().getDirectory());
+    }
+
+    private static boolean isLotFile(final Path file) {
+        final String name = file.getFileName().toString();
+        return !name.startsWith(".") && TRANSFER_SUFFIXES.stream().noneMatch(name::endsWith);
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRoute;
+import br.com.hyperativa.service.application.lot.LotSpool;
+import br.com.hyperativa.service.application.lot.SpooledMultipartFile;
+import br.com.hyperativa.service.domain.entity.Lot;
+import br.com.hyperativa.service.domain.entity.dto.LotArchiveEntryDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotArchiveGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import br.com.hyperativa.service.domain.services.LotService;
+import br.com.hyperativa.service.resources.repository.LotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Records every uploaded lot and queues its cards, tagged with the lot id, for the lot workers of every instance.
+ * <p>
+ * A lot is identified by the SHA-256 of the file: uploading a file already received short-circuits to the stored
+ * lot without touching the cards, unless that earlier attempt failed, in which case its failed chunks are queued
+ * again. The unique digest also settles two concurrent uploads of the same file.
+ * <p>
+ * The file is spooled before the lot is queued and the lot is stored with all its chunks in one transaction, so a
+ * queued chunk can always be read back, by any instance, from the spool. Cards are committed chunk by chunk, see
+ * {@link LotChunkQueue} and {@link LotChunkWorker}; the lot checkpoint counts the cards committed so far.
+ * <p>
+ * The lot files of a zip archive are parsed in parallel and queued one by one, each as its own lot. Files dropped in
+ * the inbox, see {@link LotInboxWatcher}, are parsed without the upload limits and linked into the spool. A lot
+ * uploaded in pieces arrives already parsed, see {@link UploadSessionServiceImpl}, and its assembled file is moved
+ * into the spool instead of copied.
+ */
+@Service
+public class LotServiceImpl implements LotService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LotServiceImpl.class);
+
+    private final LotRepository lotRepository;
+
+    private final LotChunkQueue lotChunkQueue;
+
+    private final LotChunkWorker lotChunkWorker;
+
+    private final PackedCardTxtProcessor processor;
+
+    private final LotSpool lotSpool;
+
+    private final Executor lotArchiveExecutor;
+
+    public LotServiceImpl(
+            final LotRepository lotRepository,
+            final LotChunkQueue lotChunkQueue,
+            final LotChunkWorker lotChunkWorker,
+            final PackedCardTxtProcessor processor,
+            final LotSpool lotSpool,
+            @Qualifier("lotArchiveExecutor") final Executor lotArchiveExecutor
+    ) {
+        this.lotRepository = lotRepository;
+        this.lotChunkQueue = lotChunkQueue;
+        this.lotChunkWorker = lotChunkWorker;
+        this.processor = processor;
+        this.lotSpool = lotSpool;
+        this.lotArchiveExecutor = lotArchiveExecutor;
+    }
+
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    public LotGetDTO ingest(final MultipartFile file) {
+        final LotFileDTO lotFile = processor.process(file);
+        return queue(lotFile, () -> lotSpool.write(lotFile.digest(), file));
+    }
+
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    public LotArchiveGetDTO ingestArchive(final MultipartFile file) {
+        final Path archive = lotSpool.stage(file);
+        try {
+            return queueArchive(file.getOriginalFilename(), archive,
+                    processor.processArchive(archive, lotArchiveExecutor));
+        } finally {
+            lotSpool.unstage(archive);
+        }
+    }
+
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    public LotGetDTO ingestLocal(final Path file) {
+        final LotFileDTO lotFile = processor.read(localFile(file));
+        return queue(lotFile, () -> lotSpool.link(lotFile.digest(), file));
+    }
+
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    public LotArchiveGetDTO ingestLocalArchive(final Path archive) {
+        return queueArchive(archive.getFileName().toString(), archive,
+                processor.readArchive(archive, lotArchiveExecutor));
+    }
+
+    @Override
+    @DataSourceRoute(DataSourcePool.INGESTION)
+    public LotGetDTO ingestUploaded(final LotFileDTO lotFile, final Long sessionId) {
+        return queue(lotFile, () -> lotSpool.adopt(sessionId, lotFile.digest()));
+    }
+
+    @Override
+    public LotGetDTO getLot(final Long id) {
+        return lotRepository.findById(id)
+                .map(lot -> toDTO(lot, false))
+                .orElseThrow(() -> new NotFoundException("Lot not found"));
+    }
+
+    /**
+     * Queues a parsed lot, {@code spool} storing its content under its digest.
+     */
+    private LotGetDTO queue(final LotFileDTO lotFile, final Runnable spool) {
+        if (!lotFile.isReconciled()) {
+            LOGGER.warn("Lot {} does not reconcile: {} records declared, footer {} {}, {} found",
+                    lotFile.lotNumber(), lotFile.declaredRecords(), lotFile.footerLotNumber(),
+                    lotFile.footerRecords(), lotFile.records());
+        }
+
+        final Lot existing = lotRepository.findByDigest(lotFile.digest()).orElse(null);
+        if (existing != null && existing.getStatus() != LotStatus.FAILED) {
+            LOGGER.info("Lot {} already received as lot id {}, skipping", lotFile.lotNumber(), existing.getId());
+            return toDTO(existing, true);
+        }
+
+        spool.run();
+        final Lot lot;
+        try {
+            final Optional<Lot> queued = existing == null
+                    ? Optional.of(lotChunkQueue.submit(new Lot().lotFile(lotFile)))
+                    : lotChunkQueue.resubmit(existing.getId());
+            if (queued.isEmpty()) {
+                return concurrent(lotFile);
+            }
+            lot = queued.get();
+        } catch (DataIntegrityViolationException e) {
+            return concurrent(lotFile);
+        }
+        lotChunkWorker.offer(lot.getId(), lotFile);
+        LOGGER.info("Lot {} queued as lot id {} with {} cards", lotFile.lotNumber(), lot.getId(),
+                lotFile.cards().size());
+        return toDTO(lot, false);
+    }
+
+    private LotArchiveGetDTO queueArchive(final String name, final Path archive,
+                                          final List<PackedCardTxtProcessor.ArchiveEntry> entries) {
+        final List<LotArchiveEntryDTO> files = new ArrayList<>(entries.size());
+        for (PackedCardTxtProcessor.ArchiveEntry entry : entries) {
+            final LotFileDTO lotFile = entry.lotFile();
+            if (lotFile == null) {
+                files.add(new LotArchiveEntryDTO(entry.name(), null, entry.error()));
+                continue;
+            }
+            try {
+                files.add(new LotArchiveEntryDTO(entry.name(), queue(lotFile,
+                        () -> lotSpool.writeArchiveEntry(lotFile.digest(), archive, entry.name())), null));
+            } catch (RuntimeException e) {
+                // one entry failing to spool or queue must not lose the lots already queued from the others
+                LOGGER.warn("Archive {} entry {} could not be queued", name, entry.name(), e);
+                files.add(new LotArchiveEntryDTO(entry.name(), null, String.valueOf(e.getMessage())));
+            }
+        }
+        LOGGER.info("Archive {} processed: {} lot files", name, files.size());
+        return new LotArchiveGetDTO(files);
+    }
+
+    private static MultipartFile localFile(final Path file) {
+        try {
+            return new SpooledMultipartFile(file, Files.size(file));
+        } catch (IOException e) {
+            throw new FileUploadException("File read error: " + e.getMessage(), e);
+        }
+    }
+
+    private LotGetDTO concurrent(final LotFileDTO lotFile) {
+        final Lot lot = lotRepository.findByDigest(lotFile.digest()).orElseThrow();
+        LOGGER.info("Lot {} received concurrently as lot id {}, skipping", lotFile.lotNumber(), lot.getId());
+        return toDTO(lot, true);
+    }
+
+    private static LotGetDTO toDTO(final Lot lot, final boolean resubmitted) {
+        return new LotGetDTO(lot.getId(), lot.getName(), lot.getLotDate(), lot.getLotNumber(),
+                lot.getDeclaredRecords(), lot.getFooterRecords(), lot.getRecordLines(), lot.getAcceptedCards(),
+                lot.getRejectedCards(), lot.getRejectedBy(), lot.getRejectedLines(), lot.getDuplicateCards(),
+                lot.getWrittenCards(), lot.getExistingCards(), lot.isReconciled(), lot.getStatus(), resubmitted);
+    }
+}
@@ -0,0 +1,353 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LookupConfig;
+import br.com.hyperativa.service.application.config.sharding.ShardContext;
+import br.com.hyperativa.service.application.config.sharding.ShardMap;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.services.CardService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes card operations to the shard owning the card, see {@code ShardingConfig}.
+ * <p>
+ * Single-card operations run on one shard: by card number through the fingerprint bucket, by identifier through the
+ * bucket written in it (identifiers created before sharding fall back to the other shards). Batches are split by
+ * shard and written in parallel, one transaction per shard. Listings concatenate the shards in shard order and
+ * count every shard first. Without sharding every call goes straight to {@link CardServiceImpl}.
+ */
+@Service
+@Primary
+public class ShardedCardService implements CardService {
+    private final CardService cardService;
+
+    private final ShardMap shardMap;
+
+    private final Executor shardFanOutExecutor;
+
+    private final LookupConfig lookupConfig;
+
+    public ShardedCardService(
+            @Qualifier("cardServiceImpl") final CardService cardService,
+            final ShardMap shardMap,
+            @Qualifier("shardFanOutExecutor") final Executor shardFanOutExecutor,
+            final LookupConfig lookupConfig
+    ) {
+        this.cardService = cardService;
+        this.shardMap = shardMap;
+        this.shardFanOutExecutor = shardFanOutExecutor;
+        this.lookupConfig = lookupConfig;
+    }
+
+    @Override
+    public CardGetDTO createCard(final CardCreateDTO cardCreate) {
+        if (!shardMap.isSharded()) {
+            return cardService.createCard(cardCreate);
+        }
+        return onShard(shardMap.shardOfCardNumber(cardCreate.cardNumber()), () -> cardService.createCard(cardCreate));
+    }
+
+    @Override
+    public void createCardsInBatch(final List<CardCreateDTO> cardCreates) {
+        if (!shardMap.isSharded()) {
+            cardService.createCardsInBatch(cardCreates);
+            return;
+        }
+        final Map<Integer, List<Integer>> byShard = splitByShard(cardCreates.size(),
+                i -> cardCreates.get(i).cardNumber());
+        fanOut(byShard, (shard, indexes) -> {
+            cardService.createCardsInBatch(indexes.stream().map(cardCreates::get).toList());
+            return null;
+        });
+    }
+
+    @Override
+    public int createPackedCardsInBatch(final PackedCardNumbers cardNumbers, final Long lotId) {
+        if (!shardMap.isSharded()) {
+            return cardService.createPackedCardsInBatch(cardNumbers, lotId);
+        }
+        final Map<Integer, PackedCardNumbers> byShard = new TreeMap<>();
+        for (int i = 0; i < cardNumbers.size(); i++) {
+            byShard.computeIfAbsent(shardMap.shardOfCardNumber(cardNumbers.cardNumber(i)),
+                    shard -> new PackedCardNumbers()).add(cardNumbers.get(i));
+        }
+        return fanOut(byShard,
+                (shard, shardCardNumbers) -> cardService.createPackedCardsInBatch(shardCardNumbers, lotId))
+                .values().stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    @Override
+    public List<CardCreateResultDTO> createCardsChunk(final List<CardCreateDTO> cardCreates) {
+        if (!shardMap.isSharded()) {
+            return cardService.createCardsChunk(cardCreates);
+        }
+        final Map<Integer, List<Integer>> byShard = splitByShard(cardCreates.size(),
+                i -> cardCreates.get(i).cardNumber());
+        final Map<Integer, List<CardCreateResultDTO>> results = fanOut(byShard,
+                (shard, indexes) -> cardService.createCardsChunk(indexes.stream().map(cardCreates::get).toList()));
+        return merge(cardCreates.size(), byShard, results);
+    }
+
+    @Override
+    public CardGetDTO getCardByNumber(final String cardNumber) {
+        if (!shardMap.isSharded()) {
+            return cardService.getCardByNumber(cardNumber);
+        }
+        return onShard(shardMap.shardOfCardNumber(cardNumber), () -> cardService.getCardByNumber(cardNumber));
+    }
+
+    @Override
+    public CardGetDTO getCardByIdentifier(final String cardNumberIdentifier) {
+        if (!shardMap.isSharded()) {
+            return cardService.getCardByIdentifier(cardNumberIdentifier);
+        }
+        final int owner = shardMap.shardOfIdentifier(cardNumberIdentifier);
+        if (owner >= 0) {
+            try {
+                return onShard(owner, () -> cardService.getCardByIdentifier(cardNumberIdentifier));
+            } catch (NotFoundException e) {
+                // Identifier created before sharding, its last characters are random
+            }
+        }
+        for (int shard = 0; shard < shardMap.getShardCount(); shard++) {
+            if (shard == owner) {
+                continue;
+            }
+            try {
+                return onShard(shard, () -> cardService.getCardByIdentifier(cardNumberIdentifier));
+            } catch (NotFoundException e) {
+                // Try the next shard
+            }
+        }
+        throw new NotFoundException("Card not found");
+    }
+
+    @Override
+    public List<Optional<CardGetDTO>> getCardsByNumbers(final List<String> cardNumbers) {
+        if (!shardMap.isSharded()) {
+            return cardService.getCardsByNumbers(cardNumbers);
+        }
+        if (cardNumbers.size() > lookupConfig.getMaxBatchSize()) {
+            throw new HyperativaBaseException(String.format("Lookup batch size (%d) exceeds maximum allowed size (%d)",
+                    cardNumbers.size(), lookupConfig.getMaxBatchSize()));
+        }
+        final Map<Integer, List<Integer>> byShard = splitByShard(cardNumbers.size(), cardNumbers::get);
+        final Map<Integer, List<Optional<CardGetDTO>>> results = fanOut(byShard,
+                (shard, indexes) -> cardService.getCardsByNumbers(indexes.stream().map(cardNumbers::get).toList()));
+        return merge(cardNumbers.size(), byShard, results);
+    }
+
+    @Override
+    public Page<CardGetDTO> getAllCards(final Pageable pageable) {
+        if (!shardMap.isSharded() || pageable.isUnpaged()) {
+            return cardService.getAllCards(pageable);
+        }
+        final long[] counts = countByShard();
+        final List<CardGetDTO> content = readAcrossShards(pageable, counts,
+                page -> cardService.getAllCards(page).getContent());
+        return new PageImpl<>(content, pageable, Arrays.stream(counts).sum());
+    }
+
+    @Override
+    public Slice<CardGetDTO> getCardSlice(final Pageable pageable) {
+        if (!shardMap.isSharded() || pageable.isUnpaged()) {
+            return cardService.getCardSlice(pageable);
+        }
+        final long[] counts = countByShard();
+        final List<CardGetDTO> content = readAcrossShards(pageable, counts,
+                page -> cardService.getCardSlice(page).getContent());
+        return new SliceImpl<>(content, pageable, pageable.getOffset() + content.size() < Arrays.stream(counts).sum());
+    }
+
+    @Override
+    public long countCards() {
+        if (!shardMap.isSharded()) {
+            return cardService.countCards();
+        }
+        return Arrays.stream(countByShard()).sum();
+    }
+
+    /**
+     * Exports the shards one after the other; ids are shard-local, so {@code afterId} applies to every shard.
+     */
+    @Override
+    public long exportCards(final long afterId, final Consumer<CardGetDTO> consumer) {
+        if (!shardMap.isSharded()) {
+            return cardService.exportCards(afterId, consumer);
+        }
+        long rows = 0;
+        for (int shard = 0; shard < shardMap.getShardCount(); shard++) {
+            rows += onShard(shard, () -> cardService.exportCards(afterId, consumer));
+        }
+        return rows;
+    }
+
+    private long[] countByShard() {
+        final Map<Integer, List<Integer>> shards = new TreeMap<>();
+        for (int shard = 0; shard < shardMap.getShardCount(); shard++) {
+            shards.put(shard, List.of());
+        }
+        final Map<Integer, Long> counts = fanOut(shards, (shard, ignored) -> cardService.countCards());
+        return counts.values().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Reads one page of the shards laid end to end, starting on the shard holding the page offset.
+     */
+    private List<CardGetDTO> readAcrossShards(
+            final Pageable pageable,
+            final long[] counts,
+            final Function<Pageable, List<CardGetDTO>> read
+    ) {
+        final List<CardGetDTO> content = new ArrayList<>(pageable.getPageSize());
+        long offset = pageable.getOffset();
+        for (int shard = 0; shard < counts.length && content.size() < pageable.getPageSize(); shard++) {
+            if (offset >= counts[shard]) {
+                offset -= counts[shard];
+                continue;
+            }
+            final Pageable page = new OffsetPageable(offset, pageable.getPageSize() - content.size(), pageable.getSort());
+            content.addAll(onShard(shard, () -> read.apply(page)));
+            offset = 0;
+        }
+        return content;
+    }
+
+    private Map<Integer, List<Integer>> splitByShard(final int size, final IntFunction<String> cardNumber) {
+        final Map<Integer, List<Integer>> byShard = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            byShard.computeIfAbsent(shardMap.shardOfCardNumber(cardNumber.apply(i)), shard -> new ArrayList<>()).add(i);
+        }
+        return byShard;
+    }
+
+    /**
+     * Puts per-shard results back in the order of the original request.
+     */
+    private static <T> List<T> merge(
+            final int size,
+            final Map<Integer, List<Integer>> byShard,
+            final Map<Integer, List<T>> results
+    ) {
+        final List<T> merged = new ArrayList<>(Collections.nCopies(size, null));
+        byShard.forEach((shard, indexes) -> {
+            final List<T> shardResults = results.get(shard);
+            for (int i = 0; i < indexes.size(); i++) {
+                merged.set(indexes.get(i), shardResults.get(i));
+            }
+        });
+        return merged;
+    }
+
+    /**
+     * Runs the task on every shard in parallel and waits for all of them; the first failure is rethrown.
+     */
+    private <W, T> Map<Integer, T> fanOut(
+            final Map<Integer, W> byShard,
+            final BiFunction<Integer, W, T> task
+    ) {
+        final Map<Integer, CompletableFuture<T>> futures = new TreeMap<>();
+        byShard.forEach((shard, work) -> futures.put(shard, CompletableFuture.supplyAsync(
+                () -> onShard(shard, () -> task.apply(shard, work)), shardFanOutExecutor)));
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        final Map<Integer, T> results = new TreeMap<>();
+        futures.forEach((shard, future) -> results.put(shard, future.join()));
+        return results;
+    }
+
+    private static <T> T onShard(final int shard, final Supplier<T> operation) {
+        final Integer previous = ShardContext.select(shard);
+        try {
+            return operation.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * Page request starting at an arbitrary offset, as the page of one shard rarely starts on a page boundary.
+     */
+    private record OffsetPageable(long offset, int size, Sort sort) implements Pageable {
+        @Override
+        public int getPageNumber() {
+            return (int) (offset / size);
+        }
+
+        @Override
+        public int getPageSize() {
+            return size;
+        }
+
+        @Override
+        public long getOffset() {
+            return offset;
+        }
+
+        @Override
+        public Sort getSort() {
+            return sort;
+        }
+
+        @Override
+        public Pageable next() {
+            return new OffsetPageable(offset + size, size, sort);
+        }
+
+        @Override
+        public Pageable previousOrFirst() {
+            return new OffsetPageable(Math.max(0, offset - size), size, sort);
+        }
+
+        @Override
+        public Pageable first() {
+            return new OffsetPageable(0, size, sort);
+        }
+
+        @Override
+        public Pageable withPage(final int pageNumber) {
+            return new OffsetPageable((long) pageNumber * size, size, sort);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return offset > 0;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRoute;
+import br.com.hyperativa.service.application.lot.LotSpool;
+import br.com.hyperativa.service.application.util.HashUtil;
+import br.com.hyperativa.service.domain.entity.UploadSession;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionStatus;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.LotFileFormat;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import br.com.hyperativa.service.domain.services.LotService;
+import br.com.hyperativa.service.domain.services.UploadSessionService;
+import br.com.hyperativa.service.resources.repository.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lot files uploaded in pieces, so a dropped connection only costs the piece in flight.
+ * <p>
+ * Pieces are written with positional writes into a part file of the spool directory, and the session row records
+ * the offset up to which the file is on disk. A piece may overlap the bytes already received, e.g. when its
+ * response was lost, but may not leave a gap; only its new bytes are written, under the session row lock, so the
+ * pieces of a session are serialized across instances.
+ * <p>
+ * While the pieces arrive in order on one instance, they are also parsed and hashed as they arrive, so a malformed
+ * file fails on its first piece and completing a large session does not read it again. A session whose pieces were
+ * spread over instances, or whose scan was evicted, is parsed from the part file when completed. Cards are written
+ * once the session is complete: the lot is only known, and deduplicated, by the digest of the whole file. Completing
+ * moves the session to {@code COMPLETING} with a conditional update, so of concurrent completes only one queues the
+ * lot, and the others answer with it once it is queued.
+ */
+@Service
+@DataSourceRoute(DataSourcePool.INGESTION)
+public class UploadSessionServiceImpl implements UploadSessionService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessionServiceImpl.class);
+    private static final long COMPLETION_WAIT_MS = 30000;
+    private static final long COMPLETION_POLL_MS = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+
+    private final LotService lotService;
+
+    private final PackedCardTxtProcessor processor;
+
+    private final LotSpool lotSpool;
+
+    private final LotConfig lotConfig;
+
+    private final Map<Long, PackedCardTxtProcessor.Scan> scans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, PackedCardTxtProcessor.Scan> eldest) {
+            return size() > lotConfig.getSession().getMaxScans();
+        }
+    };
+
+    public UploadSessionServiceImpl(
+            final UploadSessionRepository uploadSessionRepository,
+            final LotService lotService,
+            final PackedCardTxtProcessor processor,
+            final LotSpool lotSpool,
+            final LotConfig lotConfig
+    ) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.lotService = lotService;
+        this.processor = processor;
+        this.lotSpool = lotSpool;
+        this.lotConfig = lotConfig;
+    }
+
+    @Override
+    @Transactional
+    public UploadSessionGetDTO create(final String fileName, final long fileSize) {
+        if (fileSize <= 0 || fileSize > lotConfig.getSession().getMaxFileSize()) {
+            throw new HyperativaBaseException(String.format(
+                    "File size (%d bytes) must be positive and at most %d bytes",
+                    fileSize, lotConfig.getSession().getMaxFileSize()));
+        }
+        final UploadSession session = uploadSessionRepository.save(new UploadSession().open(fileName, fileSize));
+        LOGGER.info("Upload session {} opened for {} ({} bytes)", session.getId(), fileName, fileSize);
+        return toDTO(session);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = FileUploadException.class)
+    public UploadSessionGetDTO append(final Long id, final long offset, final String checksum, final byte[] content) {
+        if (content.length == 0 || content.length > lotConfig.getSession().getMaxChunkSize()) {
+            throw new HyperativaBaseException(String.format(
+                    "Piece size (%d bytes) must be positive and at most %d bytes",
+                    content.length, lotConfig.getSession().getMaxChunkSize()));
+        }
+        if (checksum == null || !checksum.equalsIgnoreCase(HashUtil.hex(HashUtil.sha256(content)))) {
+            throw new HyperativaBaseException("Piece checksum does not match its content");
+        }
+
+        final UploadSession session = uploadSessionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new NotFoundException("Upload session not found"));
+        if (session.getStatus() != UploadSessionStatus.OPEN) {
+            throw new HyperativaBaseException(String.format("Upload session %d is %s", id, session.getStatus()));
+        }
+        final long received = session.getReceivedBytes();
+        if (offset < 0 || offset > received) {
+            throw new HyperativaBaseException(String.format(
+                    "Upload session %d has received %d bytes, a piece at offset %d would leave a gap",
+                    id, received, offset));
+        }
+        final long end = offset + content.length;
+        if (end > session.getFileSize()) {
+            throw new HyperativaBaseException(String.format(
+                    "Piece [%d, %d) exceeds the file size of %d bytes", offset, end, session.getFileSize()));
+        }
+        if (end <= received) {
+            return toDTO(session);
+        }
+
+        final int from = (int) (received - offset);
+        lotSpool.writePart(id, received, content, from, content.length - from);
+        try {
+            scan(session, content, from);
+        } catch (FileUploadException e) {
+            session.status(UploadSessionStatus.FAILED);
+            forget(id);
+            lotSpool.deletePart(id);
+            LOGGER.warn("Upload session {} failed at offset {}: {}", id, received, e.getMessage());
+            throw e;
+        }
+        return toDTO(session.received(end));
+    }
+
+    @Override
+    public UploadSessionGetDTO getSession(final Long id) {
+        return toDTO(find(id));
+    }
+
+    @Override
+    public LotGetDTO complete(final Long id) {
+        final UploadSession open = find(id);
+        if (open.getStatus() == UploadSessionStatus.COMPLETED || open.getStatus() == UploadSessionStatus.COMPLETING) {
+            return awaitLot(id);
+        }
+        if (open.getStatus() != UploadSessionStatus.OPEN) {
+            throw new HyperativaBaseException(String.format("Upload session %d is %s", id, open.getStatus()));
+        }
+        if (!open.isComplete()) {
+            throw new HyperativaBaseException(String.format("Upload session %d has received %d of %d bytes",
+                    id, open.getReceivedBytes(), open.getFileSize()));
+        }
+        if (uploadSessionRepository.transition(id, UploadSessionStatus.OPEN, UploadSessionStatus.COMPLETING,
+                new Timestamp(System.currentTimeMillis())) == 0) {
+            return awaitLot(id);
+        }
+
+        final UploadSession session = find(id);
+        final LotGetDTO lot;
+        try {
+            lot = lotService.ingestUploaded(lotFile(session), id);
+        } catch (FileUploadException e) {
+            uploadSessionRepository.save(session.status(UploadSessionStatus.FAILED));
+            lotSpool.deletePart(id);
+            throw e;
+        } catch (RuntimeException e) {
+            // not the file's fault, e.g. the database, so the session can be completed again
+            uploadSessionRepository.save(session.status(UploadSessionStatus.OPEN));
+            throw e;
+        }
+        lotSpool.deletePart(id);
+        uploadSessionRepository.save(session.completed(lot.id()));
+        LOGGER.info("Upload session {} completed as lot id {}", id, lot.id());
+        return lot;
+    }
+
+    @Override
+    @Transactional
+    public void abort(final Long id) {
+        final UploadSession session = uploadSessionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new NotFoundException("Upload session not found"));
+        if (session.getStatus() == UploadSessionStatus.COMPLETED
+                || session.getStatus() == UploadSessionStatus.COMPLETING) {
+            throw new HyperativaBaseException(String.format("Upload session %d is %s", id, session.getStatus()));
+        }
+        session.status(UploadSessionStatus.ABORTED);
+        forget(id);
+        lotSpool.deletePart(id);
+    }
+
+    /**
+     * Aborts the sessions that received no piece for {@code app.lot.session.expire-after-ms}, on any instance, and
+     * the ones left completing as long by an instance stopped mid-way.
+     */
+    @Scheduled(fixedDelayString = "${app.lot.session.expiry-interval-ms:600000}")
+    public void expireSessions() {
+        final Timestamp cutoff = new Timestamp(System.currentTimeMillis() - lotConfig.getSession().getExpireAfterMs());
+        for (UploadSessionStatus status : List.of(UploadSessionStatus.OPEN, UploadSessionStatus.COMPLETING)) {
+            for (UploadSession session : uploadSessionRepository.findByStatusAndUpdatedAtBefore(status, cutoff)) {
+                if (uploadSessionRepository.updateStatus(session.getId(), status,
+                        UploadSessionStatus.ABORTED, cutoff) > 0) {
+                    forget(session.getId());
+                    lotSpool.deletePart(session.getId());
+                    LOGGER.info("Upload session {} expired {} at {} of {} bytes", session.getId(), status,
+                            session.getReceivedBytes(), session.getFileSize());
+                }
+            }
+        }
+    }
+
+    /**
+     * Lot of a session completed by another request, waiting up to {@link #COMPLETION_WAIT_MS} for that request to
+     * queue it, e.g. when a client retries a complete that timed out on its side.
+     */
+    private LotGetDTO awaitLot(final Long id) {
+        final long deadline = System.currentTimeMillis() + COMPLETION_WAIT_MS;
+        UploadSession session = find(id);
+        while (session.getStatus() == UploadSessionStatus.COMPLETING && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(COMPLETION_POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            session = find(id);
+        }
+        if (session.getStatus() != UploadSessionStatus.COMPLETED) {
+            throw new HyperativaBaseException(String.format("Upload session %d is %s", id, session.getStatus()));
+        }
+        return lotService.getLot(session.getLotId());
+    }
+
+    /**
+     * Feeds the new bytes of a piece, {@code content[from, length)}, to the scan of its session. A scan starts with
+     * the first piece of a plain text file, a gzip file is only parsed once complete, and is dropped once it misses
+     * bytes, e.g. received by another instance.
+     */
+    private void scan(final UploadSession session, final byte[] content, final int from) {
+        final long received = session.getReceivedBytes();
+        final PackedCardTxtProcessor.Scan scan;
+        synchronized (scans) {
+            if (received == 0 && lotConfig.getSession().getMaxScans() > 0
+                    && LotFileFormat.detect(content, content.length) == LotFileFormat.TEXT) {
+                scans.put(session.getId(), processor.scan(session.getFileSize()));
+            }
+            scan = scans.get(session.getId());
+            if (scan == null) {
+                return;
+            }
+            if (scan.position() != received) {
+                scans.remove(session.getId());
+                return;
+            }
+        }
+        scan.update(content, from, content.length - from);
+    }
+
+    private LotFileDTO lotFile(final UploadSession session) {
+        final PackedCardTxtProcessor.Scan scan;
+        synchronized (scans) {
+            scan = scans.remove(session.getId());
+        }
+        if (scan != null && scan.position() == session.getFileSize()) {
+            return scan.finish();
+        }
+        LOGGER.info("Upload session {} was not parsed on arrival, parsing its file", session.getId());
+        return processor.read(lotSpool.openPart(session.getId(), session.getFileSize()));
+    }
+
+    private void forget(final Long id) {
+        synchronized (scans) {
+            scans.remove(id);
+        }
+    }
+
+    private UploadSession find(final Long id) {
+        return uploadSessionRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Upload session not found"));
+    }
+
+    private static UploadSessionGetDTO toDTO(final UploadSession session) {
+        return new UploadSessionGetDTO(session.getId(), session.getFileName(), session.getFileSize(),
+                session.getReceivedBytes(), session.getStatus(), session.getLotId());
+    }
+}
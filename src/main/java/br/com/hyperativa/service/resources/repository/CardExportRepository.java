@@ -0,0 +1,20 @@
+package br.com.hyperativa.service.resources.repository;
+
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+
+import java.util.function.Consumer;
+
+/**
+ * Custom fragment of {@link CardRepository} reading card identifiers over a forward-only cursor.
+ */
+public interface CardExportRepository {
+    /**
+     * Streams the identifiers of all cards with an id greater than {@code afterId}, in id order.
+     * Rows are handed to the consumer as they are read, nothing is kept in memory.
+     *
+     * @param afterId  last id already exported, 0 to start from the beginning
+     * @param consumer receives every row; a runtime exception cancels the query
+     * @return number of rows streamed
+     */
+    long streamIdentifiersAfter(final long afterId, final Consumer<CardGetDTO> consumer);
+}
@@ -0,0 +1,51 @@
+package br.com.hyperativa.service.resources.repository;
+
+import br.com.hyperativa.service.application.config.ExportConfig;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of {@link CardExportRepository}.
+ * Uses a plain forward-only, read-only statement so the driver can stream the result set; no entity is
+ * materialized and the encrypted card number is never read.
+ */
+public class CardExportRepositoryImpl implements CardExportRepository {
+    private static final String EXPORT_QUERY =
+            "SELECT id, card_number_identifier FROM card WHERE id > ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardExportRepositoryImpl(final DataSource dataSource, final ExportConfig exportConfig) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(exportConfig.getFetchSize());
+    }
+
+    @Override
+    public long streamIdentifiersAfter(final long afterId, final Consumer<CardGetDTO> consumer) {
+        final Long rows = jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setLong(1, afterId);
+            return statement;
+        }, resultSet -> {
+            long count = 0;
+            try {
+                while (resultSet.next()) {
+                    consumer.accept(new CardGetDTO(resultSet.getLong(1), resultSet.getString(2)));
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                // Closing an unfinished MySQL streaming result set reads every remaining row, cancel first.
+                resultSet.getStatement().cancel();
+                throw e;
+            }
+            return count;
+        });
+        return rows != null ? rows : 0;
+    }
+}
@@ -1,15 +1,23 @@
 package br.com.hyperativa.service.resources.repository;
 
 import br.com.hyperativa.service.domain.entity.Card;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardHashDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for Card entity.
  * Uses card_number_hash for efficient searching without decryption.
  */
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, CardExportRepository {
     /**
      * Find card by SHA-256 hash of card number.
      * More efficient than decrypting all records.
@@ -17,4 +25,18 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     Optional<Card> findByCardNumberHash(final String cardNumberHash);
 
     Optional<Card> findByCardNumberIdentifier(final String cardNumberIdentifier);
+
+    /**
+     * Page of card identifiers without COUNT query and without decrypting the card number.
+     */
+    @Query("select new br.com.hyperativa.service.domain.entity.dto.CardGetDTO(c.id, c.cardNumberIdentifier) from Card c")
+    Slice<CardGetDTO> findIdentifiers(final Pageable pageable);
+
+    /**
+     * Resolves many hashes in one {@code IN} query, returning the hash with the identifiers so callers can
+     * match results back without decrypting the card number.
+     */
+    @Query("select new br.com.hyperativa.service.domain.entity.dto.CardHashDTO(c.cardNumberHash, c.id, c.cardNumberIdentifier) " +
+            "from Card c where c.cardNumberHash in :hashes")
+    List<CardHashDTO> findIdentifiersByHashIn(@Param("hashes") final Collection<String> hashes);
 }
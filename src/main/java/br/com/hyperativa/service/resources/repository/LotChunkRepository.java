@@ -0,0 +1,32 @@
+package br.com.hyperativa.service.resources.repository;
+
+import br.com.hyperativa.service.domain.entity.LotChunk;
+import br.com.hyperativa.service.domain.entity.dto.LotChunkStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+public interface LotChunkRepository extends JpaRepository<LotChunk, Long> {
+    /**
+     * Oldest pending chunk, or leased chunk whose lease expired, locked for the current transaction. Rows locked by
+     * other instances are skipped instead of waited for, so concurrent claims never queue behind each other.
+     */
+    @Query(value = "SELECT * FROM lot_chunk WHERE status = 'PENDING' OR (status = 'LEASED' AND lease_until < :now) " +
+            "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<LotChunk> findClaimable(@Param("now") final Timestamp now);
+
+    long countByLotIdAndStatusNot(final Long lotId, final LotChunkStatus status);
+
+    /**
+     * Makes the failed chunks of a lot claimable again, with fresh attempts.
+     */
+    @Modifying
+    @Query("update LotChunk c set c.status = :pending, c.leaseOwner = null, c.leaseUntil = null, c.attempts = 0 " +
+            "where c.lotId = :lotId and c.status = :failed")
+    int retryFailed(@Param("lotId") final Long lotId, @Param("pending") final LotChunkStatus pending,
+                    @Param("failed") final LotChunkStatus failed);
+}
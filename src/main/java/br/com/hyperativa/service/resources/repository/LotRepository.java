@@ -0,0 +1,21 @@
+package br.com.hyperativa.service.resources.repository;
+
+import br.com.hyperativa.service.domain.entity.Lot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface LotRepository extends JpaRepository<Lot, Long> {
+    Optional<Lot> findByDigest(final String digest);
+
+    /**
+     * Lot locked for the current transaction, which serializes the chunk completions of a lot.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Lot l where l.id = :id")
+    Optional<Lot> findByIdForUpdate(@Param("id") final Long id);
+}
@@ -0,0 +1,50 @@
+package br.com.hyperativa.service.resources.repository;
+
+import br.com.hyperativa.service.domain.entity.UploadSession;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, Long> {
+    /**
+     * Session locked for the current transaction, which serializes the pieces sent to it from any instance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UploadSession s where s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") final Long id);
+
+    /**
+     * Moves the session from {@code from} to {@code to} at {@code now}; of concurrent callers, only one moves it.
+     *
+     * @return whether the session was moved, as 1 or 0
+     */
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.status = :to, s.updatedAt = :now, s.version = s.version + 1 "
+            + "where s.id = :id and s.status = :from")
+    int transition(@Param("id") final Long id, @Param("from") final UploadSessionStatus from,
+                   @Param("to") final UploadSessionStatus to, @Param("now") final Timestamp now);
+
+    List<UploadSession> findByStatusAndUpdatedAtBefore(final UploadSessionStatus status, final Timestamp updatedAt);
+
+    /**
+     * Moves the session from {@code from} to {@code to} unless it was updated since {@code updatedBefore}.
+     *
+     * @return whether the session was moved, as 1 or 0
+     */
+    @Transactional
+    @Modifying
+    @Query("update UploadSession s set s.status = :to, s.version = s.version + 1 "
+            + "where s.id = :id and s.status = :from and s.updatedAt < :updatedBefore")
+    int updateStatus(@Param("id") final Long id, @Param("from") final UploadSessionStatus from,
+                     @Param("to") final UploadSessionStatus to, @Param("updatedBefore") final Timestamp updatedBefore);
+}
@@ -0,0 +1,14 @@
+-- Shard bucket: first 10 bits of card_number_hash, see CardShardKey
+ALTER TABLE card ADD COLUMN card_bucket SMALLINT NULL;
+
+UPDATE card SET card_bucket = CONV(SUBSTRING(card_number_hash, 1, 3), 16, 10) DIV 4 WHERE card_number_hash IS NOT NULL;
+
+-- Lets the rebalancer copy a bucket range in id order
+CREATE INDEX idx_card_bucket ON card(card_bucket, id);
+
+-- Bucket to shard assignment, read from the first shard only
+CREATE TABLE card_shard_bucket (
+    bucket SMALLINT NOT NULL PRIMARY KEY,
+    shard INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
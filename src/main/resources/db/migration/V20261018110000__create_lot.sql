@@ -0,0 +1,26 @@
+-- Lot files received on /v1/card/upload, one row per distinct file content
+CREATE TABLE lot (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(29) NOT NULL,
+    lot_date DATE NULL,
+    lot_number VARCHAR(8) NOT NULL,
+    declared_records INT NOT NULL,
+    footer_records INT NULL,
+    record_lines INT NOT NULL,
+    accepted_cards INT NOT NULL,
+    rejected_cards INT NOT NULL,
+    duplicate_cards INT NOT NULL,
+    reconciled BOOLEAN NOT NULL,
+    digest CHAR(64) NOT NULL UNIQUE,
+    status VARCHAR(16) NOT NULL,
+    completed_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version INT DEFAULT 0
+);
+
+CREATE INDEX idx_lot_header ON lot(name, lot_date, lot_number);
+
+-- Lot the card was received in; no foreign key, as cards may live on another shard than the lot table
+ALTER TABLE card ADD COLUMN lot_id BIGINT NULL;
+
+CREATE INDEX idx_card_lot ON card(lot_id);
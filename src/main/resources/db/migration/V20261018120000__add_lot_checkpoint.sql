@@ -0,0 +1,7 @@
+-- Durable progress of a lot: cards committed so far, in the order the file yields them, and when it last moved
+ALTER TABLE lot ADD COLUMN checkpoint_cards INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN written_cards INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN existing_cards INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN checkpoint_at TIMESTAMP NULL;
+
+CREATE INDEX idx_lot_status_checkpoint ON lot(status, checkpoint_at);
@@ -0,0 +1,24 @@
+-- Work items of a lot: ranges of its accepted cards, claimed by any instance under a lease
+CREATE TABLE lot_chunk (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    lot_id BIGINT NOT NULL,
+    chunk_index INT NOT NULL,
+    first_card INT NOT NULL,
+    end_card INT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    lease_owner VARCHAR(64) NULL,
+    lease_until TIMESTAMP NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    written_cards INT NOT NULL DEFAULT 0,
+    existing_cards INT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version INT DEFAULT 0,
+    CONSTRAINT fk_lot_chunk_lot FOREIGN KEY (lot_id) REFERENCES lot(id),
+    CONSTRAINT uk_lot_chunk_index UNIQUE (lot_id, chunk_index)
+);
+
+CREATE INDEX idx_lot_chunk_claim ON lot_chunk(status, lease_until);
+
+-- Interrupted lots are now recovered through chunk leases instead of a scan of stale lots
+DROP INDEX idx_lot_status_checkpoint ON lot;
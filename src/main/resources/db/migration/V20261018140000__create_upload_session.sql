@@ -0,0 +1,16 @@
+-- Lot files uploaded in pieces: the content is assembled in the spool directory, received_bytes is the offset up
+-- to which it is known to be on disk
+CREATE TABLE upload_session (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(16) NOT NULL,
+    lot_id BIGINT NULL,
+    updated_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version INT DEFAULT 0,
+    CONSTRAINT fk_upload_session_lot FOREIGN KEY (lot_id) REFERENCES lot(id)
+);
+
+CREATE INDEX idx_upload_session_expiry ON upload_session(status, updated_at);
@@ -0,0 +1,7 @@
+-- Records rejected by validation per reason, and the first rejected lines as line:REASON pairs
+ALTER TABLE lot ADD COLUMN rejected_missing INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN rejected_non_digit INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN rejected_length INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN rejected_luhn INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN rejected_bin INT NOT NULL DEFAULT 0;
+ALTER TABLE lot ADD COLUMN rejected_lines VARCHAR(512) NULL;
@@ -0,0 +1,100 @@
+package br.com.hyperativa.service.application.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AuditRingBuffer Unit Tests")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer<String>(1024).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new AuditRingBuffer<String>(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should return entries in publication order")
+    void shouldReturnEntriesInPublicationOrder() {
+        // Given
+        AuditRingBuffer<String> buffer = new AuditRingBuffer<>(4);
+
+        // When
+        buffer.offer("a");
+        buffer.offer("b");
+        buffer.offer("c");
+
+        // Then
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject offers when full and accept again after draining")
+    void shouldRejectOffersWhenFull() {
+        // Given
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(2);
+        buffer.offer(1);
+        buffer.offer(2);
+
+        // When & Then
+        assertThat(buffer.offer(3)).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(2);
+        assertThat(drained).containsExactly(1, 2);
+        assertThat(buffer.offer(3)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not lose entries with concurrent producers")
+    void shouldNotLoseEntriesWithConcurrentProducers() throws InterruptedException {
+        // Given
+        final int producers = 4;
+        final int perProducer = 10_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Integer> received = new HashSet<>();
+        while (received.size() < producers * perProducer) {
+            buffer.drain(received::add, 256);
+        }
+        done.await(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.hyperativa.service.application.config.aspect;
+
+import br.com.hyperativa.service.application.config.DataSourceConfig;
+import br.com.hyperativa.service.application.config.datasource.DataSourcePool;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRoute;
+import br.com.hyperativa.service.application.config.datasource.DataSourceRouteContext;
+import br.com.hyperativa.service.application.config.datasource.PoolRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DataSourceRouteAspect Unit Tests")
+class DataSourceRouteAspectTest {
+
+    private HikariDataSource onlineDataSource;
+    private HikariDataSource ingestionDataSource;
+    private RoutedService routedService;
+
+    @BeforeEach
+    void setUp() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.setUsername("sa");
+        DataSourceConfig dataSourceConfig = new DataSourceConfig(new MockEnvironment());
+        onlineDataSource = dataSourceConfig.onlineDataSource(properties);
+        ingestionDataSource = dataSourceConfig.ingestionDataSource(properties);
+        PoolRoutingDataSource routing = dataSourceConfig.poolRoutingDataSource(onlineDataSource, ingestionDataSource);
+        routing.afterPropertiesSet();
+
+        RoutedService target = new RoutedService(routing);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new DataSourceRouteAspect());
+        routedService = factory.getProxy();
+        target.self = routedService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouteContext.restore(null);
+        onlineDataSource.close();
+        ingestionDataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should hand an ingestion method a connection of the ingestion pool")
+    void shouldHandIngestionMethodIngestionPoolConnection() throws SQLException {
+        // When
+        String pool = routedService.ingest();
+
+        // Then
+        assertThat(pool).isEqualTo("hyperativa-ingestion-pool");
+        assertThat(DataSourceRouteContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should hand an unannotated method a connection of the online pool")
+    void shouldHandUnannotatedMethodOnlinePoolConnection() throws SQLException {
+        // When
+        String pool = routedService.lookup();
+
+        // Then
+        assertThat(pool).isEqualTo("hyperativa-online-pool");
+        assertThat(DataSourceRouteContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should restore the outer pool after a nested call and clear it after the outer one")
+    void shouldRestoreOuterPoolAfterNestedCall() throws SQLException {
+        // When
+        List<String> pools = routedService.ingestAroundOnline();
+
+        // Then
+        assertThat(pools).containsExactly(
+                "hyperativa-ingestion-pool", "hyperativa-online-pool", "hyperativa-ingestion-pool");
+        assertThat(DataSourceRouteContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should clear the pool when the routed method throws")
+    void shouldClearPoolWhenRoutedMethodThrows() {
+        // When & Then
+        assertThatThrownBy(() -> routedService.ingestAndFail())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("ingestion failed");
+        assertThat(DataSourceRouteContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should restore the outer pool when a nested call throws")
+    void shouldRestoreOuterPoolWhenNestedCallThrows() throws SQLException {
+        // When
+        String pool = routedService.ingestAroundFailingOnline();
+
+        // Then
+        assertThat(pool).isEqualTo("hyperativa-ingestion-pool");
+        assertThat(DataSourceRouteContext.current()).isNull();
+    }
+
+    static class RoutedService {
+        private final DataSource dataSource;
+
+        private final List<HikariDataSource> pools;
+
+        RoutedService self;
+
+        RoutedService(final PoolRoutingDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.pools = dataSource.getResolvedDataSources().values().stream()
+                    .map(HikariDataSource.class::cast)
+                    .toList();
+        }
+
+        @DataSourceRoute(DataSourcePool.INGESTION)
+        public String ingest() throws SQLException {
+            return connectionPool();
+        }
+
+        public String lookup() throws SQLException {
+            return connectionPool();
+        }
+
+        @DataSourceRoute(DataSourcePool.ONLINE)
+        public String online() throws SQLException {
+            return connectionPool();
+        }
+
+        @DataSourceRoute(DataSourcePool.INGESTION)
+        public List<String> ingestAroundOnline() throws SQLException {
+            List<String> pools = new ArrayList<>();
+            pools.add(connectionPool());
+            pools.add(self.online());
+            pools.add(connectionPool());
+            return pools;
+        }
+
+        @DataSourceRoute(DataSourcePool.INGESTION)
+        public void ingestAndFail() {
+            throw new IllegalStateException("ingestion failed");
+        }
+
+        @DataSourceRoute(DataSourcePool.ONLINE)
+        public void onlineAndFail() {
+            throw new IllegalStateException("online failed");
+        }
+
+        @DataSourceRoute(DataSourcePool.INGESTION)
+        public String ingestAroundFailingOnline() throws SQLException {
+            try {
+                self.onlineAndFail();
+            } catch (IllegalStateException e) {
+                // the failure of the nested call is not the outer call's
+            }
+            return connectionPool();
+        }
+
+        /**
+         * Name of the pool the connection was borrowed from, the only one with an active connection while held.
+         */
+        private String connectionPool() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                return pools.stream()
+                        .filter(pool -> pool.getHikariPoolMXBean() != null
+                                && pool.getHikariPoolMXBean().getActiveConnections() > 0)
+                        .map(HikariDataSource::getPoolName)
+                        .findFirst()
+                        .orElseThrow();
+            }
+        }
+    }
+}
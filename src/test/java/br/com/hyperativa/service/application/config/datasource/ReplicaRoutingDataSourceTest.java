@@ -0,0 +1,108 @@
+package br.com.hyperativa.service.application.config.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        replica.setPassword("");
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the others to the primary")
+    void shouldSendReadOnlyTransactionsToReplica() {
+        // Given
+        DataSource dataSource = proxy(new ReplicaRoutingDataSource(primary, List.of(replica), new ReadYourWritesTracker(0)));
+
+        // When & Then
+        assertThat(readMarker(dataSource, true)).isEqualTo("replica");
+        assertThat(readMarker(dataSource, false)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica refuses connections")
+    void shouldFallBackToPrimaryWhenReplicaRefusesConnections() {
+        // Given
+        replica.setPassword("wrong");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), new ReadYourWritesTracker(0));
+        DataSource dataSource = proxy(routing);
+
+        // When
+        String marker = readMarker(dataSource, true);
+        routing.checkHealth(1);
+
+        // Then
+        assertThat(marker).isEqualTo("primary");
+        assertThat(routing.getHealthyCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary within the read-your-writes window")
+    void shouldReadFromPrimaryWithinReadYourWritesWindow() {
+        // Given
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(60000);
+        DataSource dataSource = proxy(new ReplicaRoutingDataSource(primary, List.of(replica), tracker));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_USER"));
+        String beforeWrite = readMarker(dataSource, true);
+
+        // When
+        tracker.recordWrite();
+
+        // Then
+        assertThat(beforeWrite).isEqualTo("replica");
+        assertThat(readMarker(dataSource, true)).isEqualTo("primary");
+    }
+
+    private static DataSource proxy(final ReplicaRoutingDataSource routing) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing.getPrimary());
+        proxy.setReadOnlyDataSource(routing);
+        return proxy;
+    }
+
+    private static String readMarker(final DataSource dataSource, final boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static JdbcDataSource database(final String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + marker + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", marker);
+        return dataSource;
+    }
+}
@@ -0,0 +1,254 @@
+package br.com.hyperativa.service.application.config.sharding;
+
+import br.com.hyperativa.service.application.config.ShardingConfig;
+import br.com.hyperativa.service.application.util.CardShardKey;
+import br.com.hyperativa.service.application.util.HashUtil;
+import io.azam.ulidj.ULID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ShardRebalancer Unit Tests")
+class ShardRebalancerTest {
+
+    private static final int HALF = CardShardKey.BUCKETS / 2;
+
+    private JdbcDataSource shard0;
+    private JdbcDataSource shard1;
+    private ShardRoutingDataSource routing;
+    private ShardMap shardMap;
+    private ShardDirectory shardDirectory;
+    private ShardRebalancer rebalancer;
+    private Runnable beforeDelete = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        shard0 = database("shard0");
+        shard1 = database("shard1");
+        routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(Map.of(0, interceptingDeletes(shard0), 1, shard1));
+        routing.setDefaultTargetDataSource(shard0);
+        routing.afterPropertiesSet();
+
+        shardMap = new ShardMap(2);
+        shardDirectory = new ShardDirectory(shard0);
+        shardDirectory.save(shardMap.snapshot());
+
+        ShardingConfig shardingConfig = new ShardingConfig();
+        shardingConfig.setMapRefreshIntervalMs(0);
+        shardingConfig.setRebalanceBatchSize(3);
+        rebalancer = new ShardRebalancer(routing, shardMap, shardDirectory, shardingConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(shard0).execute("SHUTDOWN");
+        new JdbcTemplate(shard1).execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("Should move a bucket range to another shard and route its identifiers there")
+    void shouldMoveBucketRangeToAnotherShard() {
+        // Given
+        List<String> identifiers = new ArrayList<>();
+        int lowerHalf = 0;
+        for (int i = 0; i < 20; i++) {
+            String cardNumber = String.format("4000%012d", i);
+            identifiers.add(insert(shard0, cardNumber));
+            if (bucket(cardNumber) < HALF) {
+                lowerHalf++;
+            }
+        }
+
+        // When
+        ShardMoveResult result = rebalancer.move(0, HALF - 1, 1);
+
+        // Then
+        assertThat(result.copied()).isEqualTo(lowerHalf);
+        assertThat(result.deleted()).isEqualTo(lowerHalf);
+        assertThat(count(shard1)).isEqualTo(lowerHalf);
+        assertThat(count(shard0)).isEqualTo(20 - lowerHalf);
+        assertThat(shardMap.shardOfBucket(0)).isEqualTo(1);
+        assertThat(shardMap.shardOfBucket(HALF)).isZero();
+        assertThat(shardDirectory.load()[HALF - 1]).isEqualTo(1);
+        for (String identifier : identifiers) {
+            int shard = shardMap.shardOfIdentifier(identifier);
+            assertThat(exists(shard == 1 ? shard1 : shard0, identifier)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip cards already present on the target shard")
+    void shouldSkipCardsAlreadyOnTarget() {
+        // Given
+        String cardNumber = findCardNumberInBucketRange(0, HALF - 1);
+        insert(shard0, cardNumber);
+        insert(shard1, cardNumber);
+
+        // When
+        ShardMoveResult result = rebalancer.move(0, HALF - 1, 1);
+
+        // Then
+        assertThat(result.copied()).isZero();
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(count(shard0)).isZero();
+        assertThat(count(shard1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should copy the rows written to the source after the catch-up copy before deleting them")
+    void shouldCopyRowsWrittenAfterCatchUpCopy() {
+        // Given
+        insert(shard0, findCardNumberInBucketRange(0, HALF - 1));
+        List<String> late = new ArrayList<>();
+        beforeDelete = () -> {
+            if (late.isEmpty()) {
+                late.add(insert(shard0, findCardNumberInBucketRange(0, HALF - 1, 1)));
+            }
+        };
+
+        // When
+        ShardMoveResult result = rebalancer.move(0, HALF - 1, 1);
+
+        // Then
+        assertThat(result.copied()).isEqualTo(2);
+        assertThat(result.deleted()).isEqualTo(2);
+        assertThat(count(shard0)).isZero();
+        assertThat(count(shard1)).isEqualTo(2);
+        assertThat(exists(shard1, late.get(0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fail the move and keep the rows that the source keeps receiving")
+    void shouldFailMoveWhenSourceKeepsReceivingWrites() {
+        // Given
+        insert(shard0, findCardNumberInBucketRange(0, HALF - 1));
+        List<String> late = new ArrayList<>();
+        beforeDelete = () -> late.add(insert(shard0, findCardNumberInBucketRange(0, HALF - 1, late.size() + 1)));
+
+        // When & Then
+        assertThatThrownBy(() -> rebalancer.move(0, HALF - 1, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("still receive writes");
+        assertThat(exists(shard0, late.get(late.size() - 1))).isTrue();
+        assertThat(count(shard0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should route connections to the shard selected for the thread")
+    void shouldRouteConnectionsToSelectedShard() {
+        // Given
+        insert(shard1, "4000000000000001");
+
+        // When
+        Integer previous = ShardContext.select(1);
+        long onShard1;
+        try {
+            onShard1 = count(routing);
+        } finally {
+            ShardContext.restore(previous);
+        }
+
+        // Then
+        assertThat(onShard1).isEqualTo(1);
+        assertThat(count(routing)).isZero();
+    }
+
+    private static String findCardNumberInBucketRange(final int fromBucket, final int toBucket) {
+        return findCardNumberInBucketRange(fromBucket, toBucket, 0);
+    }
+
+    /**
+     * The {@code index}-th card number, from 0, whose bucket is in the range.
+     */
+    private static String findCardNumberInBucketRange(final int fromBucket, final int toBucket, final int index) {
+        int found = 0;
+        for (int i = 0; ; i++) {
+            String cardNumber = String.format("5000%012d", i);
+            int bucket = bucket(cardNumber);
+            if (bucket >= fromBucket && bucket <= toBucket && found++ == index) {
+                return cardNumber;
+            }
+        }
+    }
+
+    /**
+     * Runs {@link #beforeDelete} whenever the rebalancer selects the ids to delete from the given source, i.e. after
+     * it copied the rows; stands for an instance still writing to the source.
+     */
+    private DataSource interceptingDeletes(final DataSource source) {
+        return new DelegatingDataSource(source) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(ShardRebalancerTest.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                            if (method.getName().equals("prepareStatement")
+                                    && ((String) args[0]).startsWith("SELECT id FROM card WHERE")
+                                    && ((String) args[0]).contains("id <= ?")) {
+                                beforeDelete.run();
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+    }
+
+    private static int bucket(final String cardNumber) {
+        return CardShardKey.bucketOfFingerprint(HashUtil.sha256Hex(cardNumber));
+    }
+
+    private static String insert(final DataSource dataSource, final String cardNumber) {
+        String hash = HashUtil.sha256Hex(cardNumber);
+        int bucket = CardShardKey.bucketOfFingerprint(hash);
+        String identifier = CardShardKey.withBucket(ULID.random(), bucket);
+        new JdbcTemplate(dataSource).update(
+                "INSERT INTO card (card_number, card_number_hash, card_bucket, card_number_identifier) VALUES (?, ?, ?, ?)",
+                "encrypted-" + cardNumber, hash, bucket, identifier);
+        return identifier;
+    }
+
+    private static long count(final DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM card", Long.class);
+    }
+
+    private static boolean exists(final DataSource dataSource, final String identifier) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM card WHERE card_number_identifier = ?", Long.class, identifier) == 1;
+    }
+
+    private static JdbcDataSource database(final String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE card (id BIGINT AUTO_INCREMENT PRIMARY KEY, card_number VARCHAR(255) NOT NULL, " +
+                "card_number_hash VARCHAR(64) UNIQUE, card_bucket SMALLINT, card_number_identifier VARCHAR(26) NOT NULL UNIQUE, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, version INT DEFAULT 0, lot_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE card_shard_bucket (bucket SMALLINT NOT NULL PRIMARY KEY, shard INT NOT NULL, " +
+                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.hyperativa.service.application.lot;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LotSpool Unit Tests")
+class LotSpoolTest {
+
+    @TempDir
+    Path directory;
+
+    private LotSpool lotSpool;
+
+    @BeforeEach
+    void setUp() {
+        LotConfig config = new LotConfig();
+        config.setSpoolDirectory(directory.resolve("lots").toString());
+        lotSpool = new LotSpool(config);
+    }
+
+    @Test
+    @DisplayName("Should read back a spooled lot until it is deleted")
+    void shouldReadBackSpooledLotUntilDeleted() throws IOException {
+        // Given
+        byte[] content = "DESAFIO-HYPERATIVA           20180524LOTE0001000001\n".getBytes(StandardCharsets.US_ASCII);
+        lotSpool.write("abc", new MockMultipartFile("file", "cards.txt", "text/plain", content));
+
+        // When
+        MultipartFile spooled = lotSpool.open("abc");
+
+        // Then
+        assertThat(spooled.getSize()).isEqualTo(content.length);
+        assertThat(spooled.getInputStream().readAllBytes()).isEqualTo(content);
+        try (var files = Files.list(directory.resolve("lots"))) {
+            assertThat(files).extracting(path -> path.getFileName().toString()).containsExactly("abc.lot");
+        }
+
+        lotSpool.delete("abc");
+        assertThatThrownBy(() -> lotSpool.open("abc"))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("not spooled");
+    }
+
+    @Test
+    @DisplayName("Should assemble the pieces of an upload session and move them under the lot digest")
+    void shouldAssemblePiecesAndMoveThemUnderDigest() throws IOException {
+        // Given
+        byte[] first = "DESAFIO-HYPERATIVA ".getBytes(StandardCharsets.US_ASCII);
+        byte[] second = "xx20180524LOTE0001000001\n".getBytes(StandardCharsets.US_ASCII);
+
+        // When
+        lotSpool.writePart(3L, first.length, second, 2, second.length - 2);
+        lotSpool.writePart(3L, 0, first, 0, first.length);
+        lotSpool.adopt(3L, "abc");
+
+        // Then
+        assertThat(new String(lotSpool.open("abc").getBytes(), StandardCharsets.US_ASCII))
+                .isEqualTo("DESAFIO-HYPERATIVA 20180524LOTE0001000001\n");
+        assertThatThrownBy(() -> lotSpool.openPart(3L, 0))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("has no content");
+    }
+
+    @Test
+    @DisplayName("Should spool a lot file of a staged archive compressed with gzip")
+    void shouldSpoolArchiveEntryCompressedWithGzip() throws IOException {
+        // Given
+        byte[] content = "DESAFIO-HYPERATIVA           20180524LOTE0001000001\n".getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            zip.putNextEntry(new ZipEntry("cards.txt"));
+            zip.write(content);
+            zip.closeEntry();
+        }
+        Path staged = lotSpool.stage(new MockMultipartFile("file", "lots.zip", "application/zip",
+                archive.toByteArray()));
+
+        // When
+        lotSpool.writeArchiveEntry("abc", staged, "cards.txt");
+        lotSpool.unstage(staged);
+
+        // Then
+        try (InputStream in = new GZIPInputStream(lotSpool.open("abc").getInputStream())) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(staged).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should spool an inbox file that stays readable once removed from the inbox")
+    void shouldLinkInboxFileIntoSpool() throws IOException {
+        // Given
+        Path inboxFile = Files.writeString(directory.resolve("cards.txt"), "DESAFIO-HYPERATIVA");
+
+        // When
+        lotSpool.link("abc", inboxFile);
+        Files.delete(inboxFile);
+
+        // Then
+        assertThat(new String(lotSpool.open("abc").getBytes(), StandardCharsets.US_ASCII))
+                .isEqualTo("DESAFIO-HYPERATIVA");
+    }
+}
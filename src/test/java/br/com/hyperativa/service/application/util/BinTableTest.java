@@ -0,0 +1,71 @@
+package br.com.hyperativa.service.application.util;
+
+import br.com.hyperativa.service.domain.entity.dto.BinInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BinTable Unit Tests")
+class BinTableTest {
+
+    @Test
+    @DisplayName("Should find the range holding a card number prefix")
+    void shouldFindRangeHoldingCardNumberPrefix() throws IOException {
+        // Given
+        BinTable table = BinTable.parse(reader("""
+                # from,to,brand,issuer
+                51,55,MASTERCARD,
+                44568979,44568979,VISA,Example Bank
+
+                40,43,VISA,
+                """));
+
+        // When & Then
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.find("4456897922969999")).isEqualTo(new BinInfo("VISA", "Example Bank"));
+        assertThat(table.find("5500000000000000")).isEqualTo(new BinInfo("MASTERCARD", null));
+        assertThat(table.find("4000000000000000")).isEqualTo(new BinInfo("VISA", null));
+        assertThat(table.find("4456897822969999")).isNull();
+        assertThat(table.find("5600000000000000")).isNull();
+        assertThat(table.find("1234")).isNull();
+        assertThat(table.find("44X6897922969999")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should share one BinInfo between ranges with the same brand and issuer")
+    void shouldShareBinInfoBetweenRanges() throws IOException {
+        // Given
+        BinTable table = BinTable.parse(reader("""
+                51,51,MASTERCARD,
+                53,55,MASTERCARD,
+                """));
+
+        // When & Then
+        assertThat(table.find("5100000000000000")).isSameAs(table.find("5400000000000000"));
+        assertThat(table.find("5200000000000000")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse overlapping ranges and malformed lines")
+    void shouldRefuseOverlappingRangesAndMalformedLines() {
+        assertThatThrownBy(() -> BinTable.parse(reader("51,55,MASTERCARD,\n5500,5599,OTHER,\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("overlap");
+        assertThatThrownBy(() -> BinTable.parse(reader("51,55,MASTERCARD\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+        assertThatThrownBy(() -> BinTable.parse(reader("5,55,MASTERCARD,\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid BIN range");
+    }
+
+    private static BufferedReader reader(final String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
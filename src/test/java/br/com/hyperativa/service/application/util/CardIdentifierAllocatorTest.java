@@ -0,0 +1,85 @@
+package br.com.hyperativa.service.application.util;
+
+import io.azam.ulidj.ULID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CardIdentifierAllocator Unit Tests")
+class CardIdentifierAllocatorTest {
+
+    @Test
+    @DisplayName("Should allocate increasing valid ULIDs carrying the bucket")
+    void shouldAllocateIncreasingIdentifiers() {
+        // Given
+        String previous = CardIdentifierAllocator.next(0);
+
+        // When & Then
+        for (int i = 1; i < 10000; i++) {
+            int bucket = i % CardShardKey.BUCKETS;
+            String identifier = CardIdentifierAllocator.next(bucket);
+            assertThat(identifier).hasSize(26).isGreaterThan(previous);
+            assertThat(ULID.isValid(identifier)).isTrue();
+            assertThat(CardShardKey.bucketOfIdentifier(identifier)).isEqualTo(bucket);
+            previous = identifier;
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the node right after the timestamp")
+    void shouldWriteNodeAfterTimestamp() {
+        // Given
+        int node = CardIdentifierAllocator.node();
+        CardIdentifierAllocator.useNode(37);
+
+        // When
+        String identifier;
+        try {
+            identifier = CardIdentifierAllocator.next(0);
+        } finally {
+            CardIdentifierAllocator.useNode(node);
+        }
+
+        // Then
+        assertThat(identifier.substring(10, 12)).isEqualTo("15");
+    }
+
+    @Test
+    @DisplayName("Should allocate unique identifiers across threads")
+    void shouldAllocateUniqueIdentifiersAcrossThreads() throws Exception {
+        // Given
+        int threads = 8;
+        int perThread = 20000;
+        Set<String> identifiers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        identifiers.add(CardIdentifierAllocator.next(i % CardShardKey.BUCKETS));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(identifiers).hasSize(threads * perThread);
+    }
+}
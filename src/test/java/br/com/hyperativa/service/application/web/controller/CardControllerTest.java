@@ -0,0 +1,194 @@
+package br.com.hyperativa.service.application.web.controller;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.config.ExportConfig;
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.config.WebConfig;
+import br.com.hyperativa.service.application.web.controller.response.CardPageResponse;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.services.CardBulkCreateService;
+import br.com.hyperativa.service.domain.services.CardService;
+import br.com.hyperativa.service.domain.services.LotService;
+import br.com.hyperativa.service.domain.services.UploadSessionService;
+import br.com.hyperativa.service.domain.services.impl.CardCreateCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardController Unit Tests")
+class CardControllerTest {
+    private static final long ASYNC_REQUEST_TIMEOUT_MS = 50;
+    private static final List<CardGetDTO> CARDS = List.of(new CardGetDTO(1L, "id-1"), new CardGetDTO(2L, "id-2"));
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private CardBulkCreateService cardBulkCreateService;
+
+    @Mock
+    private CardCreateCoalescer cardCreateCoalescer;
+
+    @Mock
+    private LotService lotService;
+
+    @Mock
+    private UploadSessionService uploadSessionService;
+
+    private ExportConfig exportConfig;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        exportConfig = new ExportConfig();
+        CardController cardController = new CardController(cardService, cardBulkCreateService, cardCreateCoalescer,
+                lotService, uploadSessionService, new ObjectMapper(), exportConfig, new LotConfig(),
+                new CardNumberValidator(new CardValidationConfig()));
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new MappingJackson2HttpMessageConverter(),
+                new MappingJackson2SmileHttpMessageConverter(), new MappingJackson2CborHttpMessageConverter()));
+        new WebConfig(new StaticListableBeanFactory().getBeanProvider(Jackson2ObjectMapperBuilder.class))
+                .extendMessageConverters(converters);
+        mockMvc = MockMvcBuilders.standaloneSetup(cardController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+                .setAsyncRequestTimeout(ASYNC_REQUEST_TIMEOUT_MS)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer JSON with totals to clients accepting any type")
+    void shouldAnswerJsonToClientsAcceptingAnyType() throws Exception {
+        // Given
+        when(cardService.getAllCards(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(CARDS, invocation.getArgument(0), CARDS.size()));
+
+        // When & Then
+        mockMvc.perform(get("/v1/card").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].cardNumberIdentifier").value("id-1"))
+                .andExpect(jsonPath("$.totalElements").value(2));
+        verify(cardService, never()).getCardSlice(any());
+    }
+
+    @Test
+    @DisplayName("Should answer JSON to clients sending no Accept header")
+    void shouldAnswerJsonWithoutAcceptHeader() throws Exception {
+        // Given
+        when(cardService.getAllCards(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(CARDS, invocation.getArgument(0), CARDS.size()));
+
+        // When & Then
+        mockMvc.perform(get("/v1/card"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[1].id").value(2));
+        verify(cardService, never()).getCardSlice(any());
+    }
+
+    @Test
+    @DisplayName("Should answer a CBOR slice to clients accepting CBOR")
+    void shouldAnswerCborSlice() throws Exception {
+        // Given
+        when(cardService.getCardSlice(any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(CARDS, invocation.getArgument(0), true));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/v1/card").param("page", "1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Then
+        CardPageResponse page = new ObjectMapper(new CBORFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), CardPageResponse.class);
+        assertThat(page).isEqualTo(new CardPageResponse(CARDS, 1, 20, true));
+        verify(cardService, never()).getAllCards(any());
+    }
+
+    @Test
+    @DisplayName("Should answer a Smile slice to clients accepting Smile")
+    void shouldAnswerSmileSlice() throws Exception {
+        // Given
+        when(cardService.getCardSlice(any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(CARDS, invocation.getArgument(0), false));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/v1/card").accept(WebConfig.APPLICATION_SMILE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WebConfig.APPLICATION_SMILE_VALUE))
+                .andReturn();
+
+        // Then
+        CardPageResponse page = new ObjectMapper(new SmileFactory())
+                .readValue(result.getResponse().getContentAsByteArray(), CardPageResponse.class);
+        assertThat(page).isEqualTo(new CardPageResponse(CARDS, 0, 20, false));
+        verify(cardService, never()).getAllCards(any());
+    }
+
+    @Test
+    @DisplayName("Should stream the export past the async request timeout")
+    void shouldStreamExportPastAsyncRequestTimeout() throws Exception {
+        // Given
+        when(cardService.exportCards(eq(0L), any())).thenAnswer(invocation -> {
+            Consumer<CardGetDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new CardGetDTO(1L, "id-1"));
+            Thread.sleep(ASYNC_REQUEST_TIMEOUT_MS * 4);
+            consumer.accept(new CardGetDTO(2L, "id-2"));
+            return 2L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/v1/card/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(exportConfig.getTimeoutMs());
+        result.getAsyncResult(5000);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"id":1,"cardNumberIdentifier":"id-1"}
+                        {"id":2,"cardNumberIdentifier":"id-2"}
+                        """));
+    }
+}
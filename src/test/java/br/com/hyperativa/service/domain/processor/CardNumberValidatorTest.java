@@ -0,0 +1,98 @@
+package br.com.hyperativa.service.domain.processor;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CardNumberValidator Unit Tests")
+class CardNumberValidatorTest {
+
+    @Test
+    @DisplayName("Should accept any 16-digit number with the default rules")
+    void shouldAcceptAny16DigitNumberWithDefaultRules() {
+        // Given
+        CardNumberValidator validator = new CardNumberValidator(new CardValidationConfig());
+
+        // When & Then
+        assertThat(validator.rejectReason("4456897922969999")).isNull();
+        assertThat(validator.rejectReason("445689792296999")).isEqualTo(CardRejectReason.LENGTH);
+        assertThat(validator.rejectReason("44568979229699991")).isEqualTo(CardRejectReason.LENGTH);
+        assertThat(validator.rejectReason("4456 89792296999")).isEqualTo(CardRejectReason.NON_DIGIT);
+        assertThat(validator.rejectReason("")).isEqualTo(CardRejectReason.LENGTH);
+    }
+
+    @Test
+    @DisplayName("Should check the Luhn digit when enabled")
+    void shouldCheckLuhnDigitWhenEnabled() {
+        // Given
+        CardValidationConfig config = new CardValidationConfig();
+        config.setLuhnEnabled(true);
+        CardNumberValidator validator = new CardNumberValidator(config);
+
+        // When & Then
+        assertThat(validator.rejectReason("4111111111111111")).isNull();
+        assertThat(validator.rejectReason("5555555555554444")).isNull();
+        assertThat(validator.rejectReason("4111111111111112")).isEqualTo(CardRejectReason.LUHN);
+        assertThat(validator.rejectReason("4456897922969999")).isEqualTo(CardRejectReason.LUHN);
+    }
+
+    @Test
+    @DisplayName("Should accept only configured BIN ranges")
+    void shouldAcceptOnlyConfiguredBinRanges() {
+        // Given
+        CardValidationConfig config = new CardValidationConfig();
+        config.setBinRanges(List.of(range("4", "4"), range("51", "55"), range("222100", "272099")));
+        CardNumberValidator validator = new CardNumberValidator(config);
+
+        // When & Then
+        assertThat(validator.rejectReason("4456897922969999")).isNull();
+        assertThat(validator.rejectReason("5599999999999999")).isNull();
+        assertThat(validator.rejectReason("2221000000000000")).isNull();
+        assertThat(validator.rejectReason("2720999999999999")).isNull();
+        assertThat(validator.rejectReason("2721000000000000")).isEqualTo(CardRejectReason.BIN);
+        assertThat(validator.rejectReason("5600000000000000")).isEqualTo(CardRejectReason.BIN);
+        assertThat(validator.rejectReason("3056897922969999")).isEqualTo(CardRejectReason.BIN);
+    }
+
+    @Test
+    @DisplayName("Should validate a slice of raw bytes like the equivalent string")
+    void shouldValidateSliceOfRawBytes() {
+        // Given
+        CardValidationConfig config = new CardValidationConfig();
+        config.setLuhnEnabled(true);
+        CardNumberValidator validator = new CardNumberValidator(config);
+        byte[] line = "C1     4111111111111111  ".getBytes(StandardCharsets.US_ASCII);
+
+        // When & Then
+        assertThat(validator.rejectReason(line, 7, 23)).isNull();
+        assertThat(validator.rejectReason(line, 7, 25)).isEqualTo(CardRejectReason.NON_DIGIT);
+        assertThat(validator.rejectReason(line, 8, 23)).isEqualTo(CardRejectReason.LENGTH);
+    }
+
+    @Test
+    @DisplayName("Should refuse malformed BIN ranges")
+    void shouldRefuseMalformedBinRanges() {
+        // Given
+        CardValidationConfig config = new CardValidationConfig();
+        config.setBinRanges(List.of(range("55", "51")));
+
+        // When & Then
+        assertThatThrownBy(() -> new CardNumberValidator(config))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid BIN range 55-51");
+    }
+
+    private static CardValidationConfig.BinRange range(final String from, final String to) {
+        CardValidationConfig.BinRange range = new CardValidationConfig.BinRange();
+        range.setFrom(from);
+        range.setTo(to);
+        return range;
+    }
+}
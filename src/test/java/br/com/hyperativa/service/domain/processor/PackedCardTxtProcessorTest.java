@@ -0,0 +1,410 @@
+package br.com.hyperativa.service.domain.processor;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotRejectedLineDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PackedCardTxtProcessor Unit Tests")
+class PackedCardTxtProcessorTest {
+
+    @Mock
+    private FileUploadConfig fileUploadConfig;
+
+    @TempDir
+    Path directory;
+
+    private PackedCardTxtProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(fileUploadConfig.getMaxFileSize()).thenReturn(10485760L); // 10MB
+        lenient().when(fileUploadConfig.getMaxLines()).thenReturn(10_000_000L);
+        lenient().when(fileUploadConfig.getMaxArchiveEntries()).thenReturn(64);
+        processor = new PackedCardTxtProcessor(fileUploadConfig, new PipelineMetrics(new SimpleMeterRegistry()),
+                new CardNumberValidator(new CardValidationConfig()));
+    }
+
+    @Test
+    @DisplayName("Should pack the card numbers of a valid file")
+    void shouldPackCardNumbersOfValidFile() {
+        // Given
+        MultipartFile file = lot("""
+                DESAFIO-HYPERATIVA           20180524LOTE0001000010
+                C1     4456897922969999
+                C2     0056897999999999
+                LOTE0001000002
+                """);
+
+        // When
+        PackedCardNumbers result = processor.process(file).cards();
+
+        // Then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.cardNumber(0)).isEqualTo("4456897922969999");
+        assertThat(result.cardNumber(1)).isEqualTo("0056897999999999");
+    }
+
+    @Test
+    @DisplayName("Should read header and footer and reconcile the record counts")
+    void shouldReadHeaderAndFooterAndReconcileRecordCounts() {
+        // Given
+        MultipartFile file = lot("""
+                DESAFIO-HYPERATIVA           20180524LOTE0001000003
+                C1     4456897922969999
+                C2     445689792296999
+                C3     4456897922969999
+                LOTE0001000003
+                """);
+
+        // When
+        LotFileDTO result = processor.process(file);
+
+        // Then
+        assertThat(result.name()).isEqualTo("DESAFIO-HYPERATIVA");
+        assertThat(result.date()).isEqualTo(LocalDate.of(2018, 5, 24));
+        assertThat(result.lotNumber()).isEqualTo("LOTE0001");
+        assertThat(result.declaredRecords()).isEqualTo(3);
+        assertThat(result.footerLotNumber()).isEqualTo("LOTE0001");
+        assertThat(result.footerRecords()).isEqualTo(3);
+        assertThat(result.records()).isEqualTo(3);
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.cards().size()).isEqualTo(1);
+        assertThat(result.isReconciled()).isTrue();
+        assertThat(result.digest()).hasSize(64);
+    }
+
+    @Test
+    @DisplayName("Should flag a lot whose counts disagree and hash every byte of the file")
+    void shouldFlagUnreconciledLotAndHashWholeFile() {
+        // Given
+        String content = """
+                DESAFIO-HYPERATIVA           20180524LOTE0001000010
+                C1     4456897922969999
+                C2     0056897999999999
+                LOTE0001000002
+                """;
+
+        // When
+        LotFileDTO result = processor.process(lot(content));
+        LotFileDTO trailing = processor.process(lot(content + "C3     4456897999999999\n"));
+
+        // Then
+        assertThat(result.isReconciled()).isFalse();
+        assertThat(result.digest()).isEqualTo(processor.process(lot(content)).digest());
+        assertThat(trailing.cards().size()).isEqualTo(2);
+        assertThat(trailing.digest()).isNotEqualTo(result.digest());
+    }
+
+    @Test
+    @DisplayName("Should parse a lot fed in pieces like the whole file, without the upload size limit")
+    void shouldParseLotFedInPiecesLikeWholeFile() throws IOException {
+        // Given
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileGenerator.generate(LotFileSpec.of(2_000).withDuplicateRatio(0.1).withMalformedRatio(0.05), content);
+        byte[] bytes = content.toByteArray();
+        when(fileUploadConfig.getMaxFileSize()).thenReturn(1024L);
+        LotFileDTO whole = processor.read(new MockMultipartFile("file", "cards.txt", "text/plain", bytes));
+
+        // When
+        PackedCardTxtProcessor.Scan scan = processor.scan(bytes.length);
+        for (int offset = 0; offset < bytes.length; offset += 777) {
+            scan.update(bytes, offset, Math.min(777, bytes.length - offset));
+        }
+        LotFileDTO result = scan.finish();
+
+        // Then
+        assertThat(scan.position()).isEqualTo(bytes.length);
+        assertThat(result.digest()).isEqualTo(whole.digest());
+        assertThat(result.records()).isEqualTo(whole.records());
+        assertThat(result.rejected()).isEqualTo(whole.rejected());
+        assertThat(result.duplicates()).isEqualTo(whole.duplicates());
+        assertThat(result.cards().size()).isEqualTo(whole.cards().size());
+        assertThat(result.cards().cardNumber(result.cards().size() - 1))
+                .isEqualTo(whole.cards().cardNumber(whole.cards().size() - 1));
+        assertThatThrownBy(() -> processor.process(
+                new MockMultipartFile("file", "cards.txt", "text/plain", bytes)))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("exceeds maximum allowed size");
+    }
+
+    @Test
+    @DisplayName("Should reconcile a generated lot of the largest record count a header can declare")
+    void shouldReconcileGeneratedLotOfLargestDeclarableSize() throws IOException {
+        // Given
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileSummary summary = LotFileGenerator.generate(LotFileSpec.of(LotFileSpec.MAX_LINES)
+                .withDuplicateRatio(0.02).withMalformedRatio(0.01), content);
+
+        // When
+        LotFileDTO result = processor.read(
+                new MockMultipartFile("file", "cards.txt", "text/plain", content.toByteArray()));
+
+        // Then
+        assertThat(result.declaredRecords()).isEqualTo(LotFileSpec.MAX_LINES);
+        assertThat(result.footerRecords()).isEqualTo(LotFileSpec.MAX_LINES);
+        assertThat(result.records()).isEqualTo(summary.lines());
+        assertThat(result.cards().size()).isEqualTo(summary.uniqueCards());
+        assertThat(result.isReconciled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should refuse to generate a lot whose record count a header cannot declare")
+    void shouldRefuseToGenerateLotAboveDeclarableSize() {
+        // When & Then
+        assertThatThrownBy(() -> LotFileSpec.of(LotFileSpec.MAX_LINES + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("largest record count a LOTE header can declare");
+    }
+
+    @Test
+    @DisplayName("Should parse a gzip compressed lot like the plain file")
+    void shouldParseGzipLotLikePlainFile() throws IOException {
+        // Given
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileGenerator.generate(LotFileSpec.of(2_000).withDuplicateRatio(0.1).withMalformedRatio(0.05), content);
+        LotFileDTO plain = processor.process(
+                new MockMultipartFile("file", "cards.txt", "text/plain", content.toByteArray()));
+
+        // When
+        LotFileDTO result = processor.process(
+                new MockMultipartFile("file", "cards.txt.gz", "application/octet-stream", gzip(content.toByteArray())));
+
+        // Then
+        assertThat(result.digest()).isEqualTo(plain.digest());
+        assertThat(result.records()).isEqualTo(plain.records());
+        assertThat(result.cards().size()).isEqualTo(plain.cards().size());
+        assertThat(result.isReconciled()).isEqualTo(plain.isReconciled());
+    }
+
+    @Test
+    @DisplayName("Should refuse a lot with more lines than allowed once decompressed")
+    void shouldRefuseLotAboveMaximumLines() throws IOException {
+        // Given
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileGenerator.generate(LotFileSpec.of(500), content);
+        when(fileUploadConfig.getMaxLines()).thenReturn(100L);
+        MultipartFile file = new MockMultipartFile("file", "cards.txt.gz", "application/gzip",
+                gzip(content.toByteArray()));
+
+        // When & Then
+        assertThatThrownBy(() -> processor.process(file))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("exceeds 100 lines");
+    }
+
+    @Test
+    @DisplayName("Should refuse a file declared as compressed whose content is not")
+    void shouldRefuseFileDeclaredCompressedButPlain() {
+        // Given
+        MultipartFile file = new MockMultipartFile("file", "cards.gz", "application/gzip",
+                "DESAFIO-HYPERATIVA           20180524LOTE0001000001\n".getBytes(StandardCharsets.US_ASCII));
+
+        // When & Then
+        assertThatThrownBy(() -> processor.process(file))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("neither gzip nor zip");
+    }
+
+    @Test
+    @DisplayName("Should parse every lot file of a zip archive and report each one")
+    void shouldParseEveryLotFileOfZipArchive() throws IOException {
+        // Given
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        LotFileSummary firstSummary = LotFileGenerator.generate(LotFileSpec.of(1_000).withSeed(1), first);
+        LotFileSummary secondSummary = LotFileGenerator.generate(LotFileSpec.of(3_000).withSeed(2), second);
+        Path archive = directory.resolve("lots.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            entry(zip, "first.txt", first.toByteArray());
+            entry(zip, "second.txt", second.toByteArray());
+            entry(zip, "broken.txt", "SHORT HEADER\n".getBytes(StandardCharsets.US_ASCII));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        List<PackedCardTxtProcessor.ArchiveEntry> result;
+        try {
+            result = processor.processArchive(archive, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(result).extracting(PackedCardTxtProcessor.ArchiveEntry::name)
+                .containsExactly("first.txt", "second.txt", "broken.txt");
+        assertThat(result.get(0).lotFile().cards().size()).isEqualTo(firstSummary.uniqueCards());
+        assertThat(result.get(1).lotFile().cards().size()).isEqualTo(secondSummary.uniqueCards());
+        assertThat(result.get(1).lotFile().digest()).isEqualTo(processor.read(
+                new MockMultipartFile("file", "second.txt", "text/plain", second.toByteArray())).digest());
+        assertThat(result.get(2).lotFile()).isNull();
+        assertThat(result.get(2).error()).contains("header at line 1");
+    }
+
+    @Test
+    @DisplayName("Should drop invalid and repeated card numbers")
+    void shouldDropInvalidAndRepeatedCardNumbers() {
+        // Given
+        MultipartFile file = lot("""
+                DESAFIO-HYPERATIVA           20180524LOTE0001000010
+                C1     4456897922969999
+                C2     445689792296999
+                C3     44568979229699AB
+                C4     4456897922969999
+                C5     4456897999999999
+                LOTE0001000005
+                """);
+
+        // When
+        PackedCardNumbers result = processor.process(file).cards();
+
+        // Then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.cardNumber(0)).isEqualTo("4456897922969999");
+        assertThat(result.cardNumber(1)).isEqualTo("4456897999999999");
+    }
+
+    @Test
+    @DisplayName("Should count rejected card numbers per reason and keep their line numbers")
+    void shouldCountRejectedCardNumbersPerReason() {
+        // Given
+        MultipartFile file = lot("""
+                DESAFIO-HYPERATIVA           20180524LOTE0001000004
+                C1     4456897922969999
+                C2     44568979229699991
+                C3     44568979229699AB
+                C4     4456897922969999000
+                LOTE0001000004
+                """);
+
+        // When
+        LotFileDTO result = processor.process(file);
+
+        // Then
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.rejectedBy()).containsEntry(CardRejectReason.LENGTH, 2)
+                .containsEntry(CardRejectReason.NON_DIGIT, 1)
+                .containsEntry(CardRejectReason.LUHN, 0)
+                .hasSize(CardRejectReason.values().length);
+        assertThat(result.rejectedLines()).containsExactly(
+                new LotRejectedLineDTO(3, CardRejectReason.LENGTH),
+                new LotRejectedLineDTO(4, CardRejectReason.NON_DIGIT),
+                new LotRejectedLineDTO(5, CardRejectReason.LENGTH));
+    }
+
+    @Test
+    @DisplayName("Should handle CRLF line endings and a missing final newline")
+    void shouldHandleCrlfLineEndings() {
+        // Given
+        MultipartFile file = lot("DESAFIO-HYPERATIVA           20180524LOTE0001000010\r\n"
+                + "C1     4456897922969999\r\n"
+                + "C2     4456897999999999  ");
+
+        // When
+        PackedCardNumbers result = processor.process(file).cards();
+
+        // Then
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.cardNumber(1)).isEqualTo("4456897999999999");
+    }
+
+    @Test
+    @DisplayName("Should throw exception for invalid header")
+    void shouldThrowExceptionForInvalidHeader() {
+        // Given
+        MultipartFile file = lot("""
+                SHORT HEADER
+                C1     4456897922969999
+                """);
+
+        // When & Then
+        assertThatThrownBy(() -> processor.process(file))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("header at line 1");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when no valid cards found")
+    void shouldThrowExceptionWhenNoValidCardsFound() {
+        // Given
+        MultipartFile file = lot("""
+                DESAFIO-HYPERATIVA           20180524LOTE0001000010
+                C1     12345678901234567890
+                LOTE0001000001
+                """);
+
+        // When & Then
+        assertThatThrownBy(() -> processor.process(file))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("No valid card numbers found");
+    }
+
+    @Test
+    @DisplayName("Should keep every unique card of a generated lot")
+    void shouldKeepEveryUniqueCardOfGeneratedLot() throws IOException {
+        // Given
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileSummary summary = LotFileGenerator.generate(LotFileSpec.of(10_000)
+                .withDuplicateRatio(0.1).withMalformedRatio(0.05).withLineLengthJitter(4), content);
+        MultipartFile file = new MockMultipartFile("file", "cards.txt", "text/plain", content.toByteArray());
+
+        // When
+        PackedCardNumbers result = processor.process(file).cards();
+
+        // Then
+        assertThat(summary.duplicates()).isPositive();
+        assertThat(result.size()).isEqualTo(summary.uniqueCards());
+    }
+
+    private static byte[] gzip(final byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void entry(final ZipOutputStream zip, final String name, final byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static MultipartFile lot(final String content) {
+        return new MockMultipartFile("file", "cards.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.BinTableConfig;
+import br.com.hyperativa.service.domain.entity.dto.BinInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BinLookupService Unit Tests")
+class BinLookupServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    private BinLookupServiceImpl binLookupService;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("bin-ranges.csv");
+        BinTableConfig config = new BinTableConfig();
+        config.setFile(file.toString());
+        binLookupService = new BinLookupServiceImpl(config);
+    }
+
+    @Test
+    @DisplayName("Should swap in the new table when the file changes")
+    void shouldSwapInNewTableWhenFileChanges() throws IOException {
+        // Given
+        write("44,44,VISA,First Bank\n", 1_000);
+        binLookupService.afterPropertiesSet();
+        write("44,44,VISA,Second Bank\n51,55,MASTERCARD,\n", 2_000);
+
+        // When
+        binLookupService.reload();
+
+        // Then
+        assertThat(binLookupService.size()).isEqualTo(2);
+        assertThat(binLookupService.findByCardNumber("4456897922969999")).isEqualTo(new BinInfo("VISA", "Second Bank"));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous table when the new file is invalid")
+    void shouldKeepPreviousTableWhenNewFileIsInvalid() throws IOException {
+        // Given
+        write("44,44,VISA,First Bank\n", 1_000);
+        binLookupService.afterPropertiesSet();
+        write("44,44,VISA\n", 2_000);
+
+        // When
+        binLookupService.reload();
+
+        // Then
+        assertThat(binLookupService.findByCardNumber("4456897922969999")).isEqualTo(new BinInfo("VISA", "First Bank"));
+    }
+
+    @Test
+    @DisplayName("Should not enrich without a BIN file")
+    void shouldNotEnrichWithoutBinFile() {
+        // When
+        binLookupService.afterPropertiesSet();
+
+        // Then
+        assertThat(binLookupService.size()).isZero();
+        assertThat(binLookupService.findByCardNumber("4456897922969999")).isNull();
+    }
+
+    private void write(final String content, final long modifiedMillis) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.BulkCreateConfig;
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateStatus;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.services.CardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardBulkCreateService Unit Tests")
+class CardBulkCreateServiceImplTest {
+
+    @Mock
+    private CardService cardService;
+
+    private BulkCreateConfig bulkCreateConfig;
+
+    private CardBulkCreateServiceImpl cardBulkCreateService;
+
+    @BeforeEach
+    void setUp() {
+        bulkCreateConfig = new BulkCreateConfig();
+        bulkCreateConfig.setChunkSize(2);
+        cardBulkCreateService = new CardBulkCreateServiceImpl(cardService, new ObjectMapper(), bulkCreateConfig,
+                new PipelineMetrics(new SimpleMeterRegistry()), new CardNumberValidator(new CardValidationConfig()));
+    }
+
+    @Test
+    @DisplayName("Should create cards in chunks and report invalid elements by index")
+    void shouldCreateCardsInChunksAndReportInvalidElements() {
+        // Given
+        when(cardService.createCardsChunk(anyList())).thenAnswer(invocation -> {
+            List<CardCreateDTO> chunk = invocation.getArgument(0);
+            return chunk.stream().map(card -> CardCreateResultDTO.created(1L, card.cardNumber())).toList();
+        });
+
+        // When
+        List<CardCreateResultDTO> results = cardBulkCreateService.createCards(json("""
+                ["1234567890123456", {"cardNumber": "9876543210987654", "extra": [1, 2]}, "123", 42, {"other": "x"},
+                 {"cardNumber": "4456897922969999"}]
+                """));
+
+        // Then
+        assertThat(results).extracting(CardCreateResultDTO::status).containsExactly(
+                CardCreateStatus.CREATED, CardCreateStatus.CREATED, CardCreateStatus.INVALID,
+                CardCreateStatus.INVALID, CardCreateStatus.INVALID, CardCreateStatus.CREATED);
+        assertThat(results).extracting(CardCreateResultDTO::reason).containsExactly(
+                null, null, CardRejectReason.LENGTH, CardRejectReason.MISSING, CardRejectReason.MISSING, null);
+        assertThat(results.get(5).cardNumberIdentifier()).isEqualTo("4456897922969999");
+        verify(cardService, times(2)).createCardsChunk(anyList());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed chunk card by card")
+    void shouldRetryFailedChunkCardByCard() {
+        // Given
+        when(cardService.createCardsChunk(anyList())).thenThrow(new CardCreateException("Chunk card create error"));
+        when(cardService.createCard(any(CardCreateDTO.class)))
+                .thenReturn(new CardGetDTO(1L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C5"))
+                .thenThrow(new CardCreateException("Card create error"));
+
+        // When
+        List<CardCreateResultDTO> results = cardBulkCreateService.createCards(json("[\"1234567890123456\", \"9876543210987654\"]"));
+
+        // Then
+        assertThat(results).extracting(CardCreateResultDTO::status)
+                .containsExactly(CardCreateStatus.CREATED, CardCreateStatus.ERROR);
+        verify(cardService, times(2)).createCard(any(CardCreateDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should report a card stored by a concurrent request during the retry as a duplicate")
+    void shouldReportCardStoredConcurrentlyAsDuplicate() {
+        // Given
+        when(cardService.createCardsChunk(anyList())).thenThrow(new CardCreateException("Chunk card create error"));
+        when(cardService.createCard(any(CardCreateDTO.class))).thenThrow(new CardCreateException("Card create error",
+                new DataIntegrityViolationException("Duplicate entry for key 'idx_card_number_hash'")));
+        when(cardService.getCardByNumber("1234567890123456"))
+                .thenReturn(new CardGetDTO(3L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C5"));
+        when(cardService.getCardByNumber("9876543210987654")).thenThrow(new NotFoundException("Card not found"));
+
+        // When
+        List<CardCreateResultDTO> results = cardBulkCreateService.createCards(json("[\"1234567890123456\", \"9876543210987654\"]"));
+
+        // Then
+        assertThat(results).extracting(CardCreateResultDTO::status)
+                .containsExactly(CardCreateStatus.DUPLICATE, CardCreateStatus.ERROR);
+        assertThat(results.get(0).id()).isEqualTo(3L);
+        assertThat(results.get(0).cardNumberIdentifier()).isEqualTo("01JQ6Z5K9Q3N8W1XGZB7T2M4C5");
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not a JSON array")
+    void shouldRejectBodyThatIsNotJsonArray() {
+        // When & Then
+        assertThatThrownBy(() -> cardBulkCreateService.createCards(json("{\"cardNumber\": \"1234567890123456\"}")))
+                .isInstanceOf(HyperativaBaseException.class);
+        verifyNoInteractions(cardService);
+    }
+
+    private static InputStream json(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.GroupCommitConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardCreateResultDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.services.CardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CardCreateCoalescer Unit Tests")
+class CardCreateCoalescerTest {
+
+    @Mock
+    private CardService cardService;
+
+    private GroupCommitConfig config;
+
+    private CardCreateCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        config = new GroupCommitConfig();
+        config.setEnabled(true);
+        config.setMaxDelayMs(500);
+        config.setMaxBatchSize(3);
+        coalescer = new CardCreateCoalescer(cardService, config, new PipelineMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    @DisplayName("Should write concurrent creates in a single group commit")
+    void shouldWriteConcurrentCreatesInSingleGroupCommit() {
+        // Given
+        when(cardService.createCardsChunk(anyList())).thenAnswer(invocation -> {
+            List<CardCreateDTO> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(card -> card.cardNumber().startsWith("0")
+                            ? CardCreateResultDTO.duplicate(9L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C9")
+                            : CardCreateResultDTO.created(Long.valueOf(card.cardNumber().substring(15)), card.cardNumber()))
+                    .toList();
+        });
+        coalescer.start();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            CompletableFuture<CardGetDTO> first = CompletableFuture.supplyAsync(
+                    () -> coalescer.create(new CardCreateDTO("1234567890123451")), executor);
+            CompletableFuture<CardGetDTO> second = CompletableFuture.supplyAsync(
+                    () -> coalescer.create(new CardCreateDTO("1234567890123452")), executor);
+            CompletableFuture<CardGetDTO> duplicate = CompletableFuture.supplyAsync(
+                    () -> coalescer.create(new CardCreateDTO("0234567890123453")), executor);
+
+            // Then
+            assertThat(first.join().id()).isEqualTo(1L);
+            assertThat(second.join().id()).isEqualTo(2L);
+            assertThatThrownBy(duplicate::join).hasCauseInstanceOf(CardCreateException.class);
+        }
+        verify(cardService, times(1)).createCardsChunk(anyList());
+        verify(cardService, never()).createCard(any(CardCreateDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to individual creates when the group commit fails")
+    void shouldFallBackToIndividualCreatesWhenGroupCommitFails() {
+        // Given
+        config.setMaxDelayMs(1);
+        when(cardService.createCardsChunk(anyList())).thenThrow(new CardCreateException("Chunk card create error"));
+        when(cardService.createCard(any(CardCreateDTO.class))).thenReturn(new CardGetDTO(1L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C5"));
+        coalescer.start();
+
+        // When
+        CardGetDTO result = coalescer.create(new CardCreateDTO("1234567890123456"));
+
+        // Then
+        assertThat(result.id()).isEqualTo(1L);
+        verify(cardService, times(1)).createCard(any(CardCreateDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should create directly when group commit is disabled")
+    void shouldCreateDirectlyWhenGroupCommitIsDisabled() {
+        // Given
+        config.setEnabled(false);
+        when(cardService.createCard(any(CardCreateDTO.class))).thenReturn(new CardGetDTO(1L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C5"));
+        coalescer.start();
+
+        // When
+        CardGetDTO result = coalescer.create(new CardCreateDTO("1234567890123456"));
+
+        // Then
+        assertThat(result.id()).isEqualTo(1L);
+        verify(cardService, times(1)).createCard(any(CardCreateDTO.class));
+        verifyNoMoreInteractions(cardService);
+    }
+}
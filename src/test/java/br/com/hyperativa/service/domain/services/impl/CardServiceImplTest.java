@@ -1,31 +1,51 @@
 package br.com.hyperativa.service.domain.services.impl;
 
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.config.LookupConfig;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.util.HashUtil;
+import br.com.hyperativa.service.application.util.PackedCardNumber;
 import br.com.hyperativa.service.domain.entity.Card;
+import br.com.hyperativa.service.domain.entity.dto.BinInfo;
 import br.com.hyperativa.service.domain.entity.dto.CardCreateDTO;
 import br.com.hyperativa.service.domain.entity.dto.CardGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.CardHashDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
 import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
 import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.services.BinLookupService;
 import br.com.hyperativa.service.resources.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +55,24 @@ class CardServiceImplTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Spy
+    private PipelineMetrics pipelineMetrics = new PipelineMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private LookupConfig lookupConfig = new LookupConfig();
+
+    @Mock
+    private FileUploadConfig fileUploadConfig;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private CardNumberValidator cardNumberValidator = new CardNumberValidator(new CardValidationConfig());
+
+    @Mock
+    private BinLookupService binLookupService;
+
     @InjectMocks
     private CardServiceImpl cardService;
 
@@ -126,6 +164,57 @@ class CardServiceImplTest {
                 .hasMessageContaining("Batch card create error");
     }
 
+    @Test
+    @DisplayName("Should write packed cards of a lot chunk by chunk, detaching every chunk")
+    void shouldWritePackedCardsChunkByChunk() {
+        // Given
+        PackedCardNumbers cardNumbers = new PackedCardNumbers();
+        cardNumbers.add(PackedCardNumber.pack("1234567890123456"));
+        cardNumbers.add(PackedCardNumber.pack("9876543210987654"));
+        cardNumbers.add(PackedCardNumber.pack("4456897922969999"));
+        when(fileUploadConfig.getWriteChunkSize()).thenReturn(2);
+        when(cardRepository.saveAll(anyList())).thenReturn(List.of());
+
+        // When
+        int written = cardService.createPackedCardsInBatch(cardNumbers, 7L);
+
+        // Then
+        assertThat(written).isEqualTo(3);
+        verify(cardRepository).saveAll(argThat(list -> ((List<?>) list).size() == 2));
+        verify(cardRepository).saveAll(argThat(list -> ((List<?>) list).size() == 1));
+        verify(cardRepository, times(2)).saveAll(argThat(list ->
+                ((List<?>) list).stream().allMatch(card -> Long.valueOf(7L).equals(((Card) card).getLotId()))));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should skip packed cards already stored, writing nothing for a chunk fully stored")
+    void shouldSkipStoredPackedCards() {
+        // Given
+        PackedCardNumbers cardNumbers = new PackedCardNumbers();
+        cardNumbers.add(PackedCardNumber.pack("1234567890123456"));
+        cardNumbers.add(PackedCardNumber.pack("9876543210987654"));
+        cardNumbers.add(PackedCardNumber.pack("4456897922969999"));
+        when(fileUploadConfig.getWriteChunkSize()).thenReturn(2);
+        when(cardRepository.findIdentifiersByHashIn(anyList())).thenAnswer(invocation -> {
+            List<String> hashes = invocation.getArgument(0);
+            return hashes.contains(HashUtil.sha256Hex("4456897922969999"))
+                    ? List.of(new CardHashDTO(HashUtil.sha256Hex("4456897922969999"), 3L, "id-3"))
+                    : List.of(new CardHashDTO(HashUtil.sha256Hex("1234567890123456"), 1L, "id-1"));
+        });
+        when(cardRepository.saveAll(anyList())).thenReturn(List.of());
+
+        // When
+        int written = cardService.createPackedCardsInBatch(cardNumbers, 7L);
+
+        // Then
+        assertThat(written).isEqualTo(1);
+        verify(cardRepository, times(1)).saveAll(argThat(list -> ((List<?>) list).size() == 1
+                && "9876543210987654".equals(((Card) ((List<?>) list).get(0)).getCardNumber())));
+        verify(entityManager, times(1)).flush();
+    }
+
     @Test
     @DisplayName("Should get card by number successfully")
     void shouldGetCardByNumberSuccessfully() {
@@ -141,6 +230,21 @@ class CardServiceImplTest {
         verify(cardRepository, times(1)).findByCardNumberHash(anyString());
     }
 
+    @Test
+    @DisplayName("Should add brand and issuer to a card found by number")
+    void shouldAddBrandAndIssuerToCardFoundByNumber() {
+        // Given
+        when(cardRepository.findByCardNumberHash(anyString())).thenReturn(Optional.of(testCard));
+        when(binLookupService.findByCardNumber("1234567890123456")).thenReturn(new BinInfo("VISA", "Example Bank"));
+
+        // When
+        CardGetDTO result = cardService.getCardByNumber("1234567890123456");
+
+        // Then
+        assertThat(result.brand()).isEqualTo("VISA");
+        assertThat(result.issuer()).isEqualTo("Example Bank");
+    }
+
     @Test
     @DisplayName("Should throw NotFoundException when card not found by number")
     void shouldThrowNotFoundExceptionWhenCardNotFoundByNumber() {
@@ -186,4 +290,82 @@ class CardServiceImplTest {
         assertThat(result.getContent()).hasSize(2);
         verify(cardRepository, times(1)).findAll(pageable);
     }
+
+    @Test
+    @DisplayName("Should get a slice of card identifiers without counting or loading the cards")
+    void shouldGetSliceOfCardIdentifiers() {
+        // Given
+        Pageable pageable = PageRequest.of(1, 2);
+        List<CardGetDTO> identifiers = List.of(new CardGetDTO(3L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C5"),
+                new CardGetDTO(4L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C6"));
+        when(cardRepository.findIdentifiers(pageable)).thenReturn(new SliceImpl<>(identifiers, pageable, true));
+
+        // When
+        Slice<CardGetDTO> result = cardService.getCardSlice(pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactlyElementsOf(identifiers);
+        assertThat(result.getNumber()).isEqualTo(1);
+        assertThat(result.hasNext()).isTrue();
+        verify(cardRepository, times(1)).findIdentifiers(pageable);
+        verify(cardRepository, never()).count();
+        verify(cardRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should stream exported cards to the consumer")
+    void shouldStreamExportedCardsToConsumer() {
+        // Given
+        when(cardRepository.streamIdentifiersAfter(eq(10L), any())).thenAnswer(invocation -> {
+            Consumer<CardGetDTO> consumer = invocation.getArgument(1);
+            consumer.accept(new CardGetDTO(11L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C5"));
+            consumer.accept(new CardGetDTO(12L, "01JQ6Z5K9Q3N8W1XGZB7T2M4C6"));
+            return 2L;
+        });
+        List<CardGetDTO> exported = new ArrayList<>();
+
+        // When
+        long rows = cardService.exportCards(10L, exported::add);
+
+        // Then
+        assertThat(rows).isEqualTo(2L);
+        assertThat(exported).extracting(CardGetDTO::id).containsExactly(11L, 12L);
+        verify(cardRepository, times(1)).streamIdentifiersAfter(eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("Should look up many cards in chunks keeping the input order")
+    void shouldLookUpManyCardsInChunksKeepingInputOrder() {
+        // Given
+        lookupConfig.setChunkSize(1);
+        when(cardRepository.findIdentifiersByHashIn(anyList())).thenAnswer(invocation -> {
+            List<String> hashes = invocation.getArgument(0);
+            return hashes.contains(testCard.getCardNumberHash())
+                    ? List.of(new CardHashDTO(testCard.getCardNumberHash(), 1L, testCard.getCardNumberIdentifier()))
+                    : List.of();
+        });
+
+        // When
+        List<Optional<CardGetDTO>> result = cardService.getCardsByNumbers(
+                List.of("9876543210987654", "1234567890123456", "9876543210987654"));
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).isEmpty();
+        assertThat(result.get(1)).hasValueSatisfying(card -> assertThat(card.id()).isEqualTo(1L));
+        assertThat(result.get(2)).isEmpty();
+        verify(cardRepository, times(2)).findIdentifiersByHashIn(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject lookups above the maximum batch size")
+    void shouldRejectLookupsAboveMaximumBatchSize() {
+        // Given
+        lookupConfig.setMaxBatchSize(1);
+
+        // When & Then
+        assertThatThrownBy(() -> cardService.getCardsByNumbers(List.of("1234567890123456", "9876543210987654")))
+                .isInstanceOf(HyperativaBaseException.class);
+        verifyNoInteractions(cardRepository);
+    }
 }
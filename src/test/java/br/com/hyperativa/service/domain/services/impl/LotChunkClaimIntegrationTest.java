@@ -0,0 +1,99 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.HyperativaApplication;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.domain.processor.LotFileGenerator;
+import br.com.hyperativa.service.domain.processor.LotFileSpec;
+import br.com.hyperativa.service.domain.processor.LotFileSummary;
+import br.com.hyperativa.service.domain.services.LotService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances sharing a MySQL database and a spool directory, as in a multi-node deployment.
+ * <p>
+ * Runs only when {@code LOT_IT_DATASOURCE_URL} points to a local database, e.g.
+ * {@code LOT_IT_DATASOURCE_URL=jdbc:mysql://localhost:3306/hyperativa_it ./gradlew test}; the schema is migrated by
+ * Flyway and {@code LOT_IT_DATASOURCE_USERNAME}/{@code LOT_IT_DATASOURCE_PASSWORD} default to root with no password.
+ */
+@EnabledIfEnvironmentVariable(named = "LOT_IT_DATASOURCE_URL", matches = ".+")
+@DisplayName("Lot chunk claiming across instances")
+class LotChunkClaimIntegrationTest {
+    private static final long TIMEOUT_MS = 120_000;
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    @DisplayName("Should spread the chunks of a lot over both instances and write every card once")
+    void shouldSpreadChunksOverBothInstances() throws Exception {
+        // Given
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        LotFileSummary summary = LotFileGenerator.generate(
+                LotFileSpec.of(50_000).withDuplicateRatio(0.05).withSeed(System.nanoTime()), content);
+        MockMultipartFile file = new MockMultipartFile("file", "cards.txt", "text/plain", content.toByteArray());
+
+        try (ConfigurableApplicationContext first = start();
+             ConfigurableApplicationContext second = start()) {
+            // When
+            LotGetDTO queued = first.getBean(LotService.class).ingest(file);
+            LotGetDTO lot = awaitDone(second.getBean(LotService.class), queued.id());
+
+            // Then
+            JdbcTemplate jdbc = new JdbcTemplate(first.getBean(DataSource.class));
+            assertThat(queued.status()).isEqualTo(LotStatus.PROCESSING);
+            assertThat(lot.status()).isEqualTo(LotStatus.COMPLETED);
+            assertThat(lot.writtenCards()).isEqualTo(summary.uniqueCards());
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM card WHERE lot_id = ?", Long.class, lot.id()))
+                    .isEqualTo(summary.uniqueCards());
+            assertThat(jdbc.queryForObject("SELECT COUNT(DISTINCT lease_owner) FROM lot_chunk WHERE lot_id = ?",
+                    Integer.class, lot.id())).isEqualTo(2);
+        }
+    }
+
+    private static LotGetDTO awaitDone(final LotService lotService, final Long lotId) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        LotGetDTO lot = lotService.getLot(lotId);
+        while (lot.status() == LotStatus.PROCESSING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            lot = lotService.getLot(lotId);
+        }
+        return lot;
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(HyperativaApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + System.getenv("LOT_IT_DATASOURCE_URL"),
+                        "spring.datasource.username="
+                                + Objects.requireNonNullElse(System.getenv("LOT_IT_DATASOURCE_USERNAME"), "root"),
+                        "spring.datasource.password="
+                                + Objects.requireNonNullElse(System.getenv("LOT_IT_DATASOURCE_PASSWORD"), ""),
+                        "spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+                        "spring.flyway.enabled=true",
+                        "app.warmup.enabled=false",
+                        "app.lot.spool-directory=" + spoolDirectory,
+                        "app.lot.commit-chunk-size=1000",
+                        "app.lot.workers=4",
+                        "app.lot.poll-interval-ms=50")
+                .run();
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.util.PackedCardNumber;
+import br.com.hyperativa.service.domain.entity.Lot;
+import br.com.hyperativa.service.domain.entity.LotChunk;
+import br.com.hyperativa.service.domain.entity.dto.LotChunkStatus;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.resources.repository.LotChunkRepository;
+import br.com.hyperativa.service.resources.repository.LotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LotChunkQueue Unit Tests")
+class LotChunkQueueTest {
+    private static final String OWNER = "node-a";
+
+    @Mock
+    private LotRepository lotRepository;
+
+    @Mock
+    private LotChunkRepository lotChunkRepository;
+
+    private LotChunkQueue lotChunkQueue;
+
+    private Lot lot;
+
+    @BeforeEach
+    void setUp() {
+        LotConfig lotConfig = new LotConfig();
+        lotConfig.setCommitChunkSize(2);
+        lotConfig.setMaxAttempts(2);
+        lotChunkQueue = new LotChunkQueue(lotRepository, lotChunkRepository, lotConfig);
+        PackedCardNumbers cards = new PackedCardNumbers();
+        cards.add(PackedCardNumber.pack("4456897922969999"));
+        cards.add(PackedCardNumber.pack("4456897999999999"));
+        cards.add(PackedCardNumber.pack("1234567890123456"));
+        lot = new Lot().lotFile(new LotFileDTO("DESAFIO-HYPERATIVA", LocalDate.of(2018, 5, 24), "LOTE0001", 3,
+                "LOTE0001", 3, 3, 0, Map.of(), List.of(), 0, "ab".repeat(32), cards));
+        lot.setId(12L);
+    }
+
+    @Test
+    @DisplayName("Should store a new lot with one chunk per commit chunk of cards")
+    @SuppressWarnings("unchecked")
+    void shouldStoreNewLotWithItsChunks() {
+        // Given
+        when(lotRepository.save(lot)).thenReturn(lot);
+
+        // When
+        Lot result = lotChunkQueue.submit(lot);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(LotStatus.PROCESSING);
+        ArgumentCaptor<List<LotChunk>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(lotChunkRepository).saveAll(chunks.capture());
+        assertThat(chunks.getValue()).extracting(LotChunk::getFirstCard, LotChunk::getEndCard)
+                .containsExactly(tuple(0, 2), tuple(2, 3));
+        assertThat(chunks.getValue()).allMatch(chunk -> chunk.getStatus() == LotChunkStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should complete the lot with its last chunk")
+    void shouldCompleteLotWithItsLastChunk() {
+        // Given
+        lot.status(LotStatus.PROCESSING);
+        LotChunk chunk = leased(1);
+        when(lotChunkRepository.countByLotIdAndStatusNot(12L, LotChunkStatus.DONE)).thenReturn(0L);
+
+        // When
+        boolean completed = lotChunkQueue.complete(chunk, OWNER, 1, 1);
+
+        // Then
+        assertThat(completed).isTrue();
+        assertThat(chunk.getStatus()).isEqualTo(LotChunkStatus.DONE);
+        assertThat(lot.getStatus()).isEqualTo(LotStatus.COMPLETED);
+        assertThat(lot.getCheckpointCards()).isEqualTo(2);
+        assertThat(lot.getExistingCards()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should ignore the completion of a chunk whose lease was lost")
+    void shouldIgnoreCompletionOfChunkWhoseLeaseWasLost() {
+        // Given
+        lot.status(LotStatus.PROCESSING);
+        LotChunk chunk = leased(1);
+        chunk.lease("node-b", new Timestamp(System.currentTimeMillis()));
+
+        // When
+        boolean completed = lotChunkQueue.complete(chunk, OWNER, 2, 0);
+
+        // Then
+        assertThat(completed).isFalse();
+        assertThat(chunk.getStatus()).isEqualTo(LotChunkStatus.LEASED);
+        assertThat(lot.getCheckpointCards()).isZero();
+        verify(lotChunkRepository, never()).countByLotIdAndStatusNot(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should give a failed chunk back until it runs out of attempts, then fail the lot")
+    void shouldRetryFailedChunkThenFailLot() {
+        // Given
+        lot.status(LotStatus.PROCESSING);
+        LotChunk chunk = leased(1);
+
+        // When
+        lotChunkQueue.fail(chunk, OWNER);
+
+        // Then
+        assertThat(chunk.getStatus()).isEqualTo(LotChunkStatus.PENDING);
+        assertThat(lot.getStatus()).isEqualTo(LotStatus.PROCESSING);
+
+        // When
+        chunk.lease(OWNER, new Timestamp(System.currentTimeMillis()));
+        lotChunkQueue.fail(chunk, OWNER);
+
+        // Then
+        assertThat(chunk.getStatus()).isEqualTo(LotChunkStatus.FAILED);
+        assertThat(lot.getStatus()).isEqualTo(LotStatus.FAILED);
+    }
+
+    private LotChunk leased(final int attempts) {
+        LotChunk chunk = new LotChunk().range(12L, 1, 2, 3);
+        for (int i = 0; i < attempts; i++) {
+            chunk.lease(OWNER, new Timestamp(System.currentTimeMillis()));
+        }
+        chunk.setId(30L);
+        when(lotRepository.findByIdForUpdate(12L)).thenReturn(Optional.of(lot));
+        when(lotChunkRepository.findById(30L)).thenReturn(Optional.of(chunk));
+        return chunk;
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.lot.LotSpool;
+import br.com.hyperativa.service.application.util.PackedCardNumber;
+import br.com.hyperativa.service.domain.entity.Lot;
+import br.com.hyperativa.service.domain.entity.LotChunk;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.exceptions.CardCreateException;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import br.com.hyperativa.service.domain.services.CardService;
+import br.com.hyperativa.service.resources.repository.LotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LotChunkWorker Unit Tests")
+class LotChunkWorkerTest {
+
+    @Mock
+    private LotChunkQueue lotChunkQueue;
+
+    @Mock
+    private LotRepository lotRepository;
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private PackedCardTxtProcessor processor;
+
+    @Mock
+    private LotSpool lotSpool;
+
+    private LotChunkWorker lotChunkWorker;
+
+    private LotFileDTO lotFile;
+
+    @BeforeEach
+    void setUp() {
+        lotChunkWorker = new LotChunkWorker(lotChunkQueue, lotRepository, cardService, processor, lotSpool,
+                new LotConfig());
+        PackedCardNumbers cards = new PackedCardNumbers();
+        cards.add(PackedCardNumber.pack("4456897922969999"));
+        cards.add(PackedCardNumber.pack("4456897999999999"));
+        cards.add(PackedCardNumber.pack("1234567890123456"));
+        cards.add(PackedCardNumber.pack("9876543210987654"));
+        lotFile = new LotFileDTO("DESAFIO-HYPERATIVA", LocalDate.of(2018, 5, 24), "LOTE0001", 4,
+                "LOTE0001", 4, 4, 0, Map.of(), List.of(), 0, "ab".repeat(32), cards);
+    }
+
+    @Test
+    @DisplayName("Should report no work when no chunk is claimable")
+    void shouldReportNoWorkWhenNoChunkIsClaimable() {
+        // Given
+        when(lotChunkQueue.claim(anyString())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThat(lotChunkWorker.workOnce()).isFalse();
+        verifyNoInteractions(cardService);
+    }
+
+    @Test
+    @DisplayName("Should write the cards of the claimed range and clean up when it completes the lot")
+    void shouldWriteClaimedRangeAndCleanUpCompletedLot() {
+        // Given
+        lotChunkWorker.offer(12L, lotFile);
+        LotChunk chunk = claimed(1);
+        when(cardService.createPackedCardsInBatch(any(), eq(12L))).thenReturn(2);
+        when(lotChunkQueue.complete(eq(chunk), anyString(), eq(2), eq(0))).thenReturn(true);
+
+        // When
+        boolean worked = lotChunkWorker.workOnce();
+
+        // Then
+        assertThat(worked).isTrue();
+        ArgumentCaptor<PackedCardNumbers> cards = ArgumentCaptor.forClass(PackedCardNumbers.class);
+        verify(cardService).createPackedCardsInBatch(cards.capture(), eq(12L));
+        assertThat(cards.getValue().size()).isEqualTo(2);
+        assertThat(cards.getValue().cardNumber(0)).isEqualTo("1234567890123456");
+        verify(lotSpool).delete(lotFile.digest());
+        verifyNoInteractions(processor);
+    }
+
+    @Test
+    @DisplayName("Should complete the cards already stored as skipped, on the first attempt too")
+    void shouldCompleteStoredCardsAsSkipped() {
+        // Given
+        lotChunkWorker.offer(12L, lotFile);
+        LotChunk chunk = claimed(1);
+        when(cardService.createPackedCardsInBatch(any(), eq(12L))).thenReturn(1);
+
+        // When
+        lotChunkWorker.workOnce();
+
+        // Then
+        verify(lotChunkQueue).complete(eq(chunk), anyString(), eq(1), eq(1));
+        verify(lotSpool, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Should parse the spooled file of a lot received by another instance")
+    void shouldParseSpooledFileOfLotReceivedElsewhere() {
+        // Given
+        Lot lot = new Lot().lotFile(lotFile);
+        MultipartFile spooled = mock(MultipartFile.class);
+        claimed(1);
+        when(lotRepository.findById(12L)).thenReturn(Optional.of(lot));
+        when(lotSpool.open(lotFile.digest())).thenReturn(spooled);
+        when(processor.read(spooled)).thenReturn(lotFile);
+
+        // When
+        lotChunkWorker.workOnce();
+        lotChunkWorker.workOnce();
+
+        // Then
+        verify(processor, times(1)).read(spooled);
+        verify(cardService, times(2)).createPackedCardsInBatch(any(), eq(12L));
+    }
+
+    @Test
+    @DisplayName("Should keep writing other lots while the file of a lot is parsed")
+    void shouldWriteOtherLotsWhileLotIsParsed() throws Exception {
+        // Given
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch parsed = new CountDownLatch(1);
+        MultipartFile spooled = mock(MultipartFile.class);
+        when(lotRepository.findById(12L)).thenReturn(Optional.of(new Lot().lotFile(lotFile)));
+        when(lotSpool.open(lotFile.digest())).thenReturn(spooled);
+        when(processor.read(spooled)).thenAnswer(invocation -> {
+            parsing.countDown();
+            parsed.await(5, TimeUnit.SECONDS);
+            return lotFile;
+        });
+        when(lotChunkQueue.claim(anyString()))
+                .thenReturn(Optional.of(new LotChunk().range(12L, 0, 0, 2)))
+                .thenReturn(Optional.of(new LotChunk().range(13L, 0, 0, 2)));
+        lotChunkWorker.offer(13L, lotFile);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Boolean> slow = executor.submit(lotChunkWorker::workOnce);
+            assertThat(parsing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            boolean worked = assertTimeoutPreemptively(Duration.ofSeconds(5), lotChunkWorker::workOnce);
+
+            // Then
+            assertThat(worked).isTrue();
+            verify(cardService).createPackedCardsInBatch(any(), eq(13L));
+            verify(cardService, never()).createPackedCardsInBatch(any(), eq(12L));
+            parsed.countDown();
+            assertThat(slow.get(5, TimeUnit.SECONDS)).isTrue();
+            verify(cardService).createPackedCardsInBatch(any(), eq(12L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give the chunk back when its cards cannot be written")
+    void shouldGiveChunkBackWhenCardsCannotBeWritten() {
+        // Given
+        lotChunkWorker.offer(12L, lotFile);
+        LotChunk chunk = claimed(1);
+        doThrow(new CardCreateException("Batch card create error", new RuntimeException()))
+                .when(cardService).createPackedCardsInBatch(any(), eq(12L));
+
+        // When
+        boolean worked = lotChunkWorker.workOnce();
+
+        // Then
+        assertThat(worked).isTrue();
+        verify(lotChunkQueue).fail(eq(chunk), anyString());
+        verify(lotChunkQueue, never()).complete(any(), anyString(), anyInt(), anyInt());
+    }
+
+    private LotChunk claimed(final int attempts) {
+        LotChunk chunk = new LotChunk().range(12L, 1, 2, 4);
+        for (int i = 0; i < attempts; i++) {
+            chunk.lease("other", new Timestamp(System.currentTimeMillis()));
+        }
+        chunk.setId(30L);
+        when(lotChunkQueue.claim(anyString())).thenReturn(Optional.of(chunk));
+        return chunk;
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import br.com.hyperativa.service.domain.services.LotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LotInboxWatcher Unit Tests")
+class LotInboxWatcherTest {
+    private static final byte[] LOT = """
+            DESAFIO-HYPERATIVA           20180524LOTE0001000001
+            C1     4456897922969999
+            LOTE0001000001
+            """.getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path inbox;
+
+    @Mock
+    private LotService lotService;
+
+    private LotConfig lotConfig;
+
+    private final List<Runnable> handedOver = new ArrayList<>();
+
+    private LotInboxWatcher lotInboxWatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        lotConfig = new LotConfig();
+        lotConfig.getInbox().setDirectory(inbox.toString());
+        lotConfig.getInbox().setSettleMs(0);
+        for (String folder : List.of(LotInboxWatcher.PROCESSING, LotInboxWatcher.DONE, LotInboxWatcher.ERROR)) {
+            Files.createDirectories(inbox.resolve(folder));
+        }
+        lotInboxWatcher = new LotInboxWatcher(lotService, new ObjectMapper(), lotConfig, handedOver::add);
+    }
+
+    @Test
+    @DisplayName("Should ingest a settled file and move it to done with its lot")
+    void shouldIngestSettledFileAndMoveItToDone() throws IOException {
+        // Given
+        Files.write(inbox.resolve("cards.txt"), LOT);
+        when(lotService.ingestLocal(any(Path.class))).thenReturn(new LotGetDTO(21L, "DESAFIO-HYPERATIVA", null,
+                "LOTE0001", 1, 1, 1, 1, 0, Map.of(), List.of(), 0, 0, 0, true, LotStatus.PROCESSING, false));
+
+        // When
+        int claimed = lotInboxWatcher.scan();
+
+        // Then
+        assertThat(claimed).isEqualTo(1);
+        assertThat(Files.exists(inbox.resolve("cards.txt"))).isFalse();
+        assertThat(names(LotInboxWatcher.PROCESSING)).isEmpty();
+        List<String> done = names(LotInboxWatcher.DONE);
+        assertThat(done).hasSize(2).anyMatch(name -> name.endsWith("-cards.txt"));
+        String sidecar = done.stream().filter(name -> name.endsWith(LotInboxWatcher.RESULT_SUFFIX)).findFirst()
+                .orElseThrow();
+        assertThat(Files.readString(inbox.resolve(LotInboxWatcher.DONE).resolve(sidecar))).contains("\"id\":21");
+        verify(lotService, never()).ingestLocalArchive(any());
+    }
+
+    @Test
+    @DisplayName("Should move a refused file to error with the reason")
+    void shouldMoveRefusedFileToErrorWithReason() throws IOException {
+        // Given
+        Files.write(inbox.resolve("cards.txt"), "SHORT HEADER\n".getBytes(StandardCharsets.US_ASCII));
+        when(lotService.ingestLocal(any(Path.class)))
+                .thenThrow(new FileUploadException("Invalid file format: header at line 1"));
+
+        // When
+        lotInboxWatcher.scan();
+
+        // Then
+        List<String> error = names(LotInboxWatcher.ERROR);
+        assertThat(error).hasSize(2);
+        String sidecar = error.stream().filter(name -> name.endsWith(LotInboxWatcher.RESULT_SUFFIX)).findFirst()
+                .orElseThrow();
+        assertThat(Files.readString(inbox.resolve(LotInboxWatcher.ERROR).resolve(sidecar)))
+                .contains("header at line 1");
+        assertThat(names(LotInboxWatcher.DONE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave files still being transferred or modified in the inbox")
+    void shouldLeaveFilesInTransferInInbox() throws IOException {
+        // Given
+        Files.write(inbox.resolve("cards.txt.part"), LOT);
+        Files.write(inbox.resolve(".cards.txt"), LOT);
+        Files.write(inbox.resolve("recent.txt"), LOT);
+        lotConfig.getInbox().setSettleMs(60_000);
+
+        // When
+        int claimed = lotInboxWatcher.scan();
+
+        // Then
+        assertThat(claimed).isZero();
+        assertThat(Files.exists(inbox.resolve("recent.txt"))).isTrue();
+        verifyNoInteractions(lotService);
+    }
+
+    @Test
+    @DisplayName("Should hand files above the parallel threshold to the inbox threads once claimed")
+    void shouldHandLargeFilesToInboxThreads() throws IOException {
+        // Given
+        Files.write(inbox.resolve("large.txt"), LOT);
+        lotConfig.getInbox().setParallelThreshold(LOT.length);
+
+        // When
+        lotInboxWatcher.scan();
+
+        // Then
+        assertThat(handedOver).hasSize(1);
+        assertThat(names(LotInboxWatcher.PROCESSING)).hasSize(1);
+        verifyNoInteractions(lotService);
+
+        handedOver.get(0).run();
+        verify(lotService).ingestLocal(any(Path.class));
+        assertThat(names(LotInboxWatcher.PROCESSING)).isEmpty();
+    }
+
+    private List<String> names(final String folder) throws IOException {
+        try (Stream<Path> files = Files.list(inbox.resolve(folder))) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.lot.LotSpool;
+import br.com.hyperativa.service.application.util.PackedCardNumber;
+import br.com.hyperativa.service.domain.entity.Lot;
+import br.com.hyperativa.service.domain.entity.dto.CardRejectReason;
+import br.com.hyperativa.service.domain.entity.dto.LotArchiveGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotRejectedLineDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.domain.entity.dto.PackedCardNumbers;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import br.com.hyperativa.service.domain.exceptions.NotFoundException;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import br.com.hyperativa.service.resources.repository.LotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LotService Unit Tests")
+class LotServiceImplTest {
+
+    @Mock
+    private LotRepository lotRepository;
+
+    @Mock
+    private LotChunkQueue lotChunkQueue;
+
+    @Mock
+    private LotChunkWorker lotChunkWorker;
+
+    @Mock
+    private PackedCardTxtProcessor processor;
+
+    @Mock
+    private LotSpool lotSpool;
+
+    @Mock
+    private MultipartFile file;
+
+    private LotServiceImpl lotService;
+
+    private LotFileDTO lotFile;
+
+    @BeforeEach
+    void setUp() {
+        lotService = new LotServiceImpl(lotRepository, lotChunkQueue, lotChunkWorker, processor, lotSpool,
+                Runnable::run);
+        PackedCardNumbers cards = new PackedCardNumbers();
+        cards.add(PackedCardNumber.pack("4456897922969999"));
+        cards.add(PackedCardNumber.pack("4456897999999999"));
+        lotFile = new LotFileDTO("DESAFIO-HYPERATIVA", LocalDate.of(2018, 5, 24), "LOTE0001", 2,
+                "LOTE0001", 2, 2, 0, Map.of(), List.of(), 0, "ab".repeat(32), cards);
+        lenient().when(processor.process(file)).thenReturn(lotFile);
+    }
+
+    @Test
+    @DisplayName("Should spool and queue a new lot, handing the parsed file to the local workers")
+    void shouldSpoolAndQueueNewLot() {
+        // Given
+        when(lotRepository.findByDigest(lotFile.digest())).thenReturn(Optional.empty());
+        when(lotChunkQueue.submit(any(Lot.class))).thenAnswer(invocation -> {
+            Lot lot = invocation.<Lot>getArgument(0).status(LotStatus.PROCESSING);
+            lot.setId(12L);
+            return lot;
+        });
+
+        // When
+        LotGetDTO result = lotService.ingest(file);
+
+        // Then
+        assertThat(result.id()).isEqualTo(12L);
+        assertThat(result.status()).isEqualTo(LotStatus.PROCESSING);
+        assertThat(result.acceptedCards()).isEqualTo(2);
+        assertThat(result.reconciled()).isTrue();
+        assertThat(result.resubmitted()).isFalse();
+        verify(lotSpool).write(lotFile.digest(), file);
+        verify(lotChunkWorker).offer(12L, lotFile);
+    }
+
+    @Test
+    @DisplayName("Should move the file of an upload session into the spool instead of copying it")
+    void shouldMoveUploadedFileIntoSpool() {
+        // Given
+        when(lotRepository.findByDigest(lotFile.digest())).thenReturn(Optional.empty());
+        when(lotChunkQueue.submit(any(Lot.class))).thenAnswer(invocation -> {
+            Lot lot = invocation.<Lot>getArgument(0).status(LotStatus.PROCESSING);
+            lot.setId(13L);
+            return lot;
+        });
+
+        // When
+        LotGetDTO result = lotService.ingestUploaded(lotFile, 3L);
+
+        // Then
+        assertThat(result.id()).isEqualTo(13L);
+        assertThat(result.status()).isEqualTo(LotStatus.PROCESSING);
+        verify(lotSpool).adopt(3L, lotFile.digest());
+        verify(lotSpool, never()).write(any(), any());
+        verify(lotChunkWorker).offer(13L, lotFile);
+        verifyNoInteractions(processor);
+    }
+
+    @Test
+    @DisplayName("Should queue every lot file of a zip archive and report the files refused")
+    void shouldQueueEveryLotFileOfArchive() {
+        // Given
+        Path archive = Path.of("archive.zip");
+        when(lotSpool.stage(file)).thenReturn(archive);
+        when(processor.processArchive(eq(archive), any())).thenReturn(List.of(
+                new PackedCardTxtProcessor.ArchiveEntry("a.txt", lotFile, null),
+                new PackedCardTxtProcessor.ArchiveEntry("b.txt", null, "Invalid file format: header at line 1")));
+        when(lotRepository.findByDigest(lotFile.digest())).thenReturn(Optional.empty());
+        when(lotChunkQueue.submit(any(Lot.class))).thenAnswer(invocation -> {
+            Lot lot = invocation.<Lot>getArgument(0).status(LotStatus.PROCESSING);
+            lot.setId(14L);
+            return lot;
+        });
+
+        // When
+        LotArchiveGetDTO result = lotService.ingestArchive(file);
+
+        // Then
+        assertThat(result.files()).hasSize(2);
+        assertThat(result.files().get(0).fileName()).isEqualTo("a.txt");
+        assertThat(result.files().get(0).lot().id()).isEqualTo(14L);
+        assertThat(result.files().get(0).error()).isNull();
+        assertThat(result.files().get(1).lot()).isNull();
+        assertThat(result.files().get(1).error()).isEqualTo("Invalid file format: header at line 1");
+        verify(lotSpool).writeArchiveEntry(lotFile.digest(), archive, "a.txt");
+        verify(lotChunkWorker).offer(14L, lotFile);
+        verify(lotSpool).unstage(archive);
+    }
+
+    @Test
+    @DisplayName("Should report an archive entry that cannot be queued and queue the others")
+    void shouldReportArchiveEntryThatCannotBeQueued() {
+        // Given
+        Path archive = Path.of("archive.zip");
+        LotFileDTO other = new LotFileDTO("DESAFIO-HYPERATIVA", LocalDate.of(2018, 5, 24), "LOTE0002", 2,
+                "LOTE0002", 2, 2, 0, Map.of(), List.of(), 0, "cd".repeat(32), lotFile.cards());
+        when(lotSpool.stage(file)).thenReturn(archive);
+        when(processor.processArchive(eq(archive), any())).thenReturn(List.of(
+                new PackedCardTxtProcessor.ArchiveEntry("a.txt", lotFile, null),
+                new PackedCardTxtProcessor.ArchiveEntry("b.txt", other, null)));
+        when(lotRepository.findByDigest(any())).thenReturn(Optional.empty());
+        doThrow(new FileUploadException("File write error: No space left on device"))
+                .when(lotSpool).writeArchiveEntry(lotFile.digest(), archive, "a.txt");
+        when(lotChunkQueue.submit(any(Lot.class))).thenAnswer(invocation -> {
+            Lot lot = invocation.<Lot>getArgument(0).status(LotStatus.PROCESSING);
+            lot.setId(15L);
+            return lot;
+        });
+
+        // When
+        LotArchiveGetDTO result = lotService.ingestArchive(file);
+
+        // Then
+        assertThat(result.files()).hasSize(2);
+        assertThat(result.files().get(0).lot()).isNull();
+        assertThat(result.files().get(0).error()).isEqualTo("File write error: No space left on device");
+        assertThat(result.files().get(1).lot().id()).isEqualTo(15L);
+        assertThat(result.files().get(1).error()).isNull();
+        verify(lotChunkQueue, times(1)).submit(any(Lot.class));
+        verify(lotChunkWorker).offer(15L, other);
+        verify(lotSpool).unstage(archive);
+    }
+
+    @Test
+    @DisplayName("Should parse an inbox file without the upload limits and link it into the spool")
+    void shouldParseInboxFileAndLinkItIntoSpool(@TempDir final Path directory) throws IOException {
+        // Given
+        Path inboxFile = Files.writeString(directory.resolve("cards.txt"), "DESAFIO-HYPERATIVA");
+        when(processor.read(any(MultipartFile.class))).thenReturn(lotFile);
+        when(lotRepository.findByDigest(lotFile.digest())).thenReturn(Optional.empty());
+        when(lotChunkQueue.submit(any(Lot.class))).thenAnswer(invocation -> {
+            Lot lot = invocation.<Lot>getArgument(0).status(LotStatus.PROCESSING);
+            lot.setId(15L);
+            return lot;
+        });
+
+        // When
+        LotGetDTO result = lotService.ingestLocal(inboxFile);
+
+        // Then
+        assertThat(result.id()).isEqualTo(15L);
+        verify(processor, never()).process(any());
+        verify(lotSpool).link(lotFile.digest(), inboxFile);
+        verify(lotChunkWorker).offer(15L, lotFile);
+    }
+
+    @Test
+    @DisplayName("Should return the stored lot without queueing it when the file was already received")
+    void shouldShortCircuitResubmittedFile() {
+        // Given
+        Lot stored = new Lot().lotFile(lotFile).status(LotStatus.COMPLETED);
+        stored.setId(5L);
+        when(lotRepository.findByDigest(lotFile.digest())).thenReturn(Optional.of(stored));
+
+        // When
+        LotGetDTO result = lotService.ingest(file);
+
+        // Then
+        assertThat(result.id()).isEqualTo(5L);
+        assertThat(result.resubmitted()).isTrue();
+        verifyNoInteractions(lotChunkQueue, lotChunkWorker, lotSpool);
+    }
+
+    @Test
+    @DisplayName("Should queue the failed chunks of a failed lot again")
+    void shouldQueueFailedLotAgain() {
+        // Given
+        Lot failed = new Lot().lotFile(lotFile).status(LotStatus.FAILED);
+        failed.setId(5L);
+        when(lotRepository.findByDigest(lotFile.digest())).thenReturn(Optional.of(failed));
+        when(lotChunkQueue.resubmit(5L)).thenReturn(Optional.of(failed.status(LotStatus.PROCESSING)));
+
+        // When
+        LotGetDTO result = lotService.ingest(file);
+
+        // Then
+        assertThat(result.status()).isEqualTo(LotStatus.PROCESSING);
+        assertThat(result.resubmitted()).isFalse();
+        verify(lotChunkQueue, never()).submit(any());
+        verify(lotChunkWorker).offer(5L, lotFile);
+    }
+
+    @Test
+    @DisplayName("Should report the lot stored by a concurrent upload of the same file")
+    void shouldReportLotStoredByConcurrentUpload() {
+        // Given
+        Lot concurrent = new Lot().lotFile(lotFile).status(LotStatus.PROCESSING);
+        concurrent.setId(7L);
+        when(lotRepository.findByDigest(lotFile.digest()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(concurrent));
+        when(lotChunkQueue.submit(any(Lot.class))).thenThrow(new DataIntegrityViolationException("digest"));
+
+        // When
+        LotGetDTO result = lotService.ingest(file);
+
+        // Then
+        assertThat(result.id()).isEqualTo(7L);
+        assertThat(result.resubmitted()).isTrue();
+        verifyNoInteractions(lotChunkWorker);
+    }
+
+    @Test
+    @DisplayName("Should report the rejects of a stored lot per reason with their first lines")
+    void shouldReportRejectsOfStoredLot() {
+        // Given
+        LotFileDTO rejecting = new LotFileDTO("DESAFIO-HYPERATIVA", LocalDate.of(2018, 5, 24), "LOTE0001", 5,
+                "LOTE0001", 5, 5, 3, Map.of(CardRejectReason.LENGTH, 2, CardRejectReason.NON_DIGIT, 1),
+                List.of(new LotRejectedLineDTO(3, CardRejectReason.LENGTH),
+                        new LotRejectedLineDTO(4, CardRejectReason.NON_DIGIT),
+                        new LotRejectedLineDTO(6, CardRejectReason.LENGTH)),
+                0, "ab".repeat(32), lotFile.cards());
+        Lot stored = new Lot().lotFile(rejecting).status(LotStatus.COMPLETED);
+        stored.setId(5L);
+        when(lotRepository.findById(5L)).thenReturn(Optional.of(stored));
+
+        // When
+        LotGetDTO result = lotService.getLot(5L);
+
+        // Then
+        assertThat(result.rejectedCards()).isEqualTo(3);
+        assertThat(result.rejectedBy()).containsEntry(CardRejectReason.LENGTH, 2)
+                .containsEntry(CardRejectReason.NON_DIGIT, 1)
+                .containsEntry(CardRejectReason.BIN, 0);
+        assertThat(result.rejectedLines()).isEqualTo(rejecting.rejectedLines());
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException for an unknown lot")
+    void shouldThrowNotFoundForUnknownLot() {
+        // Given
+        when(lotRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> lotService.getLot(99L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Lot not found");
+    }
+}
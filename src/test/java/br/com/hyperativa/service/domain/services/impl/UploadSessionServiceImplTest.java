@@ -0,0 +1,280 @@
+package br.com.hyperativa.service.domain.services.impl;
+
+import br.com.hyperativa.service.application.config.CardValidationConfig;
+import br.com.hyperativa.service.application.config.FileUploadConfig;
+import br.com.hyperativa.service.application.config.LotConfig;
+import br.com.hyperativa.service.application.lot.LotSpool;
+import br.com.hyperativa.service.application.metrics.PipelineMetrics;
+import br.com.hyperativa.service.application.util.HashUtil;
+import br.com.hyperativa.service.domain.entity.UploadSession;
+import br.com.hyperativa.service.domain.entity.dto.LotFileDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.LotStatus;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionGetDTO;
+import br.com.hyperativa.service.domain.entity.dto.UploadSessionStatus;
+import br.com.hyperativa.service.domain.exceptions.FileUploadException;
+import br.com.hyperativa.service.domain.exceptions.HyperativaBaseException;
+import br.com.hyperativa.service.domain.processor.CardNumberValidator;
+import br.com.hyperativa.service.domain.processor.PackedCardTxtProcessor;
+import br.com.hyperativa.service.domain.services.LotService;
+import br.com.hyperativa.service.resources.repository.UploadSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UploadSessionService Unit Tests")
+class UploadSessionServiceImplTest {
+    private static final byte[] LOT = """
+            DESAFIO-HYPERATIVA           20180524LOTE0001000002
+            C1     4456897922969999
+            C2     0056897999999999
+            LOTE0001000002
+            """.getBytes(StandardCharsets.US_ASCII);
+
+    @Mock
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Mock
+    private LotService lotService;
+
+    @Mock
+    private LotSpool lotSpool;
+
+    private LotConfig lotConfig;
+
+    private UploadSessionServiceImpl uploadSessionService;
+
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() {
+        lotConfig = new LotConfig();
+        PackedCardTxtProcessor processor = new PackedCardTxtProcessor(new FileUploadConfig(),
+                new PipelineMetrics(new SimpleMeterRegistry()), new CardNumberValidator(new CardValidationConfig()));
+        uploadSessionService = new UploadSessionServiceImpl(uploadSessionRepository, lotService, processor, lotSpool,
+                lotConfig);
+        session = new UploadSession().open("cards.txt", LOT.length);
+        session.setId(3L);
+        lenient().when(uploadSessionRepository.findByIdForUpdate(3L)).thenReturn(Optional.of(session));
+        lenient().when(uploadSessionRepository.findById(3L)).thenReturn(Optional.of(session));
+        lenient().when(uploadSessionRepository.transition(eq(3L), eq(UploadSessionStatus.OPEN),
+                eq(UploadSessionStatus.COMPLETING), any(Timestamp.class))).thenAnswer(invocation -> {
+            if (session.getStatus() != UploadSessionStatus.OPEN) {
+                return 0;
+            }
+            session.status(UploadSessionStatus.COMPLETING);
+            return 1;
+        });
+    }
+
+    @Test
+    @DisplayName("Should refuse a session above the maximum file size")
+    void shouldRefuseSessionAboveMaximumFileSize() {
+        // Given
+        lotConfig.getSession().setMaxFileSize(1024);
+
+        // When & Then
+        assertThatThrownBy(() -> uploadSessionService.create("cards.txt", 1025))
+                .isInstanceOf(HyperativaBaseException.class)
+                .hasMessageContaining("at most 1024 bytes");
+        verifyNoInteractions(uploadSessionRepository);
+    }
+
+    @Test
+    @DisplayName("Should refuse a piece whose checksum does not match")
+    void shouldRefusePieceWithWrongChecksum() {
+        // Given
+        byte[] piece = Arrays.copyOfRange(LOT, 0, 20);
+
+        // When & Then
+        assertThatThrownBy(() -> uploadSessionService.append(3L, 0, checksum(LOT), piece))
+                .isInstanceOf(HyperativaBaseException.class)
+                .hasMessageContaining("checksum");
+        verifyNoInteractions(uploadSessionRepository, lotSpool);
+    }
+
+    @Test
+    @DisplayName("Should refuse a piece that would leave a gap after the received bytes")
+    void shouldRefusePieceLeavingGap() {
+        // Given
+        byte[] piece = Arrays.copyOfRange(LOT, 20, 40);
+
+        // When & Then
+        assertThatThrownBy(() -> uploadSessionService.append(3L, 20, checksum(piece), piece))
+                .isInstanceOf(HyperativaBaseException.class)
+                .hasMessageContaining("has received 0 bytes");
+        verifyNoInteractions(lotSpool);
+    }
+
+    @Test
+    @DisplayName("Should write only the new bytes of a piece overlapping the received ones")
+    void shouldWriteOnlyNewBytesOfOverlappingPiece() {
+        // Given
+        byte[] first = Arrays.copyOfRange(LOT, 0, 10);
+        byte[] overlapping = Arrays.copyOfRange(LOT, 5, 30);
+        uploadSessionService.append(3L, 0, checksum(first), first);
+
+        // When
+        UploadSessionGetDTO result = uploadSessionService.append(3L, 5, checksum(overlapping), overlapping);
+        UploadSessionGetDTO repeated = uploadSessionService.append(3L, 0, checksum(first), first);
+
+        // Then
+        assertThat(result.receivedBytes()).isEqualTo(30);
+        assertThat(repeated.receivedBytes()).isEqualTo(30);
+        verify(lotSpool).writePart(3L, 0, first, 0, 10);
+        verify(lotSpool).writePart(3L, 10, overlapping, 5, 20);
+        verifyNoMoreInteractions(lotSpool);
+    }
+
+    @Test
+    @DisplayName("Should queue the lot parsed while its pieces arrived without reading the file again")
+    void shouldQueueLotParsedOnArrival() {
+        // Given
+        when(lotService.ingestUploaded(any(LotFileDTO.class), eq(3L))).thenReturn(lot(21L));
+        sendInPieces(16);
+
+        // When
+        LotGetDTO result = uploadSessionService.complete(3L);
+
+        // Then
+        ArgumentCaptor<LotFileDTO> lotFile = ArgumentCaptor.forClass(LotFileDTO.class);
+        verify(lotService).ingestUploaded(lotFile.capture(), eq(3L));
+        assertThat(lotFile.getValue().cards().size()).isEqualTo(2);
+        assertThat(lotFile.getValue().isReconciled()).isTrue();
+        assertThat(lotFile.getValue().digest()).isEqualTo(checksum(LOT));
+        assertThat(result.id()).isEqualTo(21L);
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.COMPLETED);
+        assertThat(session.getLotId()).isEqualTo(21L);
+        verify(lotSpool, never()).openPart(anyLong(), anyLong());
+        verify(uploadSessionRepository).save(session);
+    }
+
+    @Test
+    @DisplayName("Should parse the file of a session that was not scanned on arrival")
+    void shouldParseFileOfSessionNotScanned() {
+        // Given
+        lotConfig.getSession().setMaxScans(0);
+        when(lotSpool.openPart(3L, LOT.length))
+                .thenReturn(new MockMultipartFile("file", "cards.txt", "text/plain", LOT));
+        when(lotService.ingestUploaded(any(LotFileDTO.class), eq(3L))).thenReturn(lot(21L));
+        sendInPieces(LOT.length);
+
+        // When
+        uploadSessionService.complete(3L);
+
+        // Then
+        ArgumentCaptor<LotFileDTO> lotFile = ArgumentCaptor.forClass(LotFileDTO.class);
+        verify(lotService).ingestUploaded(lotFile.capture(), eq(3L));
+        assertThat(lotFile.getValue().digest()).isEqualTo(checksum(LOT));
+        assertThat(lotFile.getValue().cards().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should fail the session on the first piece of a malformed file")
+    void shouldFailSessionOnFirstPieceOfMalformedFile() {
+        // Given
+        byte[] piece = "SHORT HEADER\nC1     4456897922969999\n".getBytes(StandardCharsets.US_ASCII);
+
+        // When & Then
+        assertThatThrownBy(() -> uploadSessionService.append(3L, 0, checksum(piece), piece))
+                .isInstanceOf(FileUploadException.class)
+                .hasMessageContaining("header at line 1");
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.FAILED);
+        assertThat(session.getReceivedBytes()).isZero();
+        verify(lotSpool).deletePart(3L);
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated complete with the lot queued by the first one")
+    void shouldAnswerRepeatedCompleteWithQueuedLot() {
+        // Given
+        when(lotService.ingestUploaded(any(LotFileDTO.class), eq(3L))).thenReturn(lot(21L));
+        when(lotService.getLot(21L)).thenReturn(lot(21L));
+        sendInPieces(16);
+        uploadSessionService.complete(3L);
+
+        // When
+        LotGetDTO result = uploadSessionService.complete(3L);
+
+        // Then
+        assertThat(result.id()).isEqualTo(21L);
+        verify(lotService, times(1)).ingestUploaded(any(LotFileDTO.class), eq(3L));
+        verify(lotSpool, times(1)).deletePart(3L);
+    }
+
+    @Test
+    @DisplayName("Should leave a concurrent complete to the request that moved the session first")
+    void shouldLeaveConcurrentCompleteToFirstRequest() {
+        // Given
+        sendInPieces(LOT.length);
+        UploadSession completed = new UploadSession().open("cards.txt", LOT.length).received(LOT.length)
+                .completed(21L);
+        completed.setId(3L);
+        when(uploadSessionRepository.transition(eq(3L), eq(UploadSessionStatus.OPEN),
+                eq(UploadSessionStatus.COMPLETING), any(Timestamp.class))).thenReturn(0);
+        when(uploadSessionRepository.findById(3L)).thenReturn(Optional.of(session), Optional.of(completed));
+        when(lotService.getLot(21L)).thenReturn(lot(21L));
+
+        // When
+        LotGetDTO result = uploadSessionService.complete(3L);
+
+        // Then
+        assertThat(result.id()).isEqualTo(21L);
+        assertThat(session.getStatus()).isEqualTo(UploadSessionStatus.OPEN);
+        verify(lotService, never()).ingestUploaded(any(), any());
+        verify(lotSpool, never()).openPart(anyLong(), anyLong());
+        verify(lotSpool, never()).deletePart(anyLong());
+        verify(uploadSessionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should refuse to complete a session not fully received")
+    void shouldRefuseToCompleteIncompleteSession() {
+        // Given
+        byte[] piece = Arrays.copyOfRange(LOT, 0, 10);
+        uploadSessionService.append(3L, 0, checksum(piece), piece);
+
+        // When & Then
+        assertThatThrownBy(() -> uploadSessionService.complete(3L))
+                .isInstanceOf(HyperativaBaseException.class)
+                .hasMessageContaining("has received 10 of " + LOT.length + " bytes");
+        verifyNoInteractions(lotService);
+    }
+
+    private void sendInPieces(final int pieceSize) {
+        for (int offset = 0; offset < LOT.length; offset += pieceSize) {
+            byte[] piece = Arrays.copyOfRange(LOT, offset, Math.min(offset + pieceSize, LOT.length));
+            uploadSessionService.append(3L, offset, checksum(piece), piece);
+        }
+    }
+
+    private static String checksum(final byte[] content) {
+        return HashUtil.hex(HashUtil.sha256(content));
+    }
+
+    private static LotGetDTO lot(final Long id) {
+        return new LotGetDTO(id, "DESAFIO-HYPERATIVA", null, "LOTE0001", 2, 2, 2, 2, 0, Map.of(), List.of(), 0,
+                0, 0, true, LotStatus.PROCESSING, false);
+    }
+}
@@ -0,0 +1,214 @@
+package br.com.hyperativa.service.domain.processor;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Streams synthetic LOTE files of arbitrary size straight to disk, for load tests and benchmarks.
+ * Unique card numbers are a bijective permutation of the record index, so a lot never contains
+ * accidental duplicates; all generated numbers carry a valid Luhn check digit. Header and footer declare the
+ * number of lines, so a generated lot always reconciles; see {@link LotFileSpec#MAX_LINES} for its size limit.
+ *
+ * <p>Command line usage: {@code ./gradlew generateLot -Plot.lines=999999 -Plot.output=build/lots/lot.txt}
+ */
+public final class LotFileGenerator {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_LINE_LENGTH = 128;
+    private static final int IDENTIFIER_WIDTH = 7;
+    private static final int IDENTIFIER_MODULO = 999_999;
+    private static final int CARD_NUMBER_LENGTH = 16;
+    private static final int DUPLICATE_RESERVOIR_SIZE = 4096;
+    private static final int MALFORMED_KINDS = 4;
+    // 3^18 shares no factor with 10^9, so (index * multiplier + offset) mod 10^9 is a bijection
+    private static final long PERMUTATION_MULTIPLIER = 387_420_489L;
+    private static final DateTimeFormatter LOT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final LotFileSpec spec;
+    private final SplittableRandom random;
+    private final long[] reservoir = new long[DUPLICATE_RESERVOIR_SIZE];
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final long binBase;
+    private final long permutationOffset;
+    private int position;
+    private long uniqueCards;
+    private long duplicates;
+    private long malformed;
+    private long bytes;
+
+    private LotFileGenerator(final LotFileSpec spec) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+        this.binBase = Long.parseLong(spec.binPrefix()) * LotFileSpec.MAX_UNIQUE_CARDS;
+        this.permutationOffset = Math.floorMod(spec.seed(), LotFileSpec.MAX_UNIQUE_CARDS);
+    }
+
+    public static LotFileSummary generate(final LotFileSpec spec, final Path target) throws IOException {
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            return generate(spec, out);
+        }
+    }
+
+    /**
+     * Writes the lot to the given stream. The stream is flushed but not closed.
+     */
+    public static LotFileSummary generate(final LotFileSpec spec, final OutputStream target) throws IOException {
+        final OutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+        final LotFileSummary summary = new LotFileGenerator(spec).write(out);
+        out.flush();
+        return summary;
+    }
+
+    private LotFileSummary write(final OutputStream out) throws IOException {
+        appendAscii(String.format("%-29s%sLOTE%04d%06d%n",
+                spec.lotName(), LOT_DATE.format(spec.lotDate()), spec.lotNumber(), spec.lines()));
+
+        for (long line = 0; line < spec.lines(); line++) {
+            if (position > BUFFER_SIZE - MAX_LINE_LENGTH - spec.lineLengthJitter()) {
+                flush(out);
+            }
+            writeRecord(line);
+        }
+
+        appendAscii(String.format("LOTE%04d%06d%n", spec.lotNumber(), spec.lines()));
+        flush(out);
+        return new LotFileSummary(spec.lines(), uniqueCards, duplicates, malformed, bytes);
+    }
+
+    private void writeRecord(final long line) {
+        final int lineStart = position;
+        appendAscii("C");
+        appendDigits((line % IDENTIFIER_MODULO) + 1);
+        while (position - lineStart < IDENTIFIER_WIDTH) {
+            buffer[position++] = ' ';
+        }
+
+        final double draw = random.nextDouble();
+        if (draw < spec.malformedRatio()) {
+            writeMalformed();
+        } else if (draw < spec.malformedRatio() + spec.duplicateRatio() && uniqueCards > 0) {
+            final int filled = (int) Math.min(uniqueCards, DUPLICATE_RESERVOIR_SIZE);
+            appendFixedDigits(reservoir[random.nextInt(filled)], CARD_NUMBER_LENGTH);
+            duplicates++;
+        } else {
+            final long cardNumber = nextUniqueCard();
+            reservoir[(int) (uniqueCards % DUPLICATE_RESERVOIR_SIZE)] = cardNumber;
+            appendFixedDigits(cardNumber, CARD_NUMBER_LENGTH);
+            uniqueCards++;
+        }
+
+        if (spec.lineLengthJitter() > 0) {
+            for (int i = random.nextInt(spec.lineLengthJitter() + 1); i > 0; i--) {
+                buffer[position++] = ' ';
+            }
+        }
+        buffer[position++] = '\n';
+    }
+
+    private void writeMalformed() {
+        final long cardNumber = nextUniqueCard();
+        switch (random.nextInt(MALFORMED_KINDS)) {
+            // Line too short to hold a card number
+            case 0 -> appendFixedDigits(cardNumber / 10_000_000_000L, 6);
+            // 19-digit number, like line C5 of the sample file
+            case 1 -> {
+                appendFixedDigits(cardNumber, CARD_NUMBER_LENGTH);
+                appendFixedDigits(random.nextInt(1000), 3);
+            }
+            // 15-digit number, like line C7 of the sample file
+            case 2 -> appendFixedDigits(cardNumber / 10, CARD_NUMBER_LENGTH - 1);
+            // Non-digit character inside the number
+            default -> {
+                appendFixedDigits(cardNumber, CARD_NUMBER_LENGTH);
+                buffer[position - 1 - random.nextInt(CARD_NUMBER_LENGTH)] = 'X';
+            }
+        }
+        malformed++;
+    }
+
+    private long nextUniqueCard() {
+        final long index = (uniqueCards + malformed) % LotFileSpec.MAX_UNIQUE_CARDS;
+        final long body = binBase + Math.floorMod(index * PERMUTATION_MULTIPLIER + permutationOffset,
+                LotFileSpec.MAX_UNIQUE_CARDS);
+        return body * 10 + luhnCheckDigit(body);
+    }
+
+    static int luhnCheckDigit(final long payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long rest = payload; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private void appendAscii(final String value) {
+        final byte[] ascii = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(ascii, 0, buffer, position, ascii.length);
+        position += ascii.length;
+    }
+
+    private void appendDigits(final long value) {
+        appendFixedDigits(value, value == 0 ? 1 : (int) Math.log10(value) + 1);
+    }
+
+    private void appendFixedDigits(long value, final int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    private void flush(final OutputStream out) throws IOException {
+        out.write(buffer, 0, position);
+        bytes += position;
+        position = 0;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+
+        final Path output = Paths.get(options.getOrDefault("output", "build/lots/lot.txt"));
+        final LotFileSpec spec = LotFileSpec.of(Long.parseLong(options.getOrDefault("lines", "999999")))
+                .withDuplicateRatio(Double.parseDouble(options.getOrDefault("duplicates", "0")))
+                .withMalformedRatio(Double.parseDouble(options.getOrDefault("malformed", "0")))
+                .withLineLengthJitter(Integer.parseInt(options.getOrDefault("jitter", "0")))
+                .withLot(options.getOrDefault("name", "DESAFIO-HYPERATIVA"),
+                        LocalDate.parse(options.getOrDefault("date", "2018-05-24")),
+                        Integer.parseInt(options.getOrDefault("lot", "1")))
+                .withBinPrefix(options.getOrDefault("bin", "445689"))
+                .withSeed(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        final long start = System.nanoTime();
+        final LotFileSummary summary = generate(spec, output);
+        System.out.printf("Generated %s in %d ms: %s%n", output.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000, summary);
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.hyperativa.service.domain.processor;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Shape of a synthetic LOTE file produced by {@link LotFileGenerator}.
+ *
+ * @param lines            number of record lines between header and footer, at most {@value #MAX_LINES}: header
+ *                         and footer declare it in a 6-digit field, so larger volumes take several lots
+ * @param duplicateRatio   share of records repeating an earlier card number (0..1)
+ * @param malformedRatio   share of records that are malformed (0..1)
+ * @param lineLengthJitter maximum number of trailing spaces randomly appended to a record line
+ * @param lotName          header name, at most 29 characters
+ * @param lotDate          header date
+ * @param lotNumber        lot number written in header and footer (0..9999)
+ * @param binPrefix        6-digit issuer prefix of the generated card numbers
+ * @param seed             random seed, the same spec always produces the same file
+ */
+public record LotFileSpec(long lines,
+                          double duplicateRatio,
+                          double malformedRatio,
+                          int lineLengthJitter,
+                          String lotName,
+                          LocalDate lotDate,
+                          int lotNumber,
+                          String binPrefix,
+                          long seed) {
+    private static final int MAX_LOT_NAME_LENGTH = 29;
+    private static final int MAX_LOT_NUMBER = 9999;
+    private static final int BIN_LENGTH = 6;
+    static final long MAX_UNIQUE_CARDS = 1_000_000_000L;
+    public static final long MAX_LINES = 999_999L;
+
+    public LotFileSpec {
+        Objects.requireNonNull(lotName, "Lot name cannot be null");
+        Objects.requireNonNull(lotDate, "Lot date cannot be null");
+        Objects.requireNonNull(binPrefix, "BIN prefix cannot be null");
+
+        if (lines < 0 || lines > MAX_LINES) {
+            throw new IllegalArgumentException("Lines must be between 0 and " + MAX_LINES
+                    + ", the largest record count a LOTE header can declare");
+        }
+        if (duplicateRatio < 0 || malformedRatio < 0 || duplicateRatio + malformedRatio > 1) {
+            throw new IllegalArgumentException("Duplicate and malformed ratios must be non-negative and add up to at most 1");
+        }
+        if (lineLengthJitter < 0) {
+            throw new IllegalArgumentException("Line length jitter cannot be negative");
+        }
+        if (lotName.length() > MAX_LOT_NAME_LENGTH) {
+            throw new IllegalArgumentException("Lot name cannot exceed " + MAX_LOT_NAME_LENGTH + " characters");
+        }
+        if (lotNumber < 0 || lotNumber > MAX_LOT_NUMBER) {
+            throw new IllegalArgumentException("Lot number must be between 0 and " + MAX_LOT_NUMBER);
+        }
+        if (binPrefix.length() != BIN_LENGTH || !binPrefix.chars().allMatch(Character::isDigit)) {
+            throw new IllegalArgumentException("BIN prefix must have exactly " + BIN_LENGTH + " digits");
+        }
+    }
+
+    /**
+     * Clean lot with unique, valid cards and the same header as the challenge sample file.
+     */
+    public static LotFileSpec of(final long lines) {
+        return new LotFileSpec(lines, 0, 0, 0, "DESAFIO-HYPERATIVA", LocalDate.of(2018, 5, 24), 1, "445689", 42L);
+    }
+
+    public LotFileSpec withDuplicateRatio(final double ratio) {
+        return new LotFileSpec(lines, ratio, malformedRatio, lineLengthJitter, lotName, lotDate, lotNumber, binPrefix, seed);
+    }
+
+    public LotFileSpec withMalformedRatio(final double ratio) {
+        return new LotFileSpec(lines, duplicateRatio, ratio, lineLengthJitter, lotName, lotDate, lotNumber, binPrefix, seed);
+    }
+
+    public LotFileSpec withLineLengthJitter(final int jitter) {
+        return new LotFileSpec(lines, duplicateRatio, malformedRatio, jitter, lotName, lotDate, lotNumber, binPrefix, seed);
+    }
+
+    public LotFileSpec withLot(final String name, final LocalDate date, final int number) {
+        return new LotFileSpec(lines, duplicateRatio, malformedRatio, lineLengthJitter, name, date, number, binPrefix, seed);
+    }
+
+    public LotFileSpec withBinPrefix(final String prefix) {
+        return new LotFileSpec(lines, duplicateRatio, malformedRatio, lineLengthJitter, lotName, lotDate, lotNumber, prefix, seed);
+    }
+
+    public LotFileSpec withSeed(final long newSeed) {
+        return new LotFileSpec(lines, duplicateRatio, malformedRatio, lineLengthJitter, lotName, lotDate, lotNumber, binPrefix, newSeed);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.hyperativa.service.domain.processor;
+
+/**
+ * What {@link LotFileGenerator} actually wrote.
+ *
+ * @param lines      record lines written between header and footer
+ * @param uniqueCards records carrying a valid card number seen for the first time
+ * @param duplicates records repeating an earlier card number
+ * @param malformed  malformed records (short line, overlong number, non-digit number)
+ * @param bytes      total file size including header and footer
+ */
+public record LotFileSummary(long lines, long uniqueCards, long duplicates, long malformed, long bytes) {
+}